@@ -0,0 +1,136 @@
+package com.github.vladioeroonda.tasktracker.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.vladioeroonda.tasktracker.model.Role;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Выпуск и проверка токенов доступа в формате JWT с подписью HMAC-SHA256.
+ * В токене хранятся логин, роли и время истечения, поэтому проверка не обращается к БД и не вычисляет BCrypt.
+ * Токен нельзя отозвать: смена ролей или удаление Пользователя вступают в силу после истечения его токенов
+ * (security.token.ttl-seconds файла application.properties).
+ *
+ * Ключ подписи задаётся security.token.secret (Base64, не короче 32 байт). Если он не задан, ключ генерируется
+ * при запуске - тогда токены не переживают перезапуск и не принимаются другими экземплярами приложения.
+ */
+@Component
+public class AccessTokenCodec {
+    private static final Logger logger = LoggerFactory.getLogger(AccessTokenCodec.class);
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MIN_SECRET_LENGTH = 32;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final String HEADER = ENCODER.encodeToString("{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+
+    private final ObjectMapper objectMapper;
+    private final SecretKeySpec key;
+    private final long ttlSeconds;
+
+    public AccessTokenCodec(
+            ObjectMapper objectMapper,
+            @Value("${security.token.secret}") String secret,
+            @Value("${security.token.ttl-seconds}") long ttlSeconds
+    ) {
+        this.objectMapper = objectMapper;
+        this.ttlSeconds = ttlSeconds;
+
+        byte[] secretBytes;
+        if (secret == null || secret.isBlank()) {
+            logger.warn("Ключ подписи токенов не задан (security.token.secret), используется случайный ключ");
+            secretBytes = new byte[MIN_SECRET_LENGTH];
+            new SecureRandom().nextBytes(secretBytes);
+        } else {
+            secretBytes = Base64.getDecoder().decode(secret);
+            if (secretBytes.length < MIN_SECRET_LENGTH) {
+                throw new IllegalStateException(
+                        String.format("Ключ подписи токенов короче %d байт (security.token.secret)", MIN_SECRET_LENGTH)
+                );
+            }
+        }
+        this.key = new SecretKeySpec(secretBytes, ALGORITHM);
+    }
+
+    public long getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    public String issue(String login, Collection<? extends GrantedAuthority> authorities) {
+        long now = Instant.now().getEpochSecond();
+        ObjectNode payload = objectMapper.createObjectNode()
+                .put("sub", login)
+                .put("iat", now)
+                .put("exp", now + ttlSeconds);
+        authorities.forEach(authority -> payload.withArray("roles").add(authority.getAuthority()));
+
+        String unsigned;
+        try {
+            unsigned = HEADER + "." + ENCODER.encodeToString(objectMapper.writeValueAsBytes(payload));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return unsigned + "." + ENCODER.encodeToString(sign(unsigned));
+    }
+
+    /**
+     * @return аутентификация владельца токена или пустой Optional, если подпись неверна, токен истёк или повреждён
+     */
+    public Optional<Authentication> parse(String token) {
+        int payloadStart = token.indexOf('.');
+        int signatureStart = token.lastIndexOf('.');
+        if (payloadStart < 0 || signatureStart <= payloadStart) {
+            return Optional.empty();
+        }
+
+        try {
+            byte[] expected = sign(token.substring(0, signatureStart));
+            byte[] actual = DECODER.decode(token.substring(signatureStart + 1));
+            if (!MessageDigest.isEqual(expected, actual)) {
+                return Optional.empty();
+            }
+
+            JsonNode payload = objectMapper.readTree(DECODER.decode(token.substring(payloadStart + 1, signatureStart)));
+            if (payload.path("exp").asLong() <= Instant.now().getEpochSecond()) {
+                return Optional.empty();
+            }
+
+            List<Role> roles = new ArrayList<>();
+            payload.path("roles").forEach(role -> roles.add(Role.valueOf(role.asText())));
+            return Optional.of(new UsernamePasswordAuthenticationToken(payload.path("sub").asText(), null, roles));
+        } catch (IllegalArgumentException | IOException e) {
+            logger.debug(String.format("Повреждённый токен доступа: %s", e.getMessage()));
+            return Optional.empty();
+        }
+    }
+
+    private byte[] sign(String unsigned) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(unsigned.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.github.vladioeroonda.tasktracker.config;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Аутентификация запроса по заголовку "Authorization: Bearer <токен>".
+ * Запрос без токена или с недействительным токеном проходит дальше неаутентифицированным
+ * и отклоняется правилами доступа (или аутентифицируется HTTP Basic, если он включён)
+ */
+public class AccessTokenFilter extends OncePerRequestFilter {
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final AccessTokenCodec accessTokenCodec;
+
+    public AccessTokenFilter(AccessTokenCodec accessTokenCodec) {
+        this.accessTokenCodec = accessTokenCodec;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            accessTokenCodec.parse(header.substring(BEARER_PREFIX.length()).trim())
+                    .ifPresent(authentication -> SecurityContextHolder.getContext().setAuthentication(authentication));
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,107 @@
+package com.github.vladioeroonda.tasktracker.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import com.github.vladioeroonda.tasktracker.exception.DomainException;
+import org.slf4j.ILoggerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.Marker;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ограничение записи в лог ожидаемых ошибок клиента ({@link DomainException}): по каждому классу исключения
+ * пишется не больше client-error-log.max-per-second событий в секунду, остальные отбрасываются до форматирования
+ * и вывода. Сколько событий отброшено, пишется в лог при первом событии того же класса в следующей секунде.
+ * При параметризованном вызове (logger.error("{}", exception.lazyMessage(), exception)) исключение приходит
+ * последним параметром, и сообщение отброшенного события не форматируется вовсе.
+ */
+@Component
+public class ClientErrorLogFilter extends TurboFilter {
+    private static final Logger logger = LoggerFactory.getLogger(ClientErrorLogFilter.class);
+
+    private final int maxPerSecond;
+    private final Map<Class<?>, Window> windows = new ConcurrentHashMap<>();
+
+    public ClientErrorLogFilter(@Value("${client-error-log.max-per-second}") int maxPerSecond) {
+        this.maxPerSecond = maxPerSecond;
+        setName("client-error-log");
+    }
+
+    @PostConstruct
+    public void register() {
+        ILoggerFactory loggerFactory = LoggerFactory.getILoggerFactory();
+        if (loggerFactory instanceof LoggerContext) {
+            start();
+            ((LoggerContext) loggerFactory).addTurboFilter(this);
+        }
+    }
+
+    @PreDestroy
+    public void unregister() {
+        ILoggerFactory loggerFactory = LoggerFactory.getILoggerFactory();
+        if (loggerFactory instanceof LoggerContext) {
+            ((LoggerContext) loggerFactory).getTurboFilterList().remove(this);
+        }
+        stop();
+    }
+
+    @Override
+    public FilterReply decide(
+            Marker marker,
+            ch.qos.logback.classic.Logger eventLogger,
+            Level level,
+            String format,
+            Object[] params,
+            Throwable throwable
+    ) {
+        if (throwable == null && params != null && params.length > 0 && params[params.length - 1] instanceof Throwable) {
+            throwable = (Throwable) params[params.length - 1];
+        }
+        if (!isStarted() || !(throwable instanceof DomainException)) {
+            return FilterReply.NEUTRAL;
+        }
+        // фильтр вызывается до проверки уровня: отключённые события не должны расходовать лимит
+        if (!level.isGreaterOrEqual(eventLogger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+
+        long second = System.currentTimeMillis() / 1000;
+        Window window = windows.computeIfAbsent(throwable.getClass(), type -> new Window());
+        boolean accepted;
+        int suppressed = 0;
+        synchronized (window) {
+            if (window.second != second) {
+                suppressed = window.suppressed;
+                window.second = second;
+                window.count = 0;
+                window.suppressed = 0;
+            }
+            accepted = window.count < maxPerSecond;
+            if (accepted) {
+                window.count++;
+            } else {
+                window.suppressed++;
+            }
+        }
+
+        if (suppressed > 0) {
+            logger.warn("Пропущено записей об ошибках {}: {}", throwable.getClass().getSimpleName(), suppressed);
+        }
+        return accepted ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private static class Window {
+        private long second;
+        private int count;
+        private int suppressed;
+    }
+}
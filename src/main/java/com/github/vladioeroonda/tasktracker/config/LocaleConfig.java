@@ -1,18 +0,0 @@
-package com.github.vladioeroonda.tasktracker.config;
-
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-import org.springframework.context.support.ResourceBundleMessageSource;
-
-@Configuration
-public class LocaleConfig {
-
-    @Bean
-    public ResourceBundleMessageSource messageSource() {
-        ResourceBundleMessageSource rs = new ResourceBundleMessageSource();
-        rs.setBasename("messages");
-        rs.setDefaultEncoding("UTF-8");
-        rs.setUseCodeAsDefaultMessage(true);
-        return rs;
-    }
-}
@@ -1,18 +1,30 @@
 package com.github.vladioeroonda.tasktracker.config;
 
 import com.github.vladioeroonda.tasktracker.model.Role;
+import com.github.vladioeroonda.tasktracker.service.impl.UserDetailsCache;
 import com.github.vladioeroonda.tasktracker.service.impl.UserServiceImpl;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.method.configuration.EnableGlobalMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 
+/**
+ * Запросы аутентифицируются токеном доступа из заголовка "Authorization: Bearer <токен>",
+ * который выдаёт POST /api/tracker/auth/login. Пароль (BCrypt) проверяется только при входе.
+ * HTTP Basic с проверкой пароля на каждом запросе включается security.http-basic.enabled=true
+ * файла application.properties для клиентов, ещё не перешедших на токены.
+ */
 @Configuration
 @EnableWebSecurity
 @EnableGlobalMethodSecurity(prePostEnabled = true)
@@ -20,18 +32,33 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
 
     private final UserServiceImpl userDetailsService;
     private final PasswordEncoder passwordEncoder;
+    private final AccessTokenCodec accessTokenCodec;
+    private final UserDetailsCache userDetailsCache;
 
+    @Value("${security.http-basic.enabled}")
+    private boolean httpBasicEnabled;
 
-    public WebSecurityConfig(UserServiceImpl userDetailsService, PasswordEncoder passwordEncoder) {
+    public WebSecurityConfig(
+            UserServiceImpl userDetailsService,
+            PasswordEncoder passwordEncoder,
+            AccessTokenCodec accessTokenCodec,
+            UserDetailsCache userDetailsCache
+    ) {
         this.userDetailsService = userDetailsService;
         this.passwordEncoder = passwordEncoder;
+        this.accessTokenCodec = accessTokenCodec;
+        this.userDetailsCache = userDetailsCache;
     }
 
     @Override
     protected void configure(HttpSecurity http) throws Exception {
         http
                 .csrf().disable()
+                .sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+                .and()
+                .addFilterBefore(new AccessTokenFilter(accessTokenCodec), BasicAuthenticationFilter.class)
                 .authorizeRequests()
+                .antMatchers(HttpMethod.POST, "/api/tracker/auth/login").permitAll()
                 .antMatchers(HttpMethod.GET, "/api/tracker/project/**").hasAnyAuthority(Role.ADMIN.name(), Role.USER.name())
                 .antMatchers(HttpMethod.GET, "/api/tracker/release/**").hasAnyAuthority(Role.ADMIN.name(), Role.USER.name())
                 .antMatchers(HttpMethod.GET, "/api/tracker/task/**").hasAnyAuthority(Role.ADMIN.name(), Role.USER.name())
@@ -44,9 +71,15 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
                 .antMatchers("/api/tracker/release/management/**").hasAuthority(Role.ADMIN.name())
                 .antMatchers("/api/tracker/release/**").hasAuthority(Role.ADMIN.name())
                 .antMatchers("/api/tracker/user/**").hasAuthority(Role.ADMIN.name())
-                .anyRequest().authenticated()
-                .and()
-                .httpBasic();
+                .antMatchers("/actuator/health").permitAll()
+                .antMatchers("/actuator/**").hasAuthority(Role.ADMIN.name())
+                .anyRequest().authenticated();
+
+        if (httpBasicEnabled) {
+            http.httpBasic();
+        } else {
+            http.exceptionHandling().authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED));
+        }
     }
 
     @Override
@@ -59,6 +92,7 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
         DaoAuthenticationProvider daoAuthenticationProvider = new DaoAuthenticationProvider();
         daoAuthenticationProvider.setPasswordEncoder(passwordEncoder);
         daoAuthenticationProvider.setUserDetailsService(userDetailsService);
+        daoAuthenticationProvider.setUserCache(userDetailsCache);
         return daoAuthenticationProvider;
     }
 }
@@ -0,0 +1,35 @@
+package com.github.vladioeroonda.tasktracker.controller;
+
+import com.github.vladioeroonda.tasktracker.dto.request.LoginRequestDto;
+import com.github.vladioeroonda.tasktracker.dto.response.AccessTokenResponseDto;
+import com.github.vladioeroonda.tasktracker.service.AuthService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "Вход", description = "Отвечает за выдачу токенов доступа")
+@RestController
+@RequestMapping("/api/tracker/auth")
+public class AuthController {
+    private static final Logger logger = LoggerFactory.getLogger(AuthController.class);
+
+    private final AuthService authService;
+
+    public AuthController(AuthService authService) {
+        this.authService = authService;
+    }
+
+    @Operation(summary = "Вход по логину и паролю, выдача токена доступа")
+    @PostMapping(value = "/login")
+    public ResponseEntity<AccessTokenResponseDto> login(@RequestBody LoginRequestDto requestDto) {
+        logger.info("POST /api/tracker/auth/login");
+        AccessTokenResponseDto token = authService.login(requestDto);
+        return ResponseEntity.ok().body(token);
+    }
+}
@@ -1,9 +1,12 @@
 package com.github.vladioeroonda.tasktracker.controller;
 
 import com.github.vladioeroonda.tasktracker.dto.request.ProjectRequestDto;
+import com.github.vladioeroonda.tasktracker.dto.response.PageResponseDto;
+import com.github.vladioeroonda.tasktracker.dto.response.ProjectBulkItemResponseDto;
 import com.github.vladioeroonda.tasktracker.dto.response.ProjectResponseDto;
 import com.github.vladioeroonda.tasktracker.service.ProjectService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -16,7 +19,9 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -33,12 +38,15 @@ public class ProjectController {
         this.projectService = projectService;
     }
 
-    @Operation(summary = "Получение списка всех Проектов")
+    @Operation(summary = "Получение страницы Проектов (курсорная пагинация по id)")
     @GetMapping
     @PreAuthorize("hasAnyAuthority('USER', 'ADMIN')")
-    public ResponseEntity<List<ProjectResponseDto>> getAllProjects() {
+    public ResponseEntity<PageResponseDto<ProjectResponseDto>> getAllProjects(
+            @Parameter(description = "id последнего элемента предыдущей страницы") @RequestParam(required = false) Long after,
+            @Parameter(description = "Размер страницы") @RequestParam(required = false) Integer limit
+    ) {
         logger.info("GET /api/tracker/project");
-        List<ProjectResponseDto> projects = projectService.getAllProjects();
+        PageResponseDto<ProjectResponseDto> projects = projectService.getAllProjects(after, limit);
         return ResponseEntity.ok().body(projects);
     }
 
@@ -54,12 +62,25 @@ public class ProjectController {
     @Operation(summary = "Добавление нового Проекта")
     @PostMapping
     @PreAuthorize("hasAuthority('ADMIN')")
-    public ResponseEntity<ProjectResponseDto> addNewProject(@RequestBody ProjectRequestDto requestDto) {
+    public ResponseEntity<ProjectResponseDto> addNewProject(
+            @RequestBody ProjectRequestDto requestDto,
+            @Parameter(description = "Ключ идемпотентности: повтор запроса с тем же ключом вернёт уже добавленный Проект")
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey
+    ) {
         logger.info("POST /api/tracker/project");
-        ProjectResponseDto project = projectService.addProject(requestDto);
+        ProjectResponseDto project = projectService.addProject(requestDto, idempotencyKey);
         return ResponseEntity.status(HttpStatus.CREATED).body(project);
     }
 
+    @Operation(summary = "Пакетное добавление Проектов с итогом по каждому Проекту")
+    @PostMapping(value = "/bulk")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<List<ProjectBulkItemResponseDto>> addNewProjects(@RequestBody List<ProjectRequestDto> requestDtos) {
+        logger.info("POST /api/tracker/project/bulk");
+        List<ProjectBulkItemResponseDto> results = projectService.addProjects(requestDtos);
+        return ResponseEntity.ok().body(results);
+    }
+
     @Operation(summary = "Изменение Проекта")
     @PutMapping
     @PreAuthorize("hasAuthority('ADMIN')")
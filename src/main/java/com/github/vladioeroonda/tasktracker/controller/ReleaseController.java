@@ -1,9 +1,11 @@
 package com.github.vladioeroonda.tasktracker.controller;
 
 import com.github.vladioeroonda.tasktracker.dto.request.ReleaseRequestDto;
+import com.github.vladioeroonda.tasktracker.dto.response.PageResponseDto;
 import com.github.vladioeroonda.tasktracker.dto.response.ReleaseResponseDto;
 import com.github.vladioeroonda.tasktracker.service.ReleaseService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,10 +19,9 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
-
 @Tag(name = "Релиз", description = "Отвечает за CRUD операции, связанные с Релизом")
 @RestController
 @RequestMapping("/api/tracker/release")
@@ -33,12 +34,15 @@ public class ReleaseController {
         this.releaseService = releaseService;
     }
 
-    @Operation(summary = "Получение списка всех Релизов")
+    @Operation(summary = "Получение страницы Релизов (курсорная пагинация по id)")
     @GetMapping
     @PreAuthorize("hasAnyAuthority('USER', 'ADMIN')")
-    public ResponseEntity<List<ReleaseResponseDto>> getAllReleases() {
+    public ResponseEntity<PageResponseDto<ReleaseResponseDto>> getAllReleases(
+            @Parameter(description = "id последнего элемента предыдущей страницы") @RequestParam(required = false) Long after,
+            @Parameter(description = "Размер страницы") @RequestParam(required = false) Integer limit
+    ) {
         logger.info("GET /api/tracker/release");
-        List<ReleaseResponseDto> releases = releaseService.getAllReleases();
+        PageResponseDto<ReleaseResponseDto> releases = releaseService.getAllReleases(after, limit);
         return ResponseEntity.ok().body(releases);
     }
 
@@ -1,21 +1,28 @@
 package com.github.vladioeroonda.tasktracker.controller;
 
 import com.github.vladioeroonda.tasktracker.dto.request.ReleaseClosingRequestDto;
+import com.github.vladioeroonda.tasktracker.dto.response.FacetCountResponseDto;
+import com.github.vladioeroonda.tasktracker.dto.response.ReleaseClosingJobResponseDto;
 import com.github.vladioeroonda.tasktracker.dto.response.ReleaseResponseDto;
+import com.github.vladioeroonda.tasktracker.service.ReleaseClosingService;
 import com.github.vladioeroonda.tasktracker.service.ReleaseManagementService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @Tag(name = "Управление Релизом", description = "Отвечает за управление Релизом")
 @RestController
 @RequestMapping("/api/tracker/release/management")
@@ -23,9 +30,14 @@ public class ReleaseManagementController {
     private static final Logger logger = LoggerFactory.getLogger(ReleaseManagementController.class);
 
     private final ReleaseManagementService releaseManagementService;
+    private final ReleaseClosingService releaseClosingService;
 
-    public ReleaseManagementController(ReleaseManagementService releaseManagementService) {
+    public ReleaseManagementController(
+            ReleaseManagementService releaseManagementService,
+            ReleaseClosingService releaseClosingService
+    ) {
         this.releaseManagementService = releaseManagementService;
+        this.releaseClosingService = releaseClosingService;
     }
 
     @Operation(summary = "Подсчет количества задач, не завершившихся в заданный релиз")
@@ -37,6 +49,15 @@ public class ReleaseManagementController {
         return ResponseEntity.ok().body(String.format("В релиз с id #%d не завершатся %d задач(и)", id, count));
     }
 
+    @Operation(summary = "Количество задач релиза по статусам")
+    @GetMapping(value = "/{id}/task-counts")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<List<FacetCountResponseDto>> getTaskCountsByReleaseId(@PathVariable Long id) {
+        logger.info("GET /api/tracker/release/management/{id}/task-counts");
+        List<FacetCountResponseDto> counts = releaseManagementService.getTaskCountsByReleaseId(id);
+        return ResponseEntity.ok().body(counts);
+    }
+
     @Operation(summary = "Изменение/закрытие релиза")
     @PatchMapping
     @PreAuthorize("hasAuthority('ADMIN')")
@@ -45,4 +66,22 @@ public class ReleaseManagementController {
         ReleaseResponseDto release = releaseManagementService.closeRelease(requestDto);
         return ResponseEntity.ok().body(release);
     }
+
+    @Operation(summary = "Запуск фонового закрытия релиза (задачи отменяются порциями)")
+    @PostMapping(value = "/closing")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<ReleaseClosingJobResponseDto> startClosing(@RequestBody ReleaseClosingRequestDto requestDto) {
+        logger.info("POST /api/tracker/release/management/closing");
+        ReleaseClosingJobResponseDto job = releaseClosingService.startClosing(requestDto);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    @Operation(summary = "Получение состояния фонового закрытия релиза")
+    @GetMapping(value = "/closing/{id}")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<ReleaseClosingJobResponseDto> getClosing(@PathVariable Long id) {
+        logger.info("GET /api/tracker/release/management/closing/{id}");
+        ReleaseClosingJobResponseDto job = releaseClosingService.getClosing(id);
+        return ResponseEntity.ok().body(job);
+    }
 }
@@ -1,9 +1,13 @@
 package com.github.vladioeroonda.tasktracker.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.vladioeroonda.tasktracker.dto.request.TaskRequestDto;
+import com.github.vladioeroonda.tasktracker.dto.response.PageResponseDto;
 import com.github.vladioeroonda.tasktracker.dto.response.TaskResponseDto;
 import com.github.vladioeroonda.tasktracker.service.TaskService;
+import com.github.vladioeroonda.tasktracker.util.NdjsonResponseBody;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -18,9 +22,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
 
 @Tag(name = "Задача", description = "Отвечает за CRUD операции, связанные с Задачей")
 @RestController
@@ -29,20 +32,34 @@ public class TaskController {
     private static final Logger logger = LoggerFactory.getLogger(TaskController.class);
 
     private final TaskService taskService;
+    private final ObjectMapper objectMapper;
 
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, ObjectMapper objectMapper) {
         this.taskService = taskService;
+        this.objectMapper = objectMapper;
     }
 
-    @Operation(summary = "Получение списка всех Задач")
+    @Operation(summary = "Получение страницы Задач (курсорная пагинация по id)")
     @GetMapping
     @PreAuthorize("hasAnyAuthority('USER', 'ADMIN')")
-    public ResponseEntity<List<TaskResponseDto>> getAllTasks() {
+    public ResponseEntity<PageResponseDto<TaskResponseDto>> getAllTasks(
+            @Parameter(description = "id последнего элемента предыдущей страницы") @RequestParam(required = false) Long after,
+            @Parameter(description = "Размер страницы") @RequestParam(required = false) Integer limit
+    ) {
         logger.info("GET /api/tracker/task");
-        List<TaskResponseDto> tasks = taskService.getAllTasks();
+        PageResponseDto<TaskResponseDto> tasks = taskService.getAllTasks(after, limit);
         return ResponseEntity.ok().body(tasks);
     }
 
+    @Operation(summary = "Потоковая выгрузка всех Задач (NDJSON)")
+    @GetMapping(produces = NdjsonResponseBody.MEDIA_TYPE_VALUE)
+    @PreAuthorize("hasAnyAuthority('USER', 'ADMIN')")
+    public ResponseEntity<StreamingResponseBody> streamAllTasks() {
+        logger.info("GET /api/tracker/task (NDJSON)");
+        StreamingResponseBody body = NdjsonResponseBody.<TaskResponseDto>of(objectMapper, taskService::streamAllTasks);
+        return ResponseEntity.ok().contentType(NdjsonResponseBody.MEDIA_TYPE).body(body);
+    }
+
     @Operation(summary = "Получение конкретной Задачи по её id")
     @GetMapping(value = "/{id}")
     @PreAuthorize("hasAnyAuthority('USER', 'ADMIN')")
@@ -61,15 +78,6 @@ public class TaskController {
         return ResponseEntity.status(HttpStatus.CREATED).body(task);
     }
 
-    @Operation(summary = "Добавление новых Задач(и) через CSV-файл")
-    @PostMapping(value = "/csv")
-    @PreAuthorize("hasAuthority('ADMIN')")
-    public ResponseEntity<List<TaskResponseDto>> addNewTaskByCsv(@RequestParam("file") MultipartFile file) {
-        logger.info("POST /api/tracker/task");
-        List<TaskResponseDto> tasks = taskService.addTaskByCsv(file);
-        return ResponseEntity.status(HttpStatus.CREATED).body(tasks);
-    }
-
     @Operation(summary = "Удаление конкретной Задачи по её id")
     @DeleteMapping(value = "/{id}")
     @PreAuthorize("hasAuthority('ADMIN')")
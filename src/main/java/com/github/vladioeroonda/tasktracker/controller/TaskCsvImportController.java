@@ -0,0 +1,64 @@
+package com.github.vladioeroonda.tasktracker.controller;
+
+import com.github.vladioeroonda.tasktracker.dto.response.CsvImportJobResponseDto;
+import com.github.vladioeroonda.tasktracker.service.TaskCsvImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+@Tag(name = "Загрузка задач из CSV", description = "Отвечает за фоновую загрузку Задач из CSV-файлов")
+@RestController
+@RequestMapping("/api/tracker/task/csv")
+public class TaskCsvImportController {
+    private static final Logger logger = LoggerFactory.getLogger(TaskCsvImportController.class);
+
+    private final TaskCsvImportService taskCsvImportService;
+
+    public TaskCsvImportController(TaskCsvImportService taskCsvImportService) {
+        this.taskCsvImportService = taskCsvImportService;
+    }
+
+    @Operation(summary = "Запуск фоновой загрузки новых Задач через CSV-файл")
+    @PostMapping
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<CsvImportJobResponseDto> startImport(@RequestParam("file") MultipartFile file) {
+        logger.info("POST /api/tracker/task/csv");
+        CsvImportJobResponseDto job = taskCsvImportService.startImport(file);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    @Operation(summary = "Получение состояния загрузки CSV-файла")
+    @GetMapping(value = "/{id}")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<CsvImportJobResponseDto> getJob(@PathVariable String id) {
+        logger.info("GET /api/tracker/task/csv/{id}");
+        CsvImportJobResponseDto job = taskCsvImportService.getJob(id);
+        return ResponseEntity.ok().body(job);
+    }
+
+    @Operation(summary = "Получение CSV-отчёта о строках, которые не удалось загрузить")
+    @GetMapping(value = "/{id}/errors")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<Resource> getErrorReport(@PathVariable String id) {
+        logger.info("GET /api/tracker/task/csv/{id}/errors");
+        Resource report = taskCsvImportService.getErrorReport(id);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + id + "-errors.csv\"")
+                .body(report);
+    }
+}
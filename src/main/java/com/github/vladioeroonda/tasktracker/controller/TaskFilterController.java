@@ -1,8 +1,14 @@
 package com.github.vladioeroonda.tasktracker.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.vladioeroonda.tasktracker.dto.request.TaskFilterRequestDto;
+import com.github.vladioeroonda.tasktracker.dto.response.CursorPageResponseDto;
+import com.github.vladioeroonda.tasktracker.dto.response.TaskFacetsResponseDto;
 import com.github.vladioeroonda.tasktracker.dto.response.TaskResponseDto;
+import com.github.vladioeroonda.tasktracker.model.TaskFilterSort;
 import com.github.vladioeroonda.tasktracker.model.TaskStatus;
 import com.github.vladioeroonda.tasktracker.service.TaskFilterService;
+import com.github.vladioeroonda.tasktracker.util.NdjsonResponseBody;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -14,8 +20,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-
-import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Tag(name = "Фильтр задач", description = "Отвечает за фильтрацию задач по критериям")
 @RestController
@@ -24,28 +29,82 @@ public class TaskFilterController {
     private static final Logger logger = LoggerFactory.getLogger(TaskFilterController.class);
 
     private final TaskFilterService taskFilterService;
+    private final ObjectMapper objectMapper;
 
-    public TaskFilterController(TaskFilterService taskFilterService) {
+    public TaskFilterController(TaskFilterService taskFilterService, ObjectMapper objectMapper) {
         this.taskFilterService = taskFilterService;
+        this.objectMapper = objectMapper;
     }
 
-    @Operation(summary = "Фильтрация задач")
+    @Operation(summary = "Фильтрация задач (курсорная пагинация)")
     @GetMapping
     @PreAuthorize("hasAnyAuthority('ADMIN', 'USER')")
-    public ResponseEntity<List<TaskResponseDto>> getFilteredTasks(
+    public ResponseEntity<CursorPageResponseDto<TaskResponseDto>> getFilteredTasks(
             @Parameter(description = "Имя задачи") @RequestParam(required = false) String name,
             @Parameter(description = "Описание задачи") @RequestParam(required = false) String description,
             @Parameter(description = "Статус задачи") @RequestParam(required = false) TaskStatus status,
             @Parameter(description = "Имя проекта в задаче") @RequestParam(required = false) String projectName,
             @Parameter(description = "Версия релиза в задаче") @RequestParam(required = false) String releaseVersion,
             @Parameter(description = "Имя автора в задаче") @RequestParam(required = false) String authorName,
-            @Parameter(description = "Имя исполнителя в задаче") @RequestParam(required = false) String executorName
+            @Parameter(description = "Имя исполнителя в задаче") @RequestParam(required = false) String executorName,
+            @Parameter(description = "Сортировка") @RequestParam(defaultValue = "NAME") TaskFilterSort sort,
+            @Parameter(description = "Курсор next предыдущей страницы") @RequestParam(required = false) String after,
+            @Parameter(description = "Размер страницы") @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Подсчитать общее количество задач") @RequestParam(defaultValue = "false") boolean total
     ) {
         logger.info("GET /api/tracker/task/filter");
-        List<TaskResponseDto> result = taskFilterService.getFilteredTasks(
+        TaskFilterRequestDto filter = new TaskFilterRequestDto(
                 name, description, status, projectName,
                 releaseVersion, authorName, executorName
         );
+        CursorPageResponseDto<TaskResponseDto> result =
+                taskFilterService.getFilteredTasks(filter, sort, after, limit, total);
         return ResponseEntity.ok().body(result);
     }
+
+    @Operation(summary = "Количество отфильтрованных задач по статусам, проектам, релизам и исполнителям")
+    @GetMapping(value = "/facets")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'USER')")
+    public ResponseEntity<TaskFacetsResponseDto> getFacets(
+            @Parameter(description = "Имя задачи") @RequestParam(required = false) String name,
+            @Parameter(description = "Описание задачи") @RequestParam(required = false) String description,
+            @Parameter(description = "Статус задачи") @RequestParam(required = false) TaskStatus status,
+            @Parameter(description = "Имя проекта в задаче") @RequestParam(required = false) String projectName,
+            @Parameter(description = "Версия релиза в задаче") @RequestParam(required = false) String releaseVersion,
+            @Parameter(description = "Имя автора в задаче") @RequestParam(required = false) String authorName,
+            @Parameter(description = "Имя исполнителя в задаче") @RequestParam(required = false) String executorName
+    ) {
+        logger.info("GET /api/tracker/task/filter/facets");
+        TaskFilterRequestDto filter = new TaskFilterRequestDto(
+                name, description, status, projectName,
+                releaseVersion, authorName, executorName
+        );
+        TaskFacetsResponseDto result = taskFilterService.getFacets(filter);
+        return ResponseEntity.ok().body(result);
+    }
+
+    @Operation(summary = "Потоковая выгрузка отфильтрованных задач (NDJSON)")
+    @GetMapping(produces = NdjsonResponseBody.MEDIA_TYPE_VALUE)
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'USER')")
+    public ResponseEntity<StreamingResponseBody> streamFilteredTasks(
+            @Parameter(description = "Имя задачи") @RequestParam(required = false) String name,
+            @Parameter(description = "Описание задачи") @RequestParam(required = false) String description,
+            @Parameter(description = "Статус задачи") @RequestParam(required = false) TaskStatus status,
+            @Parameter(description = "Имя проекта в задаче") @RequestParam(required = false) String projectName,
+            @Parameter(description = "Версия релиза в задаче") @RequestParam(required = false) String releaseVersion,
+            @Parameter(description = "Имя автора в задаче") @RequestParam(required = false) String authorName,
+            @Parameter(description = "Имя исполнителя в задаче") @RequestParam(required = false) String executorName,
+            @Parameter(description = "Сортировка") @RequestParam(defaultValue = "NAME") TaskFilterSort sort
+    ) {
+        logger.info("GET /api/tracker/task/filter (NDJSON)");
+        TaskFilterRequestDto filter = new TaskFilterRequestDto(
+                name, description, status, projectName,
+                releaseVersion, authorName, executorName
+        );
+        StreamingResponseBody body = NdjsonResponseBody.<TaskResponseDto>of(
+                objectMapper,
+                consumer -> taskFilterService.streamFilteredTasks(filter, sort, consumer)
+        );
+        return ResponseEntity.ok().contentType(NdjsonResponseBody.MEDIA_TYPE).body(body);
+    }
 }
@@ -1,9 +1,11 @@
 package com.github.vladioeroonda.tasktracker.controller;
 
 import com.github.vladioeroonda.tasktracker.dto.request.UserRequestDto;
+import com.github.vladioeroonda.tasktracker.dto.response.PageResponseDto;
 import com.github.vladioeroonda.tasktracker.dto.response.UserResponseDto;
 import com.github.vladioeroonda.tasktracker.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,10 +19,9 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
-
 @Tag(name = "Пользователь", description = "Отвечает за CRUD операции, связанные с Пользователем")
 @RestController
 @RequestMapping("/api/tracker/user")
@@ -33,13 +34,16 @@ public class UserController {
         this.userService = userService;
     }
 
-    @Operation(summary = "Получение списка всех Пользователей")
+    @Operation(summary = "Получение страницы Пользователей (курсорная пагинация по id)")
     @GetMapping
     @PreAuthorize("hasAuthority('ADMIN')")
-    public ResponseEntity<List<UserResponseDto>> getAllUsers() {
+    public ResponseEntity<PageResponseDto<UserResponseDto>> getAllUsers(
+            @Parameter(description = "id последнего элемента предыдущей страницы") @RequestParam(required = false) Long after,
+            @Parameter(description = "Размер страницы") @RequestParam(required = false) Integer limit
+    ) {
         logger.info("GET /api/tracker/user");
 
-        List<UserResponseDto> users = userService.getAllUsers();
+        PageResponseDto<UserResponseDto> users = userService.getAllUsers(after, limit);
         return ResponseEntity.ok().body(users);
     }
 
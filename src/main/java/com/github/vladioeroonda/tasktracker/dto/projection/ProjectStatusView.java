@@ -0,0 +1,12 @@
+package com.github.vladioeroonda.tasktracker.dto.projection;
+
+import com.github.vladioeroonda.tasktracker.model.ProjectStatus;
+
+/**
+ * ID и статус Проекта - всё, что нужно для проверки ссылок на Проект без загрузки сущности
+ */
+public interface ProjectStatusView {
+    Long getId();
+
+    ProjectStatus getStatus();
+}
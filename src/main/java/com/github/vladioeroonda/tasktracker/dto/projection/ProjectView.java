@@ -0,0 +1,71 @@
+package com.github.vladioeroonda.tasktracker.dto.projection;
+
+import com.github.vladioeroonda.tasktracker.model.ProjectStatus;
+
+import java.math.BigDecimal;
+
+/**
+ * Плоская проекция Проекта вместе с данными заказчика для ProjectResponseDto
+ */
+public class ProjectView {
+    private final Long id;
+    private final String name;
+    private final ProjectStatus status;
+    private final BigDecimal price;
+    private final Long customerId;
+    private final String customerLogin;
+    private final String customerName;
+    private final String customerBankAccountId;
+
+    public ProjectView(
+            Long id,
+            String name,
+            ProjectStatus status,
+            BigDecimal price,
+            Long customerId,
+            String customerLogin,
+            String customerName,
+            String customerBankAccountId
+    ) {
+        this.id = id;
+        this.name = name;
+        this.status = status;
+        this.price = price;
+        this.customerId = customerId;
+        this.customerLogin = customerLogin;
+        this.customerName = customerName;
+        this.customerBankAccountId = customerBankAccountId;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public ProjectStatus getStatus() {
+        return status;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public String getCustomerLogin() {
+        return customerLogin;
+    }
+
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    public String getCustomerBankAccountId() {
+        return customerBankAccountId;
+    }
+}
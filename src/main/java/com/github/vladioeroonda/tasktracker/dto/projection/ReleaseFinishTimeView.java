@@ -0,0 +1,12 @@
+package com.github.vladioeroonda.tasktracker.dto.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * ID и время завершения Релиза - всё, что нужно для проверки ссылок на Релиз без загрузки сущности
+ */
+public interface ReleaseFinishTimeView {
+    Long getId();
+
+    LocalDateTime getFinishTime();
+}
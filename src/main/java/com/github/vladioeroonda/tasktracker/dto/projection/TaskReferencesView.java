@@ -0,0 +1,30 @@
+package com.github.vladioeroonda.tasktracker.dto.projection;
+
+import com.github.vladioeroonda.tasktracker.model.ProjectStatus;
+import com.github.vladioeroonda.tasktracker.model.TaskStatus;
+
+/**
+ * Результат проверки ссылок обновляемой Задачи одним запросом: ID найденных записей
+ * (null - если записи нет) и данные Проекта и Релиза, нужные для правил обновления
+ */
+public interface TaskReferencesView {
+    Long getTaskId();
+
+    Long getCurrentProjectId();
+
+    Long getCurrentReleaseId();
+
+    TaskStatus getCurrentStatus();
+
+    Long getProjectId();
+
+    ProjectStatus getProjectStatus();
+
+    Long getReleaseId();
+
+    Boolean getReleaseClosed();
+
+    Long getAuthorId();
+
+    Long getExecutorId();
+}
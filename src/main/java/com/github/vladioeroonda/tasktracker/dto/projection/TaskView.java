@@ -0,0 +1,205 @@
+package com.github.vladioeroonda.tasktracker.dto.projection;
+
+import com.github.vladioeroonda.tasktracker.model.ProjectStatus;
+import com.github.vladioeroonda.tasktracker.model.TaskStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Плоская проекция Задачи со всеми данными, нужными для TaskResponseDto.
+ * Заполняется одним запросом с join-ами на проект, заказчика, релиз, автора и исполнителя;
+ * роли пользователей догружаются отдельным пакетным запросом.
+ */
+public class TaskView {
+    private final Long id;
+    private final String name;
+    private final String description;
+    private final TaskStatus status;
+    private final Long projectId;
+    private final String projectName;
+    private final ProjectStatus projectStatus;
+    private final BigDecimal projectPrice;
+    private final Long customerId;
+    private final String customerLogin;
+    private final String customerName;
+    private final String customerBankAccountId;
+    private final Long releaseId;
+    private final String releaseVersion;
+    private final LocalDateTime releaseStartTime;
+    private final LocalDateTime releaseFinishTime;
+    private final Long authorId;
+    private final String authorLogin;
+    private final String authorName;
+    private final String authorBankAccountId;
+    private final Long executorId;
+    private final String executorLogin;
+    private final String executorName;
+    private final String executorBankAccountId;
+
+    public TaskView(
+            Long id,
+            String name,
+            String description,
+            TaskStatus status,
+            Long projectId,
+            String projectName,
+            ProjectStatus projectStatus,
+            BigDecimal projectPrice,
+            Long customerId,
+            String customerLogin,
+            String customerName,
+            String customerBankAccountId,
+            Long releaseId,
+            String releaseVersion,
+            LocalDateTime releaseStartTime,
+            LocalDateTime releaseFinishTime,
+            Long authorId,
+            String authorLogin,
+            String authorName,
+            String authorBankAccountId,
+            Long executorId,
+            String executorLogin,
+            String executorName,
+            String executorBankAccountId
+    ) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.status = status;
+        this.projectId = projectId;
+        this.projectName = projectName;
+        this.projectStatus = projectStatus;
+        this.projectPrice = projectPrice;
+        this.customerId = customerId;
+        this.customerLogin = customerLogin;
+        this.customerName = customerName;
+        this.customerBankAccountId = customerBankAccountId;
+        this.releaseId = releaseId;
+        this.releaseVersion = releaseVersion;
+        this.releaseStartTime = releaseStartTime;
+        this.releaseFinishTime = releaseFinishTime;
+        this.authorId = authorId;
+        this.authorLogin = authorLogin;
+        this.authorName = authorName;
+        this.authorBankAccountId = authorBankAccountId;
+        this.executorId = executorId;
+        this.executorLogin = executorLogin;
+        this.executorName = executorName;
+        this.executorBankAccountId = executorBankAccountId;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public String getProjectName() {
+        return projectName;
+    }
+
+    public ProjectStatus getProjectStatus() {
+        return projectStatus;
+    }
+
+    public BigDecimal getProjectPrice() {
+        return projectPrice;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public String getCustomerLogin() {
+        return customerLogin;
+    }
+
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    public String getCustomerBankAccountId() {
+        return customerBankAccountId;
+    }
+
+    public Long getReleaseId() {
+        return releaseId;
+    }
+
+    public String getReleaseVersion() {
+        return releaseVersion;
+    }
+
+    public LocalDateTime getReleaseStartTime() {
+        return releaseStartTime;
+    }
+
+    public LocalDateTime getReleaseFinishTime() {
+        return releaseFinishTime;
+    }
+
+    public Long getAuthorId() {
+        return authorId;
+    }
+
+    public String getAuthorLogin() {
+        return authorLogin;
+    }
+
+    public String getAuthorName() {
+        return authorName;
+    }
+
+    public String getAuthorBankAccountId() {
+        return authorBankAccountId;
+    }
+
+    public Long getExecutorId() {
+        return executorId;
+    }
+
+    public String getExecutorLogin() {
+        return executorLogin;
+    }
+
+    public String getExecutorName() {
+        return executorName;
+    }
+
+    public String getExecutorBankAccountId() {
+        return executorBankAccountId;
+    }
+
+    /**
+     * ID всех пользователей (заказчиков, авторов, исполнителей), упомянутых в строках
+     */
+    public static Set<Long> collectUserIds(List<TaskView> views) {
+        Set<Long> ids = new HashSet<>();
+        for (TaskView view : views) {
+            ids.add(view.getCustomerId());
+            ids.add(view.getAuthorId());
+            if (view.getExecutorId() != null) {
+                ids.add(view.getExecutorId());
+            }
+        }
+        return ids;
+    }
+}
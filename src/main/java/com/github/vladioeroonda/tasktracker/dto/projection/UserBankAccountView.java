@@ -0,0 +1,10 @@
+package com.github.vladioeroonda.tasktracker.dto.projection;
+
+/**
+ * Пара "ID пользователя - банковский счёт" для пакетной проверки Заказчиков
+ */
+public interface UserBankAccountView {
+    Long getId();
+
+    String getBankAccountId();
+}
@@ -0,0 +1,12 @@
+package com.github.vladioeroonda.tasktracker.dto.projection;
+
+import com.github.vladioeroonda.tasktracker.model.Role;
+
+/**
+ * Пара "ID пользователя - роль" для пакетной загрузки ролей сразу нескольких пользователей
+ */
+public interface UserRoleView {
+    Long getUserId();
+
+    Role getRole();
+}
@@ -0,0 +1,35 @@
+package com.github.vladioeroonda.tasktracker.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Dto для входа по логину и паролю (запрос)")
+public class LoginRequestDto {
+    @Schema(description = "Логин Пользователя")
+    private String login;
+    @Schema(description = "Пароль Пользователя")
+    private String password;
+
+    public LoginRequestDto() {
+    }
+
+    public LoginRequestDto(String login, String password) {
+        this.login = login;
+        this.password = password;
+    }
+
+    public String getLogin() {
+        return login;
+    }
+
+    public void setLogin(String login) {
+        this.login = login;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+}
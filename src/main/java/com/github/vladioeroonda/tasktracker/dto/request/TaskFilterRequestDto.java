@@ -0,0 +1,118 @@
+package com.github.vladioeroonda.tasktracker.dto.request;
+
+import com.github.vladioeroonda.tasktracker.model.TaskStatus;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Objects;
+
+/**
+ * Условия фильтра задач. Неизменяемый объект с equals/hashCode - используется и как ключ кэша
+ */
+public class TaskFilterRequestDto {
+    private final String name;
+    private final String description;
+    private final TaskStatus status;
+    private final String projectName;
+    private final String releaseVersion;
+    private final String authorName;
+    private final String executorName;
+
+    public TaskFilterRequestDto(
+            String name,
+            String description,
+            TaskStatus status,
+            String projectName,
+            String releaseVersion,
+            String authorName,
+            String executorName
+    ) {
+        this.name = name;
+        this.description = description;
+        this.status = status;
+        this.projectName = projectName;
+        this.releaseVersion = releaseVersion;
+        this.authorName = authorName;
+        this.executorName = executorName;
+    }
+
+    /**
+     * Нормализованные условия: пробелы по краям строк отбрасываются, пустые строки считаются отсутствующими.
+     * Регистр сохраняется - поиск по подстроке регистрозависимый, и условия, различающиеся регистром,
+     * дают разные результаты.
+     */
+    public TaskFilterRequestDto normalize() {
+        return new TaskFilterRequestDto(
+                normalize(name),
+                normalize(description),
+                status,
+                normalize(projectName),
+                normalize(releaseVersion),
+                normalize(authorName),
+                normalize(executorName)
+        );
+    }
+
+    private static String normalize(String value) {
+        return StringUtils.trimToNull(value);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public String getProjectName() {
+        return projectName;
+    }
+
+    public String getReleaseVersion() {
+        return releaseVersion;
+    }
+
+    public String getAuthorName() {
+        return authorName;
+    }
+
+    public String getExecutorName() {
+        return executorName;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TaskFilterRequestDto that = (TaskFilterRequestDto) o;
+        return Objects.equals(name, that.name)
+                && Objects.equals(description, that.description)
+                && status == that.status
+                && Objects.equals(projectName, that.projectName)
+                && Objects.equals(releaseVersion, that.releaseVersion)
+                && Objects.equals(authorName, that.authorName)
+                && Objects.equals(executorName, that.executorName);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, description, status, projectName, releaseVersion, authorName, executorName);
+    }
+
+    @Override
+    public String toString() {
+        return "TaskFilterRequestDto{" +
+                "name='" + name + '\'' +
+                ", description='" + description + '\'' +
+                ", status=" + status +
+                ", projectName='" + projectName + '\'' +
+                ", releaseVersion='" + releaseVersion + '\'' +
+                ", authorName='" + authorName + '\'' +
+                ", executorName='" + executorName + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,46 @@
+package com.github.vladioeroonda.tasktracker.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Токен доступа (ответ)")
+public class AccessTokenResponseDto {
+    @Schema(description = "Подписанный токен доступа, передаётся в заголовке 'Authorization: Bearer <токен>'")
+    private String accessToken;
+    @Schema(description = "Тип токена")
+    private String tokenType;
+    @Schema(description = "Время жизни токена в секундах")
+    private long expiresIn;
+
+    public AccessTokenResponseDto() {
+    }
+
+    public AccessTokenResponseDto(String accessToken, String tokenType, long expiresIn) {
+        this.accessToken = accessToken;
+        this.tokenType = tokenType;
+        this.expiresIn = expiresIn;
+    }
+
+    public String getAccessToken() {
+        return accessToken;
+    }
+
+    public void setAccessToken(String accessToken) {
+        this.accessToken = accessToken;
+    }
+
+    public String getTokenType() {
+        return tokenType;
+    }
+
+    public void setTokenType(String tokenType) {
+        this.tokenType = tokenType;
+    }
+
+    public long getExpiresIn() {
+        return expiresIn;
+    }
+
+    public void setExpiresIn(long expiresIn) {
+        this.expiresIn = expiresIn;
+    }
+}
@@ -0,0 +1,113 @@
+package com.github.vladioeroonda.tasktracker.dto.response;
+
+import com.github.vladioeroonda.tasktracker.model.CsvImportJobStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "Фоновая загрузка Задач из CSV-файла (ответ)")
+public class CsvImportJobResponseDto {
+    @Schema(description = "ID загрузки")
+    private String id;
+    @Schema(description = "Статус загрузки")
+    private CsvImportJobStatus status;
+    @Schema(description = "Количество добавленных Задач")
+    private long rowsDone;
+    @Schema(description = "Количество строк, не прошедших разбор или проверку (см. отчёт об ошибках)")
+    private long rowsFailed;
+    @Schema(description = "Скорость обработки строк в секунду")
+    private double rowsPerSecond;
+    @Schema(description = "Время начала обработки")
+    private LocalDateTime startTime;
+    @Schema(description = "Время завершения обработки")
+    private LocalDateTime finishTime;
+    @Schema(description = "Причина прерывания загрузки (для статуса FAILED)")
+    private String message;
+
+    public CsvImportJobResponseDto() {
+    }
+
+    public CsvImportJobResponseDto(
+            String id,
+            CsvImportJobStatus status,
+            long rowsDone,
+            long rowsFailed,
+            double rowsPerSecond,
+            LocalDateTime startTime,
+            LocalDateTime finishTime,
+            String message
+    ) {
+        this.id = id;
+        this.status = status;
+        this.rowsDone = rowsDone;
+        this.rowsFailed = rowsFailed;
+        this.rowsPerSecond = rowsPerSecond;
+        this.startTime = startTime;
+        this.finishTime = finishTime;
+        this.message = message;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public CsvImportJobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(CsvImportJobStatus status) {
+        this.status = status;
+    }
+
+    public long getRowsDone() {
+        return rowsDone;
+    }
+
+    public void setRowsDone(long rowsDone) {
+        this.rowsDone = rowsDone;
+    }
+
+    public long getRowsFailed() {
+        return rowsFailed;
+    }
+
+    public void setRowsFailed(long rowsFailed) {
+        this.rowsFailed = rowsFailed;
+    }
+
+    public double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public void setRowsPerSecond(double rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalDateTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public LocalDateTime getFinishTime() {
+        return finishTime;
+    }
+
+    public void setFinishTime(LocalDateTime finishTime) {
+        this.finishTime = finishTime;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
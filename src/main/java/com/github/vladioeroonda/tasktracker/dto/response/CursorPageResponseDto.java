@@ -0,0 +1,59 @@
+package com.github.vladioeroonda.tasktracker.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Страница списка с непрозрачным курсором (ответ)")
+public class CursorPageResponseDto<T> {
+    @Schema(description = "Элементы страницы")
+    private List<T> items;
+    @Schema(description = "Курсор следующей страницы (передаётся в параметр after), null - если страница последняя")
+    private String next;
+    @Schema(description = "Размер страницы, применённый сервером")
+    private int limit;
+    @Schema(description = "Общее количество подходящих элементов, null - если не запрашивалось")
+    private Long total;
+
+    public CursorPageResponseDto() {
+    }
+
+    public CursorPageResponseDto(List<T> items, String next, int limit, Long total) {
+        this.items = items;
+        this.next = next;
+        this.limit = limit;
+        this.total = total;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public String getNext() {
+        return next;
+    }
+
+    public void setNext(String next) {
+        this.next = next;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+
+    public Long getTotal() {
+        return total;
+    }
+
+    public void setTotal(Long total) {
+        this.total = total;
+    }
+}
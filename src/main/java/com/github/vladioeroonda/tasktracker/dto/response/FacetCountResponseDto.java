@@ -0,0 +1,52 @@
+package com.github.vladioeroonda.tasktracker.dto.response;
+
+import com.github.vladioeroonda.tasktracker.model.TaskStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Значение фасета и количество задач с ним (ответ)")
+public class FacetCountResponseDto {
+    @Schema(description = "ID сущности значения (Проекта, Релиза, Исполнителя); null - для статуса и задач без исполнителя")
+    private Long id;
+    @Schema(description = "Значение: статус, название Проекта, версия Релиза или имя Исполнителя")
+    private String value;
+    @Schema(description = "Количество задач")
+    private long count;
+
+    public FacetCountResponseDto() {
+    }
+
+    public FacetCountResponseDto(Long id, String value, Long count) {
+        this.id = id;
+        this.value = value;
+        this.count = count;
+    }
+
+    public FacetCountResponseDto(TaskStatus status, Long count) {
+        this.value = status.name();
+        this.count = count;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public void setValue(String value) {
+        this.value = value;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+}
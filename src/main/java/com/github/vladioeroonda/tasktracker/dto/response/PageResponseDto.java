@@ -0,0 +1,48 @@
+package com.github.vladioeroonda.tasktracker.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Страница списка (ответ)")
+public class PageResponseDto<T> {
+    @Schema(description = "Элементы страницы")
+    private List<T> items;
+    @Schema(description = "Курсор следующей страницы (передаётся в параметр after), null - если страница последняя")
+    private Long next;
+    @Schema(description = "Размер страницы, применённый сервером")
+    private int limit;
+
+    public PageResponseDto() {
+    }
+
+    public PageResponseDto(List<T> items, Long next, int limit) {
+        this.items = items;
+        this.next = next;
+        this.limit = limit;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public Long getNext() {
+        return next;
+    }
+
+    public void setNext(Long next) {
+        this.next = next;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+}
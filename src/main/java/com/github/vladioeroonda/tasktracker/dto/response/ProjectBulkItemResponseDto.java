@@ -0,0 +1,58 @@
+package com.github.vladioeroonda.tasktracker.dto.response;
+
+import com.github.vladioeroonda.tasktracker.model.ProjectBulkItemStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Итог добавления одного Проекта из пакета (ответ)")
+public class ProjectBulkItemResponseDto {
+    @Schema(description = "Номер Проекта в пакете (с 0)")
+    private int index;
+    @Schema(description = "Итог: CREATED - добавлен, REJECTED - не прошёл проверки, FAILED - сервис оплаты недоступен")
+    private ProjectBulkItemStatus status;
+    @Schema(description = "Добавленный Проект (только для CREATED)")
+    private ProjectResponseDto project;
+    @Schema(description = "Причина отказа (для REJECTED и FAILED)")
+    private String message;
+
+    public ProjectBulkItemResponseDto() {
+    }
+
+    public ProjectBulkItemResponseDto(int index, ProjectBulkItemStatus status, ProjectResponseDto project, String message) {
+        this.index = index;
+        this.status = status;
+        this.project = project;
+        this.message = message;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public ProjectBulkItemStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ProjectBulkItemStatus status) {
+        this.status = status;
+    }
+
+    public ProjectResponseDto getProject() {
+        return project;
+    }
+
+    public void setProject(ProjectResponseDto project) {
+        this.project = project;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,101 @@
+package com.github.vladioeroonda.tasktracker.dto.response;
+
+import com.github.vladioeroonda.tasktracker.model.ReleaseClosingJobStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "Фоновое закрытие Релиза (ответ)")
+public class ReleaseClosingJobResponseDto {
+    @Schema(description = "ID Релиза")
+    private Long releaseId;
+    @Schema(description = "Статус закрытия")
+    private ReleaseClosingJobStatus status;
+    @Schema(description = "Количество отменённых задач")
+    private long tasksCancelled;
+    @Schema(description = "Количество обработанных порций задач")
+    private long chunks;
+    @Schema(description = "Время начала обработки")
+    private LocalDateTime startTime;
+    @Schema(description = "Время завершения обработки")
+    private LocalDateTime finishTime;
+    @Schema(description = "Причина прерывания закрытия (для статуса FAILED)")
+    private String message;
+
+    public ReleaseClosingJobResponseDto() {
+    }
+
+    public ReleaseClosingJobResponseDto(
+            Long releaseId,
+            ReleaseClosingJobStatus status,
+            long tasksCancelled,
+            long chunks,
+            LocalDateTime startTime,
+            LocalDateTime finishTime,
+            String message
+    ) {
+        this.releaseId = releaseId;
+        this.status = status;
+        this.tasksCancelled = tasksCancelled;
+        this.chunks = chunks;
+        this.startTime = startTime;
+        this.finishTime = finishTime;
+        this.message = message;
+    }
+
+    public Long getReleaseId() {
+        return releaseId;
+    }
+
+    public void setReleaseId(Long releaseId) {
+        this.releaseId = releaseId;
+    }
+
+    public ReleaseClosingJobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ReleaseClosingJobStatus status) {
+        this.status = status;
+    }
+
+    public long getTasksCancelled() {
+        return tasksCancelled;
+    }
+
+    public void setTasksCancelled(long tasksCancelled) {
+        this.tasksCancelled = tasksCancelled;
+    }
+
+    public long getChunks() {
+        return chunks;
+    }
+
+    public void setChunks(long chunks) {
+        this.chunks = chunks;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalDateTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public LocalDateTime getFinishTime() {
+        return finishTime;
+    }
+
+    public void setFinishTime(LocalDateTime finishTime) {
+        this.finishTime = finishTime;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,64 @@
+package com.github.vladioeroonda.tasktracker.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Количество отфильтрованных задач в разрезе статусов, проектов, релизов и исполнителей (ответ)")
+public class TaskFacetsResponseDto {
+    @Schema(description = "По статусам")
+    private List<FacetCountResponseDto> statuses;
+    @Schema(description = "По проектам")
+    private List<FacetCountResponseDto> projects;
+    @Schema(description = "По релизам")
+    private List<FacetCountResponseDto> releases;
+    @Schema(description = "По исполнителям (задачи без исполнителя - значение с id = null)")
+    private List<FacetCountResponseDto> executors;
+
+    public TaskFacetsResponseDto() {
+    }
+
+    public TaskFacetsResponseDto(
+            List<FacetCountResponseDto> statuses,
+            List<FacetCountResponseDto> projects,
+            List<FacetCountResponseDto> releases,
+            List<FacetCountResponseDto> executors
+    ) {
+        this.statuses = statuses;
+        this.projects = projects;
+        this.releases = releases;
+        this.executors = executors;
+    }
+
+    public List<FacetCountResponseDto> getStatuses() {
+        return statuses;
+    }
+
+    public void setStatuses(List<FacetCountResponseDto> statuses) {
+        this.statuses = statuses;
+    }
+
+    public List<FacetCountResponseDto> getProjects() {
+        return projects;
+    }
+
+    public void setProjects(List<FacetCountResponseDto> projects) {
+        this.projects = projects;
+    }
+
+    public List<FacetCountResponseDto> getReleases() {
+        return releases;
+    }
+
+    public void setReleases(List<FacetCountResponseDto> releases) {
+        this.releases = releases;
+    }
+
+    public List<FacetCountResponseDto> getExecutors() {
+        return executors;
+    }
+
+    public void setExecutors(List<FacetCountResponseDto> executors) {
+        this.executors = executors;
+    }
+}
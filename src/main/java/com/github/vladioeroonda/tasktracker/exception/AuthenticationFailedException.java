@@ -0,0 +1,20 @@
+package com.github.vladioeroonda.tasktracker.exception;
+
+import java.util.function.Supplier;
+
+public class AuthenticationFailedException extends DomainException {
+    public AuthenticationFailedException() {
+    }
+
+    public AuthenticationFailedException(String message) {
+        super(message);
+    }
+
+    public AuthenticationFailedException(Supplier<String> message) {
+        super(message);
+    }
+
+    public AuthenticationFailedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,6 +1,8 @@
 package com.github.vladioeroonda.tasktracker.exception;
 
-public class CSVParsingException extends RuntimeException{
+import java.util.function.Supplier;
+
+public class CSVParsingException extends DomainException{
     public CSVParsingException() {
     }
 
@@ -8,6 +10,10 @@ public class CSVParsingException extends RuntimeException{
         super(message);
     }
 
+    public CSVParsingException(Supplier<String> message) {
+        super(message);
+    }
+
     public CSVParsingException(String message, Throwable cause) {
         super(message, cause);
     }
@@ -0,0 +1,20 @@
+package com.github.vladioeroonda.tasktracker.exception;
+
+import java.util.function.Supplier;
+
+public class CsvImportJobNotFoundException extends DomainException {
+    public CsvImportJobNotFoundException() {
+    }
+
+    public CsvImportJobNotFoundException(String message) {
+        super(message);
+    }
+
+    public CsvImportJobNotFoundException(Supplier<String> message) {
+        super(message);
+    }
+
+    public CsvImportJobNotFoundException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
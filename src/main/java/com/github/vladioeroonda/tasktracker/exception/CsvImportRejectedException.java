@@ -0,0 +1,14 @@
+package com.github.vladioeroonda.tasktracker.exception;
+
+public class CsvImportRejectedException extends RuntimeException {
+    public CsvImportRejectedException() {
+    }
+
+    public CsvImportRejectedException(String message) {
+        super(message);
+    }
+
+    public CsvImportRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
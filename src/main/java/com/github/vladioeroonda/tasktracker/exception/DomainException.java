@@ -0,0 +1,57 @@
+package com.github.vladioeroonda.tasktracker.exception;
+
+import java.util.function.Supplier;
+
+/**
+ * Базовое исключение ожидаемых ошибок клиента (не найдено, неверные данные), которые обработчик
+ * {@link GlobalExceptionHandler} превращает в ответ 4xx. Стек вызовов не собирается: место ошибки
+ * однозначно задаётся сообщением, а сбор стека при потоке ошибочных запросов стоит дороже успешного чтения.
+ *
+ * Сообщение можно передать поставщиком (см. Translator.deferred) - тогда оно форматируется
+ * при первом обращении к {@link #getMessage()} и один раз. В лог такие исключения пишутся параметризованно,
+ * через {@link #lazyMessage()}, чтобы ограничитель ClientErrorLogFilter отбрасывал событие до форматирования.
+ */
+public abstract class DomainException extends RuntimeException {
+    private Supplier<String> messageSupplier;
+    private String message;
+
+    protected DomainException() {
+        this((String) null, null);
+    }
+
+    protected DomainException(String message) {
+        this(message, null);
+    }
+
+    protected DomainException(String message, Throwable cause) {
+        super(message, cause, true, false);
+        this.message = message;
+    }
+
+    protected DomainException(Supplier<String> message) {
+        super(null, null, true, false);
+        this.messageSupplier = message;
+    }
+
+    @Override
+    public String getMessage() {
+        if (messageSupplier != null) {
+            message = messageSupplier.get();
+            messageSupplier = null;
+        }
+        return message;
+    }
+
+    /**
+     * Аргумент для logger.error("{}", exception.lazyMessage(), exception): сообщение запрашивается
+     * только при выводе события в лог, а не при вызове логгера
+     */
+    public Object lazyMessage() {
+        return new Object() {
+            @Override
+            public String toString() {
+                return getMessage();
+            }
+        };
+    }
+}
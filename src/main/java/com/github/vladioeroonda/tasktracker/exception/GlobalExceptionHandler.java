@@ -14,7 +14,8 @@ public class GlobalExceptionHandler {
             ProjectNotFoundException.class,
             ReleaseNotFoundException.class,
             TaskNotFoundException.class,
-            UserNotFoundException.class
+            UserNotFoundException.class,
+            CsvImportJobNotFoundException.class
     })
     public ResponseEntity<Object> handleNotFoundException(RuntimeException e) {
         ExceptionTemplate exceptionResponse = new ExceptionTemplate(e.getMessage(), HttpStatus.NOT_FOUND);
@@ -45,6 +46,22 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(exceptionResponse, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(value = {
+            CsvImportRejectedException.class,
+            ReleaseClosingRejectedException.class,
+            PaymentServiceUnavailableException.class
+    })
+    public ResponseEntity<Object> handleServiceUnavailableException(RuntimeException e) {
+        ExceptionTemplate exceptionResponse = new ExceptionTemplate(e.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
+        return new ResponseEntity<>(exceptionResponse, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler(value = AuthenticationFailedException.class)
+    public ResponseEntity<Object> handleAuthenticationFailedException(RuntimeException e) {
+        ExceptionTemplate exceptionResponse = new ExceptionTemplate(e.getMessage(), HttpStatus.UNAUTHORIZED);
+        return new ResponseEntity<>(exceptionResponse, HttpStatus.UNAUTHORIZED);
+    }
+
     @ExceptionHandler(FeignException.class)
     public ResponseEntity<Object> handleFeignStatusException(FeignException e, HttpServletResponse response) {
         ExceptionTemplate exceptionResponse = new ExceptionTemplate(e.getMessage(), HttpStatus.BAD_REQUEST);
@@ -0,0 +1,40 @@
+package com.github.vladioeroonda.tasktracker.exception;
+
+import java.util.function.Supplier;
+
+/**
+ * Отказ в проверке оплаты (сервис оплаты недоступен или перегружен). Выбрасывается как раз при перегрузке,
+ * поэтому, как и {@link DomainException}, не собирает стек вызовов и форматирует сообщение только по запросу;
+ * стек исходной ошибки, если она есть, доступен через getCause().
+ */
+public class PaymentServiceUnavailableException extends RuntimeException {
+    private Supplier<String> messageSupplier;
+    private String message;
+
+    public PaymentServiceUnavailableException() {
+        this((String) null, null);
+    }
+
+    public PaymentServiceUnavailableException(String message) {
+        this(message, null);
+    }
+
+    public PaymentServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause, true, false);
+        this.message = message;
+    }
+
+    public PaymentServiceUnavailableException(Supplier<String> message, Throwable cause) {
+        super(null, cause, true, false);
+        this.messageSupplier = message;
+    }
+
+    @Override
+    public String getMessage() {
+        if (messageSupplier != null) {
+            message = messageSupplier.get();
+            messageSupplier = null;
+        }
+        return message;
+    }
+}
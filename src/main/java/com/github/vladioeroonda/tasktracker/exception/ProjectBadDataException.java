@@ -1,6 +1,8 @@
 package com.github.vladioeroonda.tasktracker.exception;
 
-public class ProjectBadDataException extends RuntimeException {
+import java.util.function.Supplier;
+
+public class ProjectBadDataException extends DomainException {
     public ProjectBadDataException() {
     }
 
@@ -8,6 +10,10 @@ public class ProjectBadDataException extends RuntimeException {
         super(message);
     }
 
+    public ProjectBadDataException(Supplier<String> message) {
+        super(message);
+    }
+
     public ProjectBadDataException(String message, Throwable cause) {
         super(message, cause);
     }
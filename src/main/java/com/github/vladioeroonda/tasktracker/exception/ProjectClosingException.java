@@ -1,6 +1,8 @@
 package com.github.vladioeroonda.tasktracker.exception;
 
-public class ProjectClosingException extends RuntimeException {
+import java.util.function.Supplier;
+
+public class ProjectClosingException extends DomainException {
     public ProjectClosingException() {
     }
 
@@ -8,6 +10,10 @@ public class ProjectClosingException extends RuntimeException {
         super(message);
     }
 
+    public ProjectClosingException(Supplier<String> message) {
+        super(message);
+    }
+
     public ProjectClosingException(String message, Throwable cause) {
         super(message, cause);
     }
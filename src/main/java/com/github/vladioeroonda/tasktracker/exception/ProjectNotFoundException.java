@@ -1,6 +1,8 @@
 package com.github.vladioeroonda.tasktracker.exception;
 
-public class ProjectNotFoundException extends RuntimeException {
+import java.util.function.Supplier;
+
+public class ProjectNotFoundException extends DomainException {
     public ProjectNotFoundException() {
     }
 
@@ -8,6 +10,10 @@ public class ProjectNotFoundException extends RuntimeException {
         super(message);
     }
 
+    public ProjectNotFoundException(Supplier<String> message) {
+        super(message);
+    }
+
     public ProjectNotFoundException(String message, Throwable cause) {
         super(message, cause);
     }
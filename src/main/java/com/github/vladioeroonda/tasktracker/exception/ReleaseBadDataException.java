@@ -1,6 +1,8 @@
 package com.github.vladioeroonda.tasktracker.exception;
 
-public class ReleaseBadDataException extends RuntimeException {
+import java.util.function.Supplier;
+
+public class ReleaseBadDataException extends DomainException {
     public ReleaseBadDataException() {
     }
 
@@ -8,6 +10,10 @@ public class ReleaseBadDataException extends RuntimeException {
         super(message);
     }
 
+    public ReleaseBadDataException(Supplier<String> message) {
+        super(message);
+    }
+
     public ReleaseBadDataException(String message, Throwable cause) {
         super(message, cause);
     }
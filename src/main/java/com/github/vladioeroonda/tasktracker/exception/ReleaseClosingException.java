@@ -1,6 +1,8 @@
 package com.github.vladioeroonda.tasktracker.exception;
 
-public class ReleaseClosingException extends RuntimeException {
+import java.util.function.Supplier;
+
+public class ReleaseClosingException extends DomainException {
     public ReleaseClosingException() {
     }
 
@@ -8,6 +10,10 @@ public class ReleaseClosingException extends RuntimeException {
         super(message);
     }
 
+    public ReleaseClosingException(Supplier<String> message) {
+        super(message);
+    }
+
     public ReleaseClosingException(String message, Throwable cause) {
         super(message, cause);
     }
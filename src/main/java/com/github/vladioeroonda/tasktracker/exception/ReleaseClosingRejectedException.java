@@ -0,0 +1,14 @@
+package com.github.vladioeroonda.tasktracker.exception;
+
+public class ReleaseClosingRejectedException extends RuntimeException {
+    public ReleaseClosingRejectedException() {
+    }
+
+    public ReleaseClosingRejectedException(String message) {
+        super(message);
+    }
+
+    public ReleaseClosingRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
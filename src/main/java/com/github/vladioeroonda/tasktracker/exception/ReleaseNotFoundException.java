@@ -1,6 +1,8 @@
 package com.github.vladioeroonda.tasktracker.exception;
 
-public class ReleaseNotFoundException extends RuntimeException {
+import java.util.function.Supplier;
+
+public class ReleaseNotFoundException extends DomainException {
     public ReleaseNotFoundException() {
     }
 
@@ -8,6 +10,10 @@ public class ReleaseNotFoundException extends RuntimeException {
         super(message);
     }
 
+    public ReleaseNotFoundException(Supplier<String> message) {
+        super(message);
+    }
+
     public ReleaseNotFoundException(String message, Throwable cause) {
         super(message, cause);
     }
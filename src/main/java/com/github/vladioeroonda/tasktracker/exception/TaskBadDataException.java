@@ -1,6 +1,8 @@
 package com.github.vladioeroonda.tasktracker.exception;
 
-public class TaskBadDataException extends RuntimeException {
+import java.util.function.Supplier;
+
+public class TaskBadDataException extends DomainException {
     public TaskBadDataException() {
         super();
     }
@@ -9,6 +11,10 @@ public class TaskBadDataException extends RuntimeException {
         super(message);
     }
 
+    public TaskBadDataException(Supplier<String> message) {
+        super(message);
+    }
+
     public TaskBadDataException(String message, Throwable cause) {
         super(message, cause);
     }
@@ -1,6 +1,8 @@
 package com.github.vladioeroonda.tasktracker.exception;
 
-public class TaskNotFoundException extends RuntimeException {
+import java.util.function.Supplier;
+
+public class TaskNotFoundException extends DomainException {
     public TaskNotFoundException() {
     }
 
@@ -8,6 +10,10 @@ public class TaskNotFoundException extends RuntimeException {
         super(message);
     }
 
+    public TaskNotFoundException(Supplier<String> message) {
+        super(message);
+    }
+
     public TaskNotFoundException(String message, Throwable cause) {
         super(message, cause);
     }
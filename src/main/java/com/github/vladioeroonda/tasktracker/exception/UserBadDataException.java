@@ -1,6 +1,8 @@
 package com.github.vladioeroonda.tasktracker.exception;
 
-public class UserBadDataException extends RuntimeException {
+import java.util.function.Supplier;
+
+public class UserBadDataException extends DomainException {
     public UserBadDataException() {
     }
 
@@ -8,6 +10,10 @@ public class UserBadDataException extends RuntimeException {
         super(message);
     }
 
+    public UserBadDataException(Supplier<String> message) {
+        super(message);
+    }
+
     public UserBadDataException(String message, Throwable cause) {
         super(message, cause);
     }
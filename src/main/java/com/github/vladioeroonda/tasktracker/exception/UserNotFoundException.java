@@ -1,6 +1,8 @@
 package com.github.vladioeroonda.tasktracker.exception;
 
-public class UserNotFoundException extends RuntimeException {
+import java.util.function.Supplier;
+
+public class UserNotFoundException extends DomainException {
     public UserNotFoundException() {
     }
 
@@ -8,6 +10,10 @@ public class UserNotFoundException extends RuntimeException {
         super(message);
     }
 
+    public UserNotFoundException(Supplier<String> message) {
+        super(message);
+    }
+
     public UserNotFoundException(String message, Throwable cause) {
         super(message, cause);
     }
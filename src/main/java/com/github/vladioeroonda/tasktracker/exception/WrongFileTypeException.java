@@ -1,6 +1,8 @@
 package com.github.vladioeroonda.tasktracker.exception;
 
-public class WrongFileTypeException extends RuntimeException{
+import java.util.function.Supplier;
+
+public class WrongFileTypeException extends DomainException{
     public WrongFileTypeException() {
         super();
     }
@@ -9,6 +11,10 @@ public class WrongFileTypeException extends RuntimeException{
         super(message);
     }
 
+    public WrongFileTypeException(Supplier<String> message) {
+        super(message);
+    }
+
     public WrongFileTypeException(String message, Throwable cause) {
         super(message, cause);
     }
@@ -0,0 +1,126 @@
+package com.github.vladioeroonda.tasktracker.mapper;
+
+import com.github.vladioeroonda.tasktracker.dto.request.ProjectRequestDto;
+import com.github.vladioeroonda.tasktracker.dto.request.ReleaseRequestDto;
+import com.github.vladioeroonda.tasktracker.dto.request.TaskRequestDto;
+import com.github.vladioeroonda.tasktracker.dto.request.UserRequestDto;
+import com.github.vladioeroonda.tasktracker.model.ProjectStatus;
+import com.github.vladioeroonda.tasktracker.model.Role;
+import com.github.vladioeroonda.tasktracker.model.Task;
+import com.github.vladioeroonda.tasktracker.model.TaskStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.InvocationTargetException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Проверка мапперов при старте приложения: заполненный образец каждой обёртки прогоняется через маппер,
+ * и каждое свойство, которое есть и у источника, и у результата (как при неявном сопоставлении по имени),
+ * должно быть перенесено. Рефлексия используется только здесь, в самих мапперах её нет.
+ */
+@Component
+public class MapperValidator {
+    private static final Logger logger = LoggerFactory.getLogger(MapperValidator.class);
+    private static final String MODEL_PACKAGE = "com.github.vladioeroonda.tasktracker";
+
+    private final TaskMapper taskMapper;
+    private final ProjectMapper projectMapper;
+    private final ReleaseMapper releaseMapper;
+    private final UserMapper userMapper;
+
+    public MapperValidator(
+            TaskMapper taskMapper,
+            ProjectMapper projectMapper,
+            ReleaseMapper releaseMapper,
+            UserMapper userMapper
+    ) {
+        this.taskMapper = taskMapper;
+        this.projectMapper = projectMapper;
+        this.releaseMapper = releaseMapper;
+        this.userMapper = userMapper;
+    }
+
+    @PostConstruct
+    public void validate() {
+        logger.info("Проверка мапперов");
+
+        LocalDateTime now = LocalDateTime.now();
+        UserRequestDto user =
+                new UserRequestDto(1L, "login", "password", "name", Set.of(Role.USER), "bankAccountId");
+        ReleaseRequestDto release = new ReleaseRequestDto(2L, "0.0.1", now, now);
+        ProjectRequestDto project =
+                new ProjectRequestDto(3L, "name", ProjectStatus.IN_PROGRESS, user, BigDecimal.ONE);
+        TaskRequestDto task =
+                new TaskRequestDto(4L, "name", "description", TaskStatus.BACKLOG, project, release, user, user);
+
+        checkAllPropertiesMapped(user, userMapper.toEntity(user));
+        checkAllPropertiesMapped(userMapper.toEntity(user), userMapper.toResponse(userMapper.toEntity(user)));
+        checkAllPropertiesMapped(release, releaseMapper.toEntity(release));
+        checkAllPropertiesMapped(releaseMapper.toEntity(release), releaseMapper.toResponse(releaseMapper.toEntity(release)));
+        checkAllPropertiesMapped(project, projectMapper.toEntity(project));
+        checkAllPropertiesMapped(projectMapper.toEntity(project), projectMapper.toResponse(projectMapper.toEntity(project)));
+
+        Task taskEntity = taskMapper.toEntity(task);
+        checkAllPropertiesMapped(task, taskEntity);
+        checkAllPropertiesMapped(taskEntity, taskMapper.toResponse(taskEntity));
+    }
+
+    private void checkAllPropertiesMapped(Object source, Object target) {
+        Map<String, PropertyDescriptor> sourceProperties = readableProperties(source.getClass());
+
+        for (PropertyDescriptor targetProperty : readableProperties(target.getClass()).values()) {
+            PropertyDescriptor sourceProperty = sourceProperties.get(targetProperty.getName());
+            if (sourceProperty == null) {
+                continue;
+            }
+
+            Object sourceValue = read(sourceProperty, source);
+            Object targetValue = read(targetProperty, target);
+            String path = source.getClass().getSimpleName() + " -> " + target.getClass().getSimpleName()
+                    + "." + targetProperty.getName();
+
+            if (sourceValue != null && targetValue == null) {
+                throw new IllegalStateException("Маппер не переносит свойство " + path);
+            }
+            if (sourceValue != null && targetValue != null && isModelType(targetValue.getClass())) {
+                checkAllPropertiesMapped(sourceValue, targetValue);
+            }
+        }
+    }
+
+    private boolean isModelType(Class<?> type) {
+        return !type.isEnum() && type.getName().startsWith(MODEL_PACKAGE);
+    }
+
+    private Map<String, PropertyDescriptor> readableProperties(Class<?> type) {
+        try {
+            Map<String, PropertyDescriptor> properties = new HashMap<>();
+            for (PropertyDescriptor property : Introspector.getBeanInfo(type, Object.class).getPropertyDescriptors()) {
+                if (property.getReadMethod() != null) {
+                    properties.put(property.getName(), property);
+                }
+            }
+            return properties;
+        } catch (IntrospectionException e) {
+            throw new IllegalStateException("Не удалось получить свойства " + type.getName(), e);
+        }
+    }
+
+    private Object read(PropertyDescriptor property, Object bean) {
+        try {
+            return property.getReadMethod().invoke(bean);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Не удалось прочитать свойство " + property.getName(), e);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.github.vladioeroonda.tasktracker.mapper;
+
+import com.github.vladioeroonda.tasktracker.dto.projection.ProjectView;
+import com.github.vladioeroonda.tasktracker.dto.request.ProjectRequestDto;
+import com.github.vladioeroonda.tasktracker.dto.response.ProjectResponseDto;
+import com.github.vladioeroonda.tasktracker.model.Project;
+import com.github.vladioeroonda.tasktracker.model.Role;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+
+@Component
+public class ProjectMapper {
+    private final UserMapper userMapper;
+
+    public ProjectMapper(UserMapper userMapper) {
+        this.userMapper = userMapper;
+    }
+
+    public Project toEntity(ProjectRequestDto requestDto) {
+        if (requestDto == null) {
+            return null;
+        }
+        Project project = new Project(
+                requestDto.getName(),
+                requestDto.getStatus(),
+                userMapper.toEntity(requestDto.getCustomer()),
+                requestDto.getPrice()
+        );
+        project.setId(requestDto.getId());
+        return project;
+    }
+
+    public ProjectResponseDto toResponse(Project project) {
+        if (project == null) {
+            return null;
+        }
+        return new ProjectResponseDto(
+                project.getId(),
+                project.getName(),
+                project.getStatus(),
+                userMapper.toResponse(project.getCustomer()),
+                project.getPrice()
+        );
+    }
+
+    public ProjectResponseDto toResponse(ProjectView view, Map<Long, Set<Role>> rolesByUserId) {
+        if (view == null) {
+            return null;
+        }
+        return new ProjectResponseDto(
+                view.getId(),
+                view.getName(),
+                view.getStatus(),
+                userMapper.toResponse(
+                        view.getCustomerId(),
+                        view.getCustomerLogin(),
+                        view.getCustomerName(),
+                        view.getCustomerBankAccountId(),
+                        rolesByUserId
+                ),
+                view.getPrice()
+        );
+    }
+}
@@ -0,0 +1,35 @@
+package com.github.vladioeroonda.tasktracker.mapper;
+
+import com.github.vladioeroonda.tasktracker.dto.request.ReleaseRequestDto;
+import com.github.vladioeroonda.tasktracker.dto.response.ReleaseResponseDto;
+import com.github.vladioeroonda.tasktracker.model.Release;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ReleaseMapper {
+
+    public Release toEntity(ReleaseRequestDto requestDto) {
+        if (requestDto == null) {
+            return null;
+        }
+        Release release = new Release(
+                requestDto.getVersion(),
+                requestDto.getStartTime(),
+                requestDto.getFinishTime()
+        );
+        release.setId(requestDto.getId());
+        return release;
+    }
+
+    public ReleaseResponseDto toResponse(Release release) {
+        if (release == null) {
+            return null;
+        }
+        return new ReleaseResponseDto(
+                release.getId(),
+                release.getVersion(),
+                release.getStartTime(),
+                release.getFinishTime()
+        );
+    }
+}
@@ -0,0 +1,105 @@
+package com.github.vladioeroonda.tasktracker.mapper;
+
+import com.github.vladioeroonda.tasktracker.dto.projection.TaskView;
+import com.github.vladioeroonda.tasktracker.dto.request.TaskRequestDto;
+import com.github.vladioeroonda.tasktracker.dto.response.ProjectResponseDto;
+import com.github.vladioeroonda.tasktracker.dto.response.ReleaseResponseDto;
+import com.github.vladioeroonda.tasktracker.dto.response.TaskResponseDto;
+import com.github.vladioeroonda.tasktracker.model.Role;
+import com.github.vladioeroonda.tasktracker.model.Task;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+
+@Component
+public class TaskMapper {
+    private final ProjectMapper projectMapper;
+    private final ReleaseMapper releaseMapper;
+    private final UserMapper userMapper;
+
+    public TaskMapper(ProjectMapper projectMapper, ReleaseMapper releaseMapper, UserMapper userMapper) {
+        this.projectMapper = projectMapper;
+        this.releaseMapper = releaseMapper;
+        this.userMapper = userMapper;
+    }
+
+    public Task toEntity(TaskRequestDto requestDto) {
+        if (requestDto == null) {
+            return null;
+        }
+        return new Task(
+                requestDto.getId(),
+                requestDto.getName(),
+                requestDto.getDescription(),
+                requestDto.getStatus(),
+                projectMapper.toEntity(requestDto.getProject()),
+                releaseMapper.toEntity(requestDto.getRelease()),
+                userMapper.toEntity(requestDto.getAuthor()),
+                userMapper.toEntity(requestDto.getExecutor())
+        );
+    }
+
+    public TaskResponseDto toResponse(Task task) {
+        if (task == null) {
+            return null;
+        }
+        return new TaskResponseDto(
+                task.getId(),
+                task.getName(),
+                task.getDescription(),
+                task.getStatus(),
+                projectMapper.toResponse(task.getProject()),
+                releaseMapper.toResponse(task.getRelease()),
+                userMapper.toResponse(task.getAuthor()),
+                userMapper.toResponse(task.getExecutor())
+        );
+    }
+
+    public TaskResponseDto toResponse(TaskView view, Map<Long, Set<Role>> rolesByUserId) {
+        if (view == null) {
+            return null;
+        }
+        ProjectResponseDto project = new ProjectResponseDto(
+                view.getProjectId(),
+                view.getProjectName(),
+                view.getProjectStatus(),
+                userMapper.toResponse(
+                        view.getCustomerId(),
+                        view.getCustomerLogin(),
+                        view.getCustomerName(),
+                        view.getCustomerBankAccountId(),
+                        rolesByUserId
+                ),
+                view.getProjectPrice()
+        );
+        ReleaseResponseDto release = new ReleaseResponseDto(
+                view.getReleaseId(),
+                view.getReleaseVersion(),
+                view.getReleaseStartTime(),
+                view.getReleaseFinishTime()
+        );
+        return new TaskResponseDto(
+                view.getId(),
+                view.getName(),
+                view.getDescription(),
+                view.getStatus(),
+                project,
+                release,
+                userMapper.toResponse(
+                        view.getAuthorId(),
+                        view.getAuthorLogin(),
+                        view.getAuthorName(),
+                        view.getAuthorBankAccountId(),
+                        rolesByUserId
+                ),
+                userMapper.toResponse(
+                        view.getExecutorId(),
+                        view.getExecutorLogin(),
+                        view.getExecutorName(),
+                        view.getExecutorBankAccountId(),
+                        rolesByUserId
+                )
+        );
+    }
+}
@@ -0,0 +1,62 @@
+package com.github.vladioeroonda.tasktracker.mapper;
+
+import com.github.vladioeroonda.tasktracker.dto.request.UserRequestDto;
+import com.github.vladioeroonda.tasktracker.dto.response.UserResponseDto;
+import com.github.vladioeroonda.tasktracker.model.Role;
+import com.github.vladioeroonda.tasktracker.model.User;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+@Component
+public class UserMapper {
+
+    public User toEntity(UserRequestDto requestDto) {
+        if (requestDto == null) {
+            return null;
+        }
+        User user = new User();
+        user.setId(requestDto.getId());
+        user.setLogin(requestDto.getLogin());
+        user.setPassword(requestDto.getPassword());
+        user.setName(requestDto.getName());
+        user.setBankAccountId(requestDto.getBankAccountId());
+        user.setRoles(requestDto.getRoles() == null ? null : new HashSet<>(requestDto.getRoles()));
+        return user;
+    }
+
+    public UserResponseDto toResponse(User user) {
+        if (user == null) {
+            return null;
+        }
+        UserResponseDto responseDto = new UserResponseDto(
+                user.getId(),
+                user.getLogin(),
+                user.getName(),
+                user.getBankAccountId()
+        );
+        responseDto.setRoles(user.getRoles() == null ? null : new HashSet<>(user.getRoles()));
+        return responseDto;
+    }
+
+    /**
+     * Сборка Пользователя (обёртки) из колонок проекции и заранее загруженных ролей
+     */
+    public UserResponseDto toResponse(
+            Long id,
+            String login,
+            String name,
+            String bankAccountId,
+            Map<Long, Set<Role>> rolesByUserId
+    ) {
+        if (id == null) {
+            return null;
+        }
+        UserResponseDto responseDto = new UserResponseDto(id, login, name, bankAccountId);
+        responseDto.setRoles(new HashSet<>(rolesByUserId.getOrDefault(id, Collections.emptySet())));
+        return responseDto;
+    }
+}
@@ -36,6 +36,8 @@ public class Project implements Serializable {
     private User customer;
     @OneToMany(cascade = CascadeType.ALL, mappedBy = "project", orphanRemoval = true)
     private List<Task> tasks;
+    @Column(name = "idempotency_key", unique = true, updatable = false)
+    private String idempotencyKey;
 
     public Project() {
     }
@@ -104,6 +106,14 @@ public class Project implements Serializable {
         this.price = price;
     }
 
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
     public void addTask(Task task) {
         if (this.tasks == null) {
             this.tasks = new ArrayList<>();
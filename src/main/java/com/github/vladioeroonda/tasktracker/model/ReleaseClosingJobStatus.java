@@ -0,0 +1,5 @@
+package com.github.vladioeroonda.tasktracker.model;
+
+public enum ReleaseClosingJobStatus {
+    QUEUED, RUNNING, DONE, FAILED;
+}
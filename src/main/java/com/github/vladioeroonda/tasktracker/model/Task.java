@@ -9,13 +9,31 @@ import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
+import javax.persistence.NamedSubgraph;
 import javax.persistence.Table;
 import java.io.Serializable;
 import java.util.Objects;
 
 @Entity
 @Table(name = "task", schema = "public")
+@NamedEntityGraph(
+        name = Task.WITH_ASSOCIATIONS_GRAPH,
+        attributeNodes = {
+                @NamedAttributeNode(value = "project", subgraph = "project"),
+                @NamedAttributeNode("release"),
+                @NamedAttributeNode("author"),
+                @NamedAttributeNode("executor")
+        },
+        subgraphs = @NamedSubgraph(name = "project", attributeNodes = @NamedAttributeNode("customer"))
+)
 public class Task implements Serializable {
+    /**
+     * План выборки Задачи вместе с проектом (и его заказчиком), релизом, автором и исполнителем одним запросом
+     */
+    public static final String WITH_ASSOCIATIONS_GRAPH = "Task.withAssociations";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -0,0 +1,10 @@
+package com.github.vladioeroonda.tasktracker.model;
+
+/**
+ * Допустимые варианты сортировки в фильтре задач. Порядок всегда дополняется ID,
+ * поэтому он однозначен и по нему работает курсорная пагинация.
+ * RELEVANCE - по триграммному сходству с искомыми строками (страницы листаются по смещению)
+ */
+public enum TaskFilterSort {
+    NAME, NAME_DESC, ID, ID_DESC, RELEVANCE;
+}
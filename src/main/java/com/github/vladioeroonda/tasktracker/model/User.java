@@ -1,5 +1,6 @@
 package com.github.vladioeroonda.tasktracker.model;
 
+import org.hibernate.annotations.BatchSize;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
@@ -39,6 +40,7 @@ public class User implements UserDetails, Serializable {
     @Column(name = "bank_account_id")
     private String bankAccountId;
     @ElementCollection(targetClass = Role.class, fetch = FetchType.EAGER)
+    @BatchSize(size = 100)
     @CollectionTable(name = "user_role", schema = "public", joinColumns = @JoinColumn(name = "user_id"))
     @Enumerated(EnumType.STRING)
     private Set<Role> roles;
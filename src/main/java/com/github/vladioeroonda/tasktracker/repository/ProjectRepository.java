@@ -1,11 +1,39 @@
 package com.github.vladioeroonda.tasktracker.repository;
 
 
+import com.github.vladioeroonda.tasktracker.dto.projection.ProjectStatusView;
+import com.github.vladioeroonda.tasktracker.dto.projection.ProjectView;
 import com.github.vladioeroonda.tasktracker.model.Project;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Long> {
+    @Query(value =
+            "SELECT new com.github.vladioeroonda.tasktracker.dto.projection.ProjectView(" +
+                    "p.id, p.name, p.status, p.price, c.id, c.login, c.name, c.bankAccountId) " +
+                    "FROM Project p " +
+                    "JOIN p.customer c " +
+                    "WHERE p.id > :id ORDER BY p.id")
+    List<ProjectView> findViewsByIdGreaterThan(@Param("id") Long id, Pageable pageable);
+
+    @Query(value =
+            "SELECT new com.github.vladioeroonda.tasktracker.dto.projection.ProjectView(" +
+                    "p.id, p.name, p.status, p.price, c.id, c.login, c.name, c.bankAccountId) " +
+                    "FROM Project p " +
+                    "JOIN p.customer c " +
+                    "WHERE p.id IN :ids")
+    List<ProjectView> findViewsByIds(@Param("ids") Collection<Long> ids);
+
+    Optional<Project> findByIdempotencyKey(String idempotencyKey);
 
+    @Query(value = "SELECT p.id AS id, p.status AS status FROM Project p WHERE p.id IN :ids")
+    List<ProjectStatusView> findStatusesByIds(@Param("ids") Collection<Long> ids);
 }
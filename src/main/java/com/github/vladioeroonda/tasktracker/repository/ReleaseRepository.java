@@ -1,15 +1,42 @@
 package com.github.vladioeroonda.tasktracker.repository;
 
+import com.github.vladioeroonda.tasktracker.dto.projection.ReleaseFinishTimeView;
+import com.github.vladioeroonda.tasktracker.dto.response.ReleaseResponseDto;
 import com.github.vladioeroonda.tasktracker.model.Release;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ReleaseRepository extends JpaRepository<Release, Long> {
+    @Query(value =
+            "SELECT new com.github.vladioeroonda.tasktracker.dto.response.ReleaseResponseDto(" +
+                    "r.id, r.version, r.startTime, r.finishTime) " +
+                    "FROM Release r " +
+                    "WHERE r.id > :id ORDER BY r.id")
+    List<ReleaseResponseDto> findResponsesByIdGreaterThan(@Param("id") Long id, Pageable pageable);
+
+    @Query(value = "SELECT r.id AS id, r.finishTime AS finishTime FROM Release r WHERE r.id IN :ids")
+    List<ReleaseFinishTimeView> findFinishTimesByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Релиз с блокировкой строки до конца транзакции: фоновое закрытие не пометит его, пока он закрывается здесь
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(value = "SELECT r FROM Release r WHERE r.id = :id")
+    Optional<Release> findByIdForUpdate(@Param("id") Long id);
+
+    @Query(nativeQuery = true, value = "SELECT closing FROM public.release WHERE id = :id")
+    boolean isClosing(@Param("id") Long id);
+
     @Query(value =
             "SELECT DISTINCT r FROM Task t " +
                     "JOIN Project p ON (t.project.id = p.id) " +
@@ -1,22 +1,122 @@
 package com.github.vladioeroonda.tasktracker.repository;
 
+import com.github.vladioeroonda.tasktracker.dto.projection.TaskReferencesView;
+import com.github.vladioeroonda.tasktracker.dto.projection.TaskView;
+import com.github.vladioeroonda.tasktracker.model.Project;
+import com.github.vladioeroonda.tasktracker.model.Release;
 import com.github.vladioeroonda.tasktracker.model.Task;
+import com.github.vladioeroonda.tasktracker.model.TaskStatus;
+import com.github.vladioeroonda.tasktracker.model.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
+    String TASK_VIEW_SELECT =
+            "SELECT new com.github.vladioeroonda.tasktracker.dto.projection.TaskView(" +
+                    "t.id, t.name, t.description, t.status, " +
+                    "p.id, p.name, p.status, p.price, " +
+                    "c.id, c.login, c.name, c.bankAccountId, " +
+                    "r.id, r.version, r.startTime, r.finishTime, " +
+                    "a.id, a.login, a.name, a.bankAccountId, " +
+                    "e.id, e.login, e.name, e.bankAccountId) " +
+                    "FROM Task t " +
+                    "JOIN t.project p " +
+                    "JOIN p.customer c " +
+                    "JOIN t.release r " +
+                    "JOIN t.author a " +
+                    "LEFT JOIN t.executor e ";
+
+    @EntityGraph(value = Task.WITH_ASSOCIATIONS_GRAPH)
+    @Override
+    Optional<Task> findById(Long id);
+
+    /**
+     * Задача с блокировкой строки до конца транзакции: Релиз и статус не изменятся до её удаления
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(value = "SELECT t FROM Task t WHERE t.id = :id")
+    Optional<Task> findByIdForUpdate(@Param("id") Long id);
+
+    @Query(value = TASK_VIEW_SELECT + "WHERE t.id > :id ORDER BY t.id")
+    List<TaskView> findViewsByIdGreaterThan(@Param("id") Long id, Pageable pageable);
+
+    @Query(value = TASK_VIEW_SELECT + "WHERE t.id = :id")
+    Optional<TaskView> findViewById(@Param("id") Long id);
+
+    /**
+     * Все ссылки обновляемой Задачи проверяются за один запрос: каждая таблица присоединяется к единственной строке
+     * через LEFT JOIN, поэтому отсутствующая запись даёт null в своей колонке, а не пустой результат.
+     * Исполнитель может быть не указан: null-параметр Hibernate передаёт как bytea, отсюда приведение через text.
+     * Строка Задачи блокируется (FOR UPDATE в подзапросе - к внешней стороне LEFT JOIN блокировку применить нельзя):
+     * параллельное изменение той же Задачи ждёт коммита и читает уже новые Релиз и статус для счётчиков задач
+     */
+    @Query(nativeQuery = true, value =
+            "SELECT t.id AS taskId, t.project_id AS currentProjectId, t.release_id AS currentReleaseId, " +
+                    "t.status AS currentStatus, " +
+                    "p.id AS projectId, p.status AS projectStatus, " +
+                    "r.id AS releaseId, r.finish_time IS NOT NULL AS releaseClosed, " +
+                    "a.id AS authorId, e.id AS executorId " +
+                    "FROM (SELECT 1) AS one " +
+                    "LEFT JOIN (SELECT id, project_id, release_id, status FROM public.task " +
+                    "WHERE id = :taskId FOR UPDATE) t ON true " +
+                    "LEFT JOIN public.project p ON p.id = :projectId " +
+                    "LEFT JOIN public.release r ON r.id = :releaseId " +
+                    "LEFT JOIN public.\"user\" a ON a.id = :authorId " +
+                    "LEFT JOIN public.\"user\" e ON e.id = CAST(CAST(:executorId AS text) AS integer)")
+    TaskReferencesView findReferences(
+            @Param("taskId") Long taskId,
+            @Param("projectId") Long projectId,
+            @Param("releaseId") Long releaseId,
+            @Param("authorId") Long authorId,
+            @Param("executorId") Long executorId
+    );
+
+    @QueryHints(value = {
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READONLY, value = "true")
+    })
+    @EntityGraph(value = Task.WITH_ASSOCIATIONS_GRAPH)
+    @Query(value = "SELECT t FROM Task t ORDER BY t.id")
+    Stream<Task> streamAllOrderById();
+
+    /**
+     * Обновление полей Задачи одним UPDATE, без предварительной загрузки сущности и её связей.
+     * Связи передаются ссылками (EntityManager.getReference), исполнитель может быть null
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
     @Query(value =
-            "SELECT count(t) FROM Task t " +
-                    "JOIN Release r ON (t.release.id = r.id ) " +
-                    "WHERE r.id= :id " +
-                    "AND t.status NOT IN(com.github.vladioeroonda.tasktracker.model.TaskStatus.DONE, " +
-                    "com.github.vladioeroonda.tasktracker.model.TaskStatus.CANCELLED )")
-    int countUnfinishedTasksByReleaseId(@Param("id") Long id);
+            "UPDATE Task t " +
+                    "SET t.name = :name, t.description = :description, t.status = :status, " +
+                    "t.project = :project, t.release = :release, t.author = :author, t.executor = :executor " +
+                    "WHERE t.id = :id")
+    void updateTask(
+            @Param("id") Long id,
+            @Param("name") String name,
+            @Param("description") String description,
+            @Param("status") TaskStatus status,
+            @Param("project") Project project,
+            @Param("release") Release release,
+            @Param("author") User author,
+            @Param("executor") User executor
+    );
 
     @Modifying
     @Query(value =
@@ -1,13 +1,36 @@
 package com.github.vladioeroonda.tasktracker.repository;
 
+import com.github.vladioeroonda.tasktracker.dto.projection.UserBankAccountView;
+import com.github.vladioeroonda.tasktracker.dto.projection.UserRoleView;
+import com.github.vladioeroonda.tasktracker.dto.response.UserResponseDto;
 import com.github.vladioeroonda.tasktracker.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> getUserByLogin(String login);
     Optional<User> findUserByLoginIgnoreCase(String login);
+    @Query(value =
+            "SELECT new com.github.vladioeroonda.tasktracker.dto.response.UserResponseDto(" +
+                    "u.id, u.login, u.name, u.bankAccountId) " +
+                    "FROM User u " +
+                    "WHERE u.id > :id ORDER BY u.id")
+    List<UserResponseDto> findResponsesByIdGreaterThan(@Param("id") Long id, Pageable pageable);
+
+    @Query(value = "SELECT u.id AS userId, r AS role FROM User u JOIN u.roles r WHERE u.id IN :ids")
+    List<UserRoleView> findRolesByUserIds(@Param("ids") Collection<Long> ids);
+
+    @Query(value = "SELECT u.id FROM User u WHERE u.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query(value = "SELECT u.id AS id, u.bankAccountId AS bankAccountId FROM User u WHERE u.id IN :ids")
+    List<UserBankAccountView> findBankAccountsByIds(@Param("ids") Collection<Long> ids);
 }
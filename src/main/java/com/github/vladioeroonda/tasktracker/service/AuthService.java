@@ -0,0 +1,26 @@
+package com.github.vladioeroonda.tasktracker.service;
+
+import com.github.vladioeroonda.tasktracker.dto.request.LoginRequestDto;
+import com.github.vladioeroonda.tasktracker.dto.response.AccessTokenResponseDto;
+
+/**
+ * Интерфейс входа по логину и паролю
+ */
+public interface AuthService {
+
+    /**
+     * Проверка логина и пароля и выдача токена доступа.
+     * Пароль проверяется (BCrypt) только здесь, дальнейшие запросы передают токен в заголовке
+     * "Authorization: Bearer <токен>" и проверяются по подписи, без обращения к БД.
+     * Срок действия токена задаётся security.token.ttl-seconds файла application.properties.
+     *
+     * Выбрасываемые исключения:
+     *
+     * <li> AuthenticationFailedException:
+     * - если Пользователя с таким логином нет или пароль неверный
+     *
+     * @param requestDto (LoginRequestDto), логин и пароль Пользователя
+     * @return AccessTokenResponseDto - токен доступа, его тип и срок действия в секундах
+     */
+    AccessTokenResponseDto login(LoginRequestDto requestDto);
+}
@@ -1,8 +1,11 @@
 package com.github.vladioeroonda.tasktracker.service;
 
 import com.github.vladioeroonda.tasktracker.dto.request.ProjectRequestDto;
+import com.github.vladioeroonda.tasktracker.dto.response.PageResponseDto;
+import com.github.vladioeroonda.tasktracker.dto.response.ProjectBulkItemResponseDto;
 import com.github.vladioeroonda.tasktracker.dto.response.ProjectResponseDto;
 import com.github.vladioeroonda.tasktracker.model.Project;
+import com.github.vladioeroonda.tasktracker.model.ProjectStatus;
 
 import java.util.List;
 
@@ -12,11 +15,14 @@ import java.util.List;
 public interface ProjectService {
 
     /**
-     * Получение списка всех существующих в БД Проектов.
+     * Получение страницы существующих Проектов (курсорная пагинация по возрастанию ID).
+     * Размер страницы ограничивается значением pagination.max-limit файла application.properties
      *
-     * @return Список всех Проектов (обёрток)
+     * @param after (Long), ID последнего элемента предыдущей страницы (null - с начала списка)
+     * @param limit (Integer), запрошенный размер страницы (null - значение pagination.default-limit)
+     * @return страница Проектов (обёрток) и курсор следующей страницы
      */
-    List<ProjectResponseDto> getAllProjects();
+    PageResponseDto<ProjectResponseDto> getAllProjects(Long after, Integer limit);
 
     /**
      * Получение конкретного Проекта по его ID и возвращение в виде обёртки.
@@ -59,7 +65,22 @@ public interface ProjectService {
     void checkProjectExistsById(Long id);
 
     /**
-     * Добавление нового Проекта
+     * Получение статуса конкретного Проекта по его ID (через кэш справочных данных, без загрузки сущности).
+     * Используется при проверках во время записи Задач.
+     *
+     * Выбрасываемые исключения:
+     *
+     * <li> ProjectNotFoundException:
+     * - если Проекта с указанным ID нет в БД.
+     *
+     * @param id (Long), представляет собой уникальный ID Проекта
+     * @return ProjectStatus - статус Проекта
+     */
+    ProjectStatus getProjectStatusById(Long id);
+
+    /**
+     * Добавление нового Проекта. Если передан ключ идемпотентности и Проект с этим ключом уже добавлен
+     * (повтор запроса клиентом), возвращается добавленный Проект без проверки оплаты и без записи в БД.
      *
      * Выбрасываемые исключения:
      *
@@ -69,10 +90,30 @@ public interface ProjectService {
      * <li> UserNotFoundException:
      * - если Пользователя(Заказчика проекта) с указанным ID нет в БД.
      *
+     * <li> ProjectBadDataException:
+     * - если ключ идемпотентности уже использован для Проекта с другими названием, Заказчиком или ценой.
+     *
      * @param projectRequestDto (ProjectRequestDto), представляет собой новый Проект
+     * @param idempotencyKey    (String), ключ идемпотентности от клиента (null - без защиты от повторов)
      * @return ProjectResponseDto - объект (обёртка) добавленного Проекта
      */
-    ProjectResponseDto addProject(ProjectRequestDto projectRequestDto);
+    ProjectResponseDto addProject(ProjectRequestDto projectRequestDto, String idempotencyKey);
+
+    /**
+     * Пакетное добавление Проектов. Заказчики проверяются одним запросом, оплаты - параллельно
+     * (не больше project.bulk.payment-parallelism проверок одновременно), оплаченные Проекты
+     * сохраняются одним пакетом. Проект, не прошедший проверку, не прерывает добавление остальных.
+     *
+     * Выбрасываемые исключения:
+     *
+     * <li> ProjectBadDataException:
+     * - если в пакете больше Проектов, чем project.bulk.max-size файла application.properties
+     *
+     * @param projectRequestDtos (List), добавляемые Проекты
+     * @return List - итог по каждому Проекту в порядке запроса: CREATED (с добавленным Проектом),
+     * REJECTED (не прошёл проверки) или FAILED (сервис оплаты недоступен), с причиной отказа
+     */
+    List<ProjectBulkItemResponseDto> addProjects(List<ProjectRequestDto> projectRequestDtos);
 
     /**
      * Обновление уже существующего Проекта. P.s. Данный метод не позволяет закрыть Проект.
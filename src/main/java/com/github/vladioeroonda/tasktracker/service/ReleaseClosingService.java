@@ -0,0 +1,46 @@
+package com.github.vladioeroonda.tasktracker.service;
+
+import com.github.vladioeroonda.tasktracker.dto.request.ReleaseClosingRequestDto;
+import com.github.vladioeroonda.tasktracker.dto.response.ReleaseClosingJobResponseDto;
+
+/**
+ * Интерфейс фонового закрытия больших Релизов
+ */
+public interface ReleaseClosingService {
+
+    /**
+     * Запуск фонового закрытия Релиза.
+     * Релиз сразу помечается закрытым (время завершения) и закрывающимся, а незавершённые задачи отменяются
+     * порциями в ограниченном пуле потоков (release.closing.* файла application.properties),
+     * метод возвращает управление сразу. Если время закрытия не указано, используется текущее.
+     *
+     * Выбрасываемые исключения:
+     *
+     * <li> ReleaseNotFoundException:
+     * - если Релиза с указанным ID нет в БД.
+     *
+     * <li> ReleaseClosingException:
+     * - если время закрытия Релиза раньше, чем время создания;
+     * - если Релиз уже закрыт или уже закрывается.
+     *
+     * <li> ReleaseClosingRejectedException:
+     * - если очередь закрытия Релизов заполнена (Релиз остаётся помеченным, запуск можно повторить).
+     *
+     * @param requestDto (ReleaseClosingRequestDto), представляет собой обёртку над запросом на закрытие Релиза
+     * @return ReleaseClosingJobResponseDto - состояние созданного закрытия (статус QUEUED)
+     */
+    ReleaseClosingJobResponseDto startClosing(ReleaseClosingRequestDto requestDto);
+
+    /**
+     * Получение состояния закрытия Релиза: статус, количество отменённых задач и порций
+     *
+     * Выбрасываемые исключения:
+     *
+     * <li> ReleaseNotFoundException:
+     * - если закрытия Релиза с указанным ID нет (или оно уже удалено из истории)
+     *
+     * @param releaseId (Long), ID закрываемого Релиза
+     * @return ReleaseClosingJobResponseDto - состояние закрытия
+     */
+    ReleaseClosingJobResponseDto getClosing(Long releaseId);
+}
@@ -1,8 +1,11 @@
 package com.github.vladioeroonda.tasktracker.service;
 
 import com.github.vladioeroonda.tasktracker.dto.request.ReleaseClosingRequestDto;
+import com.github.vladioeroonda.tasktracker.dto.response.FacetCountResponseDto;
 import com.github.vladioeroonda.tasktracker.dto.response.ReleaseResponseDto;
 
+import java.util.List;
+
 /**
  * Интерфейс описывающий операции управления Релизом (подсчёт задач, закрытие)
  */
@@ -20,6 +23,19 @@ public interface ReleaseManagementService {
      */
     int countUnfinishedTasksByReleaseId(Long id);
 
+    /**
+     * Количество задач заданного через ID Релиза по каждому статусу
+     *
+     * Выбрасываемые исключения:
+     *
+     * <li> ReleaseNotFoundException:
+     * - если Релиза с указанным ID нет в БД.
+     *
+     * @param id (Long), представляет собой уникальный ID Релиза
+     * @return List<FacetCountResponseDto> - статусы и количество задач Релиза с ними
+     */
+    List<FacetCountResponseDto> getTaskCountsByReleaseId(Long id);
+
     /**
      * Закрытие Релиза.
      * Все незакрытые задачи изменят свой статус на "CANCELLED", в качестве релиза у них будет указан тот,
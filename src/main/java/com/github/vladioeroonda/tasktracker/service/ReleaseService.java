@@ -1,6 +1,7 @@
 package com.github.vladioeroonda.tasktracker.service;
 
 import com.github.vladioeroonda.tasktracker.dto.request.ReleaseRequestDto;
+import com.github.vladioeroonda.tasktracker.dto.response.PageResponseDto;
 import com.github.vladioeroonda.tasktracker.dto.response.ReleaseResponseDto;
 import com.github.vladioeroonda.tasktracker.model.Release;
 
@@ -12,11 +13,14 @@ import java.util.List;
 public interface ReleaseService {
 
     /**
-     * Получение списка всех существующих в БД Релизов
+     * Получение страницы существующих Релизов (курсорная пагинация по возрастанию ID).
+     * Размер страницы ограничивается значением pagination.max-limit файла application.properties
      *
-     * @return Список Релизов (обёртку)
+     * @param after (Long), ID последнего элемента предыдущей страницы (null - с начала списка)
+     * @param limit (Integer), запрошенный размер страницы (null - значение pagination.default-limit)
+     * @return страница Релизов (обёрток) и курсор следующей страницы
      */
-    List<ReleaseResponseDto> getAllReleases();
+    PageResponseDto<ReleaseResponseDto> getAllReleases(Long after, Integer limit);
 
     /**
      * Получение конкретного Релиза по его ID и возвращение его в виде обёртки.
@@ -58,6 +62,20 @@ public interface ReleaseService {
      */
     void checkReleaseExistsById(Long id);
 
+    /**
+     * Проверка, закрыт ли конкретный Релиз (через кэш справочных данных, без загрузки сущности).
+     * Используется при проверках во время записи Задач.
+     *
+     * Выбрасываемые исключения:
+     *
+     * <li> ReleaseNotFoundException:
+     * - если Релиза с указанным ID нет в БД.
+     *
+     * @param id (Long), представляет собой уникальный ID Релиза
+     * @return true - если у Релиза указано время завершения
+     */
+    boolean isReleaseClosed(Long id);
+
     /**
      * Добавление нового Релиза
      *
@@ -0,0 +1,68 @@
+package com.github.vladioeroonda.tasktracker.service;
+
+import com.github.vladioeroonda.tasktracker.dto.response.CsvImportJobResponseDto;
+import org.springframework.core.io.Resource;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Интерфейс фоновой загрузки Задач из CSV-файлов
+ */
+public interface TaskCsvImportService {
+
+    /**
+     * Запуск фоновой загрузки Задач из CSV-файла.
+     * Файл сохраняется во временный файл и обрабатывается в ограниченном пуле потоков
+     * (task.csv-import.executor.* файла application.properties), метод возвращает управление сразу.
+     *
+     * Заголовок: 'Name,Description,ProjectId,ReleaseId,AuthorId,ExecutorId', где:
+     * Name - имя задачи (обязательно),
+     * Description - описание Задачи (обязательно),
+     * ProjectId - ID Проекта Задачи (обязательно),
+     * ReleaseId - ID Релиза Задачи (обязательно),
+     * AuthorId - ID Автора Задачи (обязательно),
+     * ExecutorId - ID Исполнителя Задачи (необязательно).
+     *
+     * Строки, не прошедшие разбор или проверки добавления Задачи, не прерывают загрузку,
+     * а попадают в отчёт об ошибках (см. getErrorReport).
+     *
+     * Выбрасываемые исключения:
+     *
+     * <li> WrongFileTypeException:
+     * - если загруженный файл не .csv
+     * <li> CSVParsingException
+     * - если файл не удалось сохранить для обработки
+     * <li> CsvImportRejectedException
+     * - если очередь загрузок заполнена
+     *
+     * @param file (MultipartFile), представляет собой загружаемый CSV-файл
+     * @return CsvImportJobResponseDto - состояние созданной загрузки (статус QUEUED)
+     */
+    CsvImportJobResponseDto startImport(MultipartFile file);
+
+    /**
+     * Получение состояния загрузки: статус, количество сохранённых и ошибочных строк, скорость обработки
+     *
+     * Выбрасываемые исключения:
+     *
+     * <li> CsvImportJobNotFoundException:
+     * - если загрузки с указанным ID нет (или она уже удалена из истории)
+     *
+     * @param id (String), ID загрузки
+     * @return CsvImportJobResponseDto - состояние загрузки
+     */
+    CsvImportJobResponseDto getJob(String id);
+
+    /**
+     * Получение отчёта об ошибочных строках завершённой загрузки в виде CSV-файла
+     * (исходные колонки, номер строки в файле и причина ошибки)
+     *
+     * Выбрасываемые исключения:
+     *
+     * <li> CsvImportJobNotFoundException:
+     * - если загрузки с указанным ID нет, она ещё не завершена или ошибочных строк не было
+     *
+     * @param id (String), ID загрузки
+     * @return Resource - CSV-файл отчёта
+     */
+    Resource getErrorReport(String id);
+}
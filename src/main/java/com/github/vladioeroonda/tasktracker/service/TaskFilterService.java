@@ -1,29 +1,65 @@
 package com.github.vladioeroonda.tasktracker.service;
 
+import com.github.vladioeroonda.tasktracker.dto.request.TaskFilterRequestDto;
+import com.github.vladioeroonda.tasktracker.dto.response.CursorPageResponseDto;
+import com.github.vladioeroonda.tasktracker.dto.response.TaskFacetsResponseDto;
 import com.github.vladioeroonda.tasktracker.dto.response.TaskResponseDto;
-import com.github.vladioeroonda.tasktracker.model.TaskStatus;
+import com.github.vladioeroonda.tasktracker.model.TaskFilterSort;
 
-import java.util.List;
+import java.util.function.Consumer;
 
 public interface TaskFilterService {
 
     /**
-     * Поиск(фильтрация) задач по заданным параметрам
+     * Поиск(фильтрация) задач по заданным параметрам, постранично.
+     * Результаты кэшируются по нормализованным условиям (TaskFilterRequestDto.normalize()) и сбрасываются
+     * при любой записи Задач, Проектов, Релизов и Пользователей.
+     * Имя, описание, название Проекта и имена автора/исполнителя могут быть приблизительными,
+     * статус и версия Релиза должны быть точными.
      *
-     * @param name           (String), представляет собой имя Задачи (может быть приблизительным)
-     * @param description    (String), представляет собой описание Задачи (может быть приблизительным)
-     * @param status         (TaskStatus), представляет собой статус Задачи (должен быть точным)
-     * @param projectName    (String), представляет собой название Проекта (может быть приблизительным)
-     * @param releaseVersion (String), представляет собой версию Релиза (должен быть точным)
-     * @param authorName     (String), представляет собой имя автора Задачи (может быть приблизительным)
-     * @param executorName   (String), представляет собой имя исполнителя Задачи (может быть приблизительным)
-     * @return TaskResponseDto - список Задач (обёрток)
+     * Выбрасываемые исключения:
+     *
+     * <li> TaskBadDataException:
+     * - если курсор after повреждён или получен для другой сортировки.
+     *
+     * @param filter    (TaskFilterRequestDto), условия фильтра
+     * @param sort      (TaskFilterSort), сортировка (одна из допустимых)
+     * @param after     (String), курсор next предыдущей страницы (null - первая страница)
+     * @param limit     (Integer), размер страницы (null - значение по умолчанию)
+     * @param withTotal (boolean), подсчитать ли общее количество подходящих Задач (см. countFilteredTasks)
+     * @return CursorPageResponseDto - страница Задач (обёрток)
+     */
+    CursorPageResponseDto<TaskResponseDto> getFilteredTasks(TaskFilterRequestDto filter,
+                                                            TaskFilterSort sort,
+                                                            String after,
+                                                            Integer limit,
+                                                            boolean withTotal);
+
+    /**
+     * Количество Задач, подходящих под фильтр. Считается отдельным запросом count(*)
+     * и кэшируется по условиям фильтра, поэтому при листании страниц не пересчитывается.
+     *
+     * @param filter (TaskFilterRequestDto), условия фильтра
+     * @return количество Задач
+     */
+    long countFilteredTasks(TaskFilterRequestDto filter);
+
+    /**
+     * Количество отфильтрованных задач в разрезе статусов, Проектов, Релизов и Исполнителей
+     * (вместо отдельного вызова фильтра на каждое значение). Считается запросами GROUP BY
+     * в одной read-only транзакции, значения упорядочены по убыванию количества.
+     *
+     * @param filter (TaskFilterRequestDto), условия фильтра
+     * @return TaskFacetsResponseDto - количества задач по каждому фасету
+     */
+    TaskFacetsResponseDto getFacets(TaskFilterRequestDto filter);
+
+    /**
+     * Потоковая выгрузка задач по заданным параметрам (параметры аналогичны getFilteredTasks).
+     * Задачи читаются из БД курсором в read-only транзакции и передаются потребителю по одной,
+     * поэтому расход памяти не зависит от размера выборки.
+     *
+     * @param consumer (Consumer), получатель очередной Задачи (обёртки)
      */
-    List<TaskResponseDto> getFilteredTasks(String name,
-                                           String description,
-                                           TaskStatus status,
-                                           String projectName,
-                                           String releaseVersion,
-                                           String authorName,
-                                           String executorName);
+    void streamFilteredTasks(TaskFilterRequestDto filter, TaskFilterSort sort, Consumer<TaskResponseDto> consumer);
 }
@@ -29,6 +29,10 @@ public interface TaskManagementService {
      * - если длина имени Задачи меньше, указанного в переменной task.min-length.name файла application.properties
      * - если длина описания Задачи меньше, указанного в переменной task.min-length.name файла application.properties
      * - Если Задача имеет статус отличный от BACKLOG и у неё не указан Исполнитель
+     * - если Задача переносится в уже закрытый Проект или Релиз
+     *
+     * Все ссылки Задачи проверяются одним запросом; если отсутствуют сразу несколько,
+     * выбрасывается исключение первой из них, остальные перечисляются в suppressed.
      *
      *
      * @param taskRequestDto (TaskRequestDto), представляет собой обновляемую Задачу
@@ -1,11 +1,13 @@
 package com.github.vladioeroonda.tasktracker.service;
 
 import com.github.vladioeroonda.tasktracker.dto.request.TaskRequestDto;
+import com.github.vladioeroonda.tasktracker.dto.response.FacetCountResponseDto;
+import com.github.vladioeroonda.tasktracker.dto.response.PageResponseDto;
 import com.github.vladioeroonda.tasktracker.dto.response.TaskResponseDto;
 import com.github.vladioeroonda.tasktracker.model.Task;
-import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Интерфейс основных операций с Задачей
@@ -13,11 +15,23 @@ import java.util.List;
 public interface TaskService {
 
     /**
-     * Получение списка всех существующих Задач
+     * Получение страницы существующих Задач (курсорная пагинация по возрастанию ID).
+     * Размер страницы ограничивается значением pagination.max-limit файла application.properties
      *
-     * @return Список Задач (обёртка)
+     * @param after (Long), ID последнего элемента предыдущей страницы (null - с начала списка)
+     * @param limit (Integer), запрошенный размер страницы (null - значение pagination.default-limit)
+     * @return страница Задач (обёрток) и курсор следующей страницы
      */
-    List<TaskResponseDto> getAllTasks();
+    PageResponseDto<TaskResponseDto> getAllTasks(Long after, Integer limit);
+
+    /**
+     * Потоковая выгрузка всех Задач (по возрастанию ID).
+     * Задачи читаются из БД курсором в read-only транзакции и передаются потребителю по одной,
+     * поэтому расход памяти не зависит от количества Задач.
+     *
+     * @param consumer (Consumer), получатель очередной Задачи (обёртки)
+     */
+    void streamAllTasks(Consumer<TaskResponseDto> consumer);
 
     /**
      * Получение конкретной Задачи по её ID и её возвращение в виде обёртки.
@@ -85,32 +99,6 @@ public interface TaskService {
      */
     TaskResponseDto addTask(TaskRequestDto taskRequestDto);
 
-    /**
-     * Добавление задачи с использованием CSV-файла
-     *
-     * Заголовок: 'Name,Description,ProjectId,ReleaseId,AuthorId,ExecutorId', где:
-     * Name - имя задачи (обязательно),
-     * Description - описание Задачи (обязательно),
-     * ProjectId - ID Проекта Задачи (обязательно),
-     * ReleaseId - ID Релиза Задачи (обязательно),
-     * AuthorId - ID Автора Задачи (обязательно),
-     * ExecutorId - ID Исполнителя Задачи (необязательно).
-     *
-     * Выбрасываемые исключения:
-     *
-     * <li> WrongFileTypeException:
-     * - если загруженный файл не .csv
-     * <li> CSVParsingException
-     * - если есть ошибки при парсе файла
-     *
-     * Так же могут выбрасываться исключения из метода:
-     * @see #addTask(TaskRequestDto)
-     *
-     *
-     * @param file (MultipartFile), представляет собой загружаемый CSV-файл
-     * @return TaskResponseDto -список добавленных Задач (в виде обёрток)
-     */
-    List<TaskResponseDto> addTaskByCsv(MultipartFile file);
 
     /**
      * Удаление конкретной Задачи по её ID
@@ -138,6 +126,19 @@ public interface TaskService {
      */
     int countUnfinishedTasksByReleaseId(Long id);
 
+    /**
+     * Получение количества Задач Релиза по каждому статусу (из счётчиков, без подсчёта задач).
+     *
+     * Выбрасываемые исключения:
+     *
+     * <li> ReleaseNotFoundException:
+     * - если Релиза с указанным ID нет в БД.
+     *
+     * @param id (Long), представляет собой ID Релиза
+     * @return List<FacetCountResponseDto> - количество задач по всем статусам, включая нулевые
+     */
+    List<FacetCountResponseDto> getTaskCountsByReleaseId(Long id);
+
     /**
      * Смена статуса всех задач на Отменён по ID Релиза, к которому они относятся.
      * Используется при закрытии Релиза.
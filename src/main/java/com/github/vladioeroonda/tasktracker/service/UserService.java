@@ -1,10 +1,15 @@
 package com.github.vladioeroonda.tasktracker.service;
 
 import com.github.vladioeroonda.tasktracker.dto.request.UserRequestDto;
+import com.github.vladioeroonda.tasktracker.dto.response.PageResponseDto;
 import com.github.vladioeroonda.tasktracker.dto.response.UserResponseDto;
+import com.github.vladioeroonda.tasktracker.model.Role;
 import com.github.vladioeroonda.tasktracker.model.User;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Интерфейс операций с Пользователем
@@ -12,11 +17,14 @@ import java.util.List;
 public interface UserService {
 
     /**
-     * Получение списка всех существующих в БД Пользователей
+     * Получение страницы существующих Пользователей (курсорная пагинация по возрастанию ID).
+     * Размер страницы ограничивается значением pagination.max-limit файла application.properties
      *
-     * @return Список Пользователей (обёртку)
+     * @param after (Long), ID последнего элемента предыдущей страницы (null - с начала списка)
+     * @param limit (Integer), запрошенный размер страницы (null - значение pagination.default-limit)
+     * @return страница Пользователей (обёрток) и курсор следующей страницы
      */
-    List<UserResponseDto> getAllUsers();
+    PageResponseDto<UserResponseDto> getAllUsers(Long after, Integer limit);
 
     /**
      * Получение конкретного Пользователя по его ID и возвращение его в виде обёртки.
@@ -46,6 +54,15 @@ public interface UserService {
      */
     User getUserByIdAndReturnEntity(Long id);
 
+    /**
+     * Пакетная загрузка ролей нескольких Пользователей одним запросом.
+     * Используется при сборке обёрток из проекций, где роли не выбираются вместе с остальными колонками.
+     *
+     * @param ids (Collection), ID Пользователей
+     * @return Map - роли по ID Пользователя (Пользователи без ролей в Map не попадают)
+     */
+    Map<Long, Set<Role>> getRolesByUserIds(Collection<Long> ids);
+
     /**
      * Проверка на наличие конкретного Пользователя по его ID
      *
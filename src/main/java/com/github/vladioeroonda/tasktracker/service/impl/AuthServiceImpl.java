@@ -0,0 +1,49 @@
+package com.github.vladioeroonda.tasktracker.service.impl;
+
+import com.github.vladioeroonda.tasktracker.config.AccessTokenCodec;
+import com.github.vladioeroonda.tasktracker.dto.request.LoginRequestDto;
+import com.github.vladioeroonda.tasktracker.dto.response.AccessTokenResponseDto;
+import com.github.vladioeroonda.tasktracker.exception.AuthenticationFailedException;
+import com.github.vladioeroonda.tasktracker.service.AuthService;
+import com.github.vladioeroonda.tasktracker.util.Translator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.stereotype.Service;
+
+@Service
+public class AuthServiceImpl implements AuthService {
+    private static final Logger logger = LoggerFactory.getLogger(AuthServiceImpl.class);
+    private static final String TOKEN_TYPE = "Bearer";
+
+    private final DaoAuthenticationProvider daoAuthenticationProvider;
+    private final AccessTokenCodec accessTokenCodec;
+
+    public AuthServiceImpl(DaoAuthenticationProvider daoAuthenticationProvider, AccessTokenCodec accessTokenCodec) {
+        this.daoAuthenticationProvider = daoAuthenticationProvider;
+        this.accessTokenCodec = accessTokenCodec;
+    }
+
+    @Override
+    public AccessTokenResponseDto login(LoginRequestDto requestDto) {
+        logger.info("Вход Пользователя по логину и паролю");
+
+        Authentication authentication;
+        try {
+            authentication = daoAuthenticationProvider.authenticate(
+                    new UsernamePasswordAuthenticationToken(requestDto.getLogin(), requestDto.getPassword())
+            );
+        } catch (AuthenticationException e) {
+            AuthenticationFailedException exception =
+                    new AuthenticationFailedException(Translator.deferred("exception.auth.bad-credentials"));
+            logger.error("{}", exception.lazyMessage(), exception);
+            throw exception;
+        }
+
+        String token = accessTokenCodec.issue(authentication.getName(), authentication.getAuthorities());
+        return new AccessTokenResponseDto(token, TOKEN_TYPE, accessTokenCodec.getTtlSeconds());
+    }
+}
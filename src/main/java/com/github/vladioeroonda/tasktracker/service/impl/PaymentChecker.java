@@ -0,0 +1,176 @@
+package com.github.vladioeroonda.tasktracker.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.vladioeroonda.tasktracker.exception.PaymentServiceUnavailableException;
+import com.github.vladioeroonda.tasktracker.feign.PaymentClient;
+import com.github.vladioeroonda.tasktracker.util.CircuitBreaker;
+import com.github.vladioeroonda.tasktracker.util.Translator;
+import feign.FeignException;
+import feign.RetryableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Проверка оплаты Проекта в сервисе оплаты с ограничением задержки и нагрузки:
+ * <li> таймауты соединения и чтения задаются payment-service.connect-timeout-ms и read-timeout-ms;
+ * <li> одновременно выполняется не больше payment-service.bulkhead.max-concurrent-calls проверок,
+ * остальные ждут свободного места не дольше payment-service.bulkhead.max-wait-ms;
+ * <li> после payment-service.circuit-breaker.failure-threshold ошибок подряд проверки отклоняются сразу
+ * в течение payment-service.circuit-breaker.open-duration-ms (см. {@link CircuitBreaker});
+ * <li> подтверждённая оплата запоминается на payment-service.result-cache.ttl-seconds по ключу
+ * (счёт Заказчика, сумма, комментарий), поэтому повторы того же запроса клиентом не вызывают сервис оплаты
+ * и проходят даже при его недоступности. Отказ в оплате не запоминается: оплата могла поступить позже.
+ *
+ * Ошибки 4xx сервиса оплаты пробрасываются как есть, остальные ошибки и отказы - PaymentServiceUnavailableException.
+ * Время проверок пишется в гистограмму payment.check с тегом outcome, состояние выключателя -
+ * в payment.circuit-breaker.state (0 - замкнут, 1 - разомкнут, 2 - пробный вызов).
+ */
+@Component
+public class PaymentChecker {
+    private static final Logger logger = LoggerFactory.getLogger(PaymentChecker.class);
+
+    private final PaymentClient paymentClient;
+    private final MeterRegistry meterRegistry;
+    private final String devAccountId;
+    private final Semaphore bulkhead;
+    private final long bulkheadMaxWaitMillis;
+    private final CircuitBreaker circuitBreaker;
+    private final Cache<List<Object>, Boolean> paidResults;
+
+    public PaymentChecker(
+            PaymentClient paymentClient,
+            MeterRegistry meterRegistry,
+            @Value("${payment-service.developer-account-id}") String devAccountId,
+            @Value("${payment-service.bulkhead.max-concurrent-calls}") int maxConcurrentCalls,
+            @Value("${payment-service.bulkhead.max-wait-ms}") long bulkheadMaxWaitMillis,
+            @Value("${payment-service.circuit-breaker.failure-threshold}") int failureThreshold,
+            @Value("${payment-service.circuit-breaker.open-duration-ms}") long openDurationMillis,
+            @Value("${payment-service.result-cache.max-size}") long resultCacheMaxSize,
+            @Value("${payment-service.result-cache.ttl-seconds}") long resultCacheTtlSeconds
+    ) {
+        this.paymentClient = paymentClient;
+        this.meterRegistry = meterRegistry;
+        this.devAccountId = devAccountId;
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+        this.bulkheadMaxWaitMillis = bulkheadMaxWaitMillis;
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, Duration.ofMillis(openDurationMillis), Clock.systemUTC());
+        this.paidResults = Caffeine.newBuilder()
+                .maximumSize(resultCacheMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(resultCacheTtlSeconds))
+                .build();
+        meterRegistry.gauge("payment.circuit-breaker.state", circuitBreaker, breaker -> breaker.getState().ordinal());
+    }
+
+    /**
+     * @return true - если оплата от Заказчика поступила
+     */
+    public boolean isPaid(String customerAccountId, BigDecimal amount, String comment) {
+        long start = System.nanoTime();
+
+        List<Object> resultKey = Arrays.asList(
+                customerAccountId, amount == null ? null : amount.stripTrailingZeros(), comment
+        );
+        if (paidResults.getIfPresent(resultKey) != null) {
+            record("cached", start);
+            return true;
+        }
+
+        if (!acquireBulkhead()) {
+            record("bulkhead-full", start);
+            throw unavailable("Превышено число одновременных проверок оплаты", null);
+        }
+        try {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                record("circuit-open", start);
+                throw unavailable("Сервис оплаты отключён после ошибок, проверка отклонена", null);
+            }
+            boolean paid = check(customerAccountId, amount, comment, start);
+            if (paid) {
+                paidResults.put(resultKey, Boolean.TRUE);
+            }
+            return paid;
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    /**
+     * Сброс запомненных подтверждений оплаты
+     */
+    public void invalidateResults() {
+        paidResults.invalidateAll();
+    }
+
+    public CircuitBreaker.State getCircuitBreakerState() {
+        return circuitBreaker.getState();
+    }
+
+    private boolean check(String customerAccountId, BigDecimal amount, String comment, long start) {
+        try {
+            Boolean result = paymentClient.getPaymentCheckResult(customerAccountId, devAccountId, amount, comment);
+            circuitBreaker.onSuccess();
+            boolean paid = Boolean.TRUE.equals(result);
+            record(paid ? "paid" : "not-paid", start);
+            return paid;
+        } catch (FeignException e) {
+            if (e.status() >= 400 && e.status() < 500) {
+                // сервис оплаты доступен, ошибка в самом запросе
+                circuitBreaker.onSuccess();
+                record("client-error", start);
+                throw e;
+            }
+            circuitBreaker.onFailure();
+            record(e instanceof RetryableException ? "unreachable" : "server-error", start);
+            throw unavailable("Ошибка вызова сервиса оплаты", e);
+        } catch (RuntimeException e) {
+            circuitBreaker.onFailure();
+            record("server-error", start);
+            throw unavailable("Ошибка вызова сервиса оплаты", e);
+        }
+    }
+
+    private boolean acquireBulkhead() {
+        try {
+            return bulkhead.tryAcquire(bulkheadMaxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void record(String outcome, long start) {
+        Timer.builder("payment.check")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Отказ пишется в лог одной записью: без причины - только текст, с причиной - вместе с её стеком
+     */
+    private PaymentServiceUnavailableException unavailable(String reason, Throwable cause) {
+        PaymentServiceUnavailableException exception = new PaymentServiceUnavailableException(
+                Translator.deferred("exception.payment-service.unavailable"), cause
+        );
+        if (cause == null) {
+            logger.warn(reason);
+        } else {
+            logger.error("{}", reason, exception);
+        }
+        return exception;
+    }
+}
@@ -0,0 +1,234 @@
+package com.github.vladioeroonda.tasktracker.service.impl;
+
+import com.github.vladioeroonda.tasktracker.dto.projection.ProjectView;
+import com.github.vladioeroonda.tasktracker.dto.projection.UserBankAccountView;
+import com.github.vladioeroonda.tasktracker.dto.request.ProjectRequestDto;
+import com.github.vladioeroonda.tasktracker.dto.request.UserRequestDto;
+import com.github.vladioeroonda.tasktracker.dto.response.ProjectBulkItemResponseDto;
+import com.github.vladioeroonda.tasktracker.mapper.ProjectMapper;
+import com.github.vladioeroonda.tasktracker.model.ProjectBulkItemStatus;
+import com.github.vladioeroonda.tasktracker.model.ProjectStatus;
+import com.github.vladioeroonda.tasktracker.model.Role;
+import com.github.vladioeroonda.tasktracker.repository.ProjectRepository;
+import com.github.vladioeroonda.tasktracker.repository.UserRepository;
+import com.github.vladioeroonda.tasktracker.service.UserService;
+import com.github.vladioeroonda.tasktracker.util.Translator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Пакетное добавление Проектов в три этапа, как и добавление одного Проекта:
+ * <li> Заказчики всех Проектов проверяются одним запросом;
+ * <li> оплаты проверяются параллельно, не больше project.bulk.payment-parallelism проверок одновременно
+ * (на все пакеты сразу), без открытой транзакции;
+ * <li> оплаченные Проекты вставляются одним пакетным JDBC-запросом в короткой транзакции,
+ * где счета Заказчиков перечитываются одним запросом.
+ *
+ * Проект, не прошедший проверку, не прерывает пакет: для каждого Проекта возвращается свой итог.
+ */
+@Component
+public class ProjectBulkCreator {
+    private static final Logger logger = LoggerFactory.getLogger(ProjectBulkCreator.class);
+    private static final String NEXT_PROJECT_IDS =
+            "SELECT nextval('public.project_id_seq') FROM generate_series(1, ?)";
+    private static final String INSERT_PROJECT =
+            "INSERT INTO public.project (id, name, status, price, customer_id) VALUES (?, ?, ?, ?, ?)";
+
+    private final ProjectRepository projectRepository;
+    private final UserRepository userRepository;
+    private final UserService userService;
+    private final ProjectMapper projectMapper;
+    private final PaymentChecker paymentChecker;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor paymentExecutor;
+
+    public ProjectBulkCreator(
+            ProjectRepository projectRepository,
+            UserRepository userRepository,
+            UserService userService,
+            ProjectMapper projectMapper,
+            PaymentChecker paymentChecker,
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            @Value("${project.bulk.payment-parallelism}") int paymentParallelism
+    ) {
+        this.projectRepository = projectRepository;
+        this.userRepository = userRepository;
+        this.userService = userService;
+        this.projectMapper = projectMapper;
+        this.paymentChecker = paymentChecker;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.paymentExecutor = new ThreadPoolTaskExecutor();
+        this.paymentExecutor.setCorePoolSize(paymentParallelism);
+        this.paymentExecutor.setMaxPoolSize(paymentParallelism);
+        this.paymentExecutor.setThreadNamePrefix("project-payment-");
+        this.paymentExecutor.initialize();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        paymentExecutor.shutdown();
+    }
+
+    public List<ProjectBulkItemResponseDto> create(List<ProjectRequestDto> requests) {
+        ProjectBulkItemResponseDto[] results = new ProjectBulkItemResponseDto[requests.size()];
+
+        Map<Long, String> accounts = findBankAccounts(requests);
+        Map<Integer, String> checkedAccounts = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            ProjectRequestDto request = requests.get(i);
+            String rejection = validate(request, accounts);
+            if (rejection != null) {
+                results[i] = rejected(i, rejection);
+            } else {
+                checkedAccounts.put(i, accounts.get(request.getCustomer().getId()));
+            }
+        }
+
+        // сообщения об ошибках проверки оплаты собираются в потоках project-payment-*, язык берётся из запроса
+        LocaleContext localeContext = LocaleContextHolder.getLocaleContext();
+        Map<Integer, CompletableFuture<Boolean>> payments = new LinkedHashMap<>();
+        checkedAccounts.forEach((i, account) -> payments.put(i, CompletableFuture.supplyAsync(
+                () -> isPaid(localeContext, account, requests.get(i)),
+                paymentExecutor
+        )));
+
+        Map<Integer, String> paidAccounts = new LinkedHashMap<>();
+        payments.forEach((i, payment) -> {
+            try {
+                if (payment.join()) {
+                    paidAccounts.put(i, checkedAccounts.get(i));
+                } else {
+                    results[i] = rejected(i, Translator.toLocale("exception.project.bad-data.not-found-payment-info"));
+                }
+            } catch (CompletionException e) {
+                results[i] = new ProjectBulkItemResponseDto(i, ProjectBulkItemStatus.FAILED, null, e.getCause().getMessage());
+            }
+        });
+
+        if (!paidAccounts.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> insert(requests, paidAccounts, results));
+        }
+
+        long created = Arrays.stream(results).filter(result -> result.getStatus() == ProjectBulkItemStatus.CREATED).count();
+        logger.info(String.format("Пакетное добавление Проектов: добавлено %d из %d", created, requests.size()));
+        return Arrays.asList(results);
+    }
+
+    private boolean isPaid(LocaleContext localeContext, String account, ProjectRequestDto request) {
+        LocaleContext previous = LocaleContextHolder.getLocaleContext();
+        LocaleContextHolder.setLocaleContext(localeContext);
+        try {
+            return paymentChecker.isPaid(account, request.getPrice(), request.getName());
+        } finally {
+            LocaleContextHolder.setLocaleContext(previous);
+        }
+    }
+
+    /**
+     * @return причина отказа или null, если Проект можно проверять на оплату
+     */
+    private String validate(ProjectRequestDto request, Map<Long, String> accounts) {
+        if (request.getCustomer() == null || request.getCustomer().getId() == null) {
+            return Translator.toLocale("exception.project.bad-data.customer-is-empty");
+        }
+        if (request.getName() == null || request.getName().isBlank() || request.getPrice() == null) {
+            return Translator.toLocale("exception.project.bad-data.name-or-price-is-empty");
+        }
+        Long customerId = request.getCustomer().getId();
+        if (!accounts.containsKey(customerId)) {
+            return Translator.toLocale("exception.user.not-found-by-id", customerId);
+        }
+        if (accounts.get(customerId) == null) {
+            return Translator.toLocale("exception.project.bad-data.not-found-customer-bank-account-id");
+        }
+        return null;
+    }
+
+    private void insert(List<ProjectRequestDto> requests, Map<Integer, String> paidAccounts, ProjectBulkItemResponseDto[] results) {
+        // оплата проверялась по счёту, который был у Заказчика до проверки
+        Map<Long, String> accounts = findBankAccounts(requests);
+        List<Integer> accepted = new ArrayList<>();
+        paidAccounts.forEach((i, account) -> {
+            if (account.equals(accounts.get(requests.get(i).getCustomer().getId()))) {
+                accepted.add(i);
+            } else {
+                results[i] = rejected(i, Translator.toLocale("exception.project.bad-data.not-found-payment-info"));
+            }
+        });
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        List<Long> ids = jdbcTemplate.queryForList(NEXT_PROJECT_IDS, Long.class, accepted.size());
+        Map<Integer, Long> idsByIndex = new HashMap<>();
+        for (int n = 0; n < accepted.size(); n++) {
+            idsByIndex.put(accepted.get(n), ids.get(n));
+        }
+        jdbcTemplate.batchUpdate(INSERT_PROJECT, accepted, accepted.size(), (statement, i) -> {
+            ProjectRequestDto request = requests.get(i);
+            statement.setLong(1, idsByIndex.get(i));
+            statement.setString(2, request.getName());
+            statement.setString(3, ProjectStatus.IN_PROGRESS.name());
+            statement.setBigDecimal(4, request.getPrice());
+            statement.setLong(5, request.getCustomer().getId());
+        });
+
+        Map<Long, ProjectView> views = new HashMap<>();
+        Set<Long> customerIds = new HashSet<>();
+        projectRepository.findViewsByIds(ids).forEach(view -> {
+            views.put(view.getId(), view);
+            customerIds.add(view.getCustomerId());
+        });
+        Map<Long, Set<Role>> roles = userService.getRolesByUserIds(customerIds);
+        idsByIndex.forEach((i, id) -> results[i] = new ProjectBulkItemResponseDto(
+                i, ProjectBulkItemStatus.CREATED, projectMapper.toResponse(views.get(id), roles), null
+        ));
+    }
+
+    /**
+     * @return банковские счета существующих Заказчиков пакета по их ID (счёт может быть null)
+     */
+    private Map<Long, String> findBankAccounts(List<ProjectRequestDto> requests) {
+        Set<Long> customerIds = new HashSet<>();
+        requests.stream()
+                .map(ProjectRequestDto::getCustomer)
+                .filter(Objects::nonNull)
+                .map(UserRequestDto::getId)
+                .filter(Objects::nonNull)
+                .forEach(customerIds::add);
+        Map<Long, String> accounts = new HashMap<>();
+        if (!customerIds.isEmpty()) {
+            for (UserBankAccountView view : userRepository.findBankAccountsByIds(customerIds)) {
+                accounts.put(view.getId(), view.getBankAccountId());
+            }
+        }
+        return accounts;
+    }
+
+    private static ProjectBulkItemResponseDto rejected(int index, String message) {
+        return new ProjectBulkItemResponseDto(index, ProjectBulkItemStatus.REJECTED, null, message);
+    }
+}
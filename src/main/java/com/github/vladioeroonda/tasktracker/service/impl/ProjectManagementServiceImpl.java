@@ -4,6 +4,7 @@ import com.github.vladioeroonda.tasktracker.dto.request.ProjectClosingRequestDto
 import com.github.vladioeroonda.tasktracker.dto.response.ProjectResponseDto;
 import com.github.vladioeroonda.tasktracker.exception.ProjectClosingException;
 import com.github.vladioeroonda.tasktracker.exception.ProjectNotFoundException;
+import com.github.vladioeroonda.tasktracker.mapper.ProjectMapper;
 import com.github.vladioeroonda.tasktracker.model.Project;
 import com.github.vladioeroonda.tasktracker.model.ProjectStatus;
 import com.github.vladioeroonda.tasktracker.model.Release;
@@ -11,8 +12,8 @@ import com.github.vladioeroonda.tasktracker.repository.ProjectRepository;
 import com.github.vladioeroonda.tasktracker.service.ProjectManagementService;
 import com.github.vladioeroonda.tasktracker.service.ReleaseService;
 import com.github.vladioeroonda.tasktracker.service.TaskService;
+import com.github.vladioeroonda.tasktracker.util.TransactionMemo;
 import com.github.vladioeroonda.tasktracker.util.Translator;
-import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -28,18 +29,27 @@ public class ProjectManagementServiceImpl implements ProjectManagementService {
     private final ProjectRepository projectRepository;
     private final TaskService taskService;
     private final ReleaseService releaseService;
-    private final ModelMapper modelMapper;
+    private final ProjectMapper projectMapper;
+    private final ReferenceDataCache referenceDataCache;
+    private final TaskFilterCache taskFilterCache;
+    private final TransactionMemo transactionMemo;
 
     public ProjectManagementServiceImpl(
             ProjectRepository projectRepository,
             TaskService taskService,
             ReleaseService releaseService,
-            ModelMapper modelMapper
+            ProjectMapper projectMapper,
+            ReferenceDataCache referenceDataCache,
+            TaskFilterCache taskFilterCache,
+            TransactionMemo transactionMemo
     ) {
         this.projectRepository = projectRepository;
         this.taskService = taskService;
         this.releaseService = releaseService;
-        this.modelMapper = modelMapper;
+        this.projectMapper = projectMapper;
+        this.referenceDataCache = referenceDataCache;
+        this.taskFilterCache = taskFilterCache;
+        this.transactionMemo = transactionMemo;
     }
 
     @Transactional
@@ -49,8 +59,8 @@ public class ProjectManagementServiceImpl implements ProjectManagementService {
 
         if (projectRequestDto.getProjectStatus() != ProjectStatus.FINISHED) {
             ProjectClosingException exception =
-                    new ProjectClosingException(Translator.toLocale("exception.project-management.wrong-status"));
-            logger.error(exception.getMessage(), exception);
+                    new ProjectClosingException(Translator.deferred("exception.project-management.wrong-status"));
+            logger.error("{}", exception.lazyMessage(), exception);
             throw exception;
         }
 
@@ -59,15 +69,15 @@ public class ProjectManagementServiceImpl implements ProjectManagementService {
                 .orElseThrow(() -> {
                     ProjectNotFoundException exception =
                             new ProjectNotFoundException(
-                                    String.format(Translator.toLocale("exception.project.not-found-by-id"), projectRequestDto.getId())
+                                    Translator.deferred("exception.project.not-found-by-id", projectRequestDto.getId())
                             );
-                    logger.error(exception.getMessage(), exception);
+                    logger.error("{}", exception.lazyMessage(), exception);
                     return exception;
                 });
 
         if (projectFromBD.getStatus() == ProjectStatus.FINISHED) {
-            ProjectClosingException exception = new ProjectClosingException(Translator.toLocale("exception.project-management.project-already-closed"));
-            logger.error(exception.getMessage(), exception);
+            ProjectClosingException exception = new ProjectClosingException(Translator.deferred("exception.project-management.project-already-closed"));
+            logger.error("{}", exception.lazyMessage(), exception);
             throw exception;
         }
 
@@ -78,18 +88,21 @@ public class ProjectManagementServiceImpl implements ProjectManagementService {
         if (notClosedReleases.size() > 0) {
             ProjectClosingException exception =
                     new ProjectClosingException(
-                            String.format(Translator.toLocale("exception.project-management.not-closed-releases"), notClosedReleases.size())
+                            Translator.deferred("exception.project-management.not-closed-releases", notClosedReleases.size())
                     );
-            logger.error(exception.getMessage(), exception);
+            logger.error("{}", exception.lazyMessage(), exception);
             throw exception;
         }
 
         projectFromBD.setStatus(ProjectStatus.FINISHED);
+        referenceDataCache.evictProject(projectFromBD.getId());
+        taskFilterCache.invalidateAll();
+        transactionMemo.clear();
 
         return convertFromEntityToResponse(projectFromBD);
     }
 
     private ProjectResponseDto convertFromEntityToResponse(Project project) {
-        return modelMapper.map(project, ProjectResponseDto.class);
+        return projectMapper.toResponse(project);
     }
 }
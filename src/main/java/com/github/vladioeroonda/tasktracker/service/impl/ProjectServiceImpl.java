@@ -1,27 +1,37 @@
 package com.github.vladioeroonda.tasktracker.service.impl;
 
+import com.github.vladioeroonda.tasktracker.dto.projection.ProjectView;
 import com.github.vladioeroonda.tasktracker.dto.request.ProjectRequestDto;
+import com.github.vladioeroonda.tasktracker.dto.response.PageResponseDto;
+import com.github.vladioeroonda.tasktracker.dto.response.ProjectBulkItemResponseDto;
 import com.github.vladioeroonda.tasktracker.dto.response.ProjectResponseDto;
 import com.github.vladioeroonda.tasktracker.exception.ProjectBadDataException;
 import com.github.vladioeroonda.tasktracker.exception.ProjectNotFoundException;
-import com.github.vladioeroonda.tasktracker.feign.PaymentClient;
+import com.github.vladioeroonda.tasktracker.mapper.ProjectMapper;
 import com.github.vladioeroonda.tasktracker.model.Project;
 import com.github.vladioeroonda.tasktracker.model.ProjectStatus;
+import com.github.vladioeroonda.tasktracker.model.Role;
 import com.github.vladioeroonda.tasktracker.model.User;
 import com.github.vladioeroonda.tasktracker.repository.ProjectRepository;
 import com.github.vladioeroonda.tasktracker.service.ProjectService;
 import com.github.vladioeroonda.tasktracker.service.UserService;
+import com.github.vladioeroonda.tasktracker.util.KeysetPaginator;
+import com.github.vladioeroonda.tasktracker.util.TransactionMemo;
 import com.github.vladioeroonda.tasktracker.util.Translator;
-import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class ProjectServiceImpl implements ProjectService {
@@ -29,95 +39,178 @@ public class ProjectServiceImpl implements ProjectService {
 
     private final ProjectRepository projectRepository;
     private final UserService userService;
-    private final ModelMapper modelMapper;
-    private final PaymentClient paymentClient;
+    private final ProjectMapper projectMapper;
+    private final KeysetPaginator keysetPaginator;
+    private final PaymentChecker paymentChecker;
+    private final ReferenceDataCache referenceDataCache;
+    private final TaskFilterCache taskFilterCache;
+    private final ReleaseTaskCounter releaseTaskCounter;
+    private final TransactionMemo transactionMemo;
+    private final TransactionTemplate transactionTemplate;
+    private final ProjectBulkCreator projectBulkCreator;
 
-    @Value("${payment-service.developer-account-id}")
-    private String devAccountId;
+    @Value("${project.bulk.max-size}")
+    private int bulkMaxSize;
 
     public ProjectServiceImpl(
             ProjectRepository projectRepository,
             UserService userService,
-            ModelMapper modelMapper,
-            PaymentClient paymentClient
+            ProjectMapper projectMapper,
+            KeysetPaginator keysetPaginator,
+            PaymentChecker paymentChecker,
+            ReferenceDataCache referenceDataCache,
+            TaskFilterCache taskFilterCache,
+            ReleaseTaskCounter releaseTaskCounter,
+            TransactionMemo transactionMemo,
+            TransactionTemplate transactionTemplate,
+            ProjectBulkCreator projectBulkCreator
     ) {
         this.projectRepository = projectRepository;
         this.userService = userService;
-        this.modelMapper = modelMapper;
-        this.paymentClient = paymentClient;
+        this.projectMapper = projectMapper;
+        this.keysetPaginator = keysetPaginator;
+        this.paymentChecker = paymentChecker;
+        this.referenceDataCache = referenceDataCache;
+        this.taskFilterCache = taskFilterCache;
+        this.releaseTaskCounter = releaseTaskCounter;
+        this.transactionMemo = transactionMemo;
+        this.transactionTemplate = transactionTemplate;
+        this.projectBulkCreator = projectBulkCreator;
     }
 
     @Transactional
     @Override
-    public List<ProjectResponseDto> getAllProjects() {
+    public PageResponseDto<ProjectResponseDto> getAllProjects(Long after, Integer limit) {
         logger.info("Получение списка всех Проектов");
 
-        List<Project> projects = projectRepository.findAll();
-        return projects.stream()
-                .map(entity -> convertFromEntityToResponse(entity))
-                .collect(Collectors.toList()
-                );
+        int pageLimit = keysetPaginator.resolveLimit(limit);
+        List<ProjectView> projects = projectRepository.findViewsByIdGreaterThan(
+                keysetPaginator.resolveAfter(after),
+                keysetPaginator.probe(pageLimit)
+        );
+        Set<Long> customerIds = new HashSet<>();
+        projects.forEach(project -> customerIds.add(project.getCustomerId()));
+        Map<Long, Set<Role>> roles = userService.getRolesByUserIds(customerIds);
+
+        return keysetPaginator.toPage(projects, pageLimit, ProjectView::getId, view -> projectMapper.toResponse(view, roles));
     }
 
     @Transactional
     @Override
     public ProjectResponseDto getProjectByIdAndReturnResponseDto(Long id) {
-        logger.info(String.format("Получение Проекта с id #%d", id));
+        return transactionMemo.get("ProjectService.getProjectByIdAndReturnResponseDto", id, () -> {
+            logger.info(String.format("Получение Проекта с id #%d", id));
 
-        Project project = projectRepository
-                .findById(id)
-                .orElseThrow(() -> {
-                    ProjectNotFoundException exception =
-                            new ProjectNotFoundException(String.format(Translator.toLocale("exception.project.not-found-by-id"), id));
-                    logger.error(exception.getMessage(), exception);
-                    return exception;
-                });
+            Project project = projectRepository
+                    .findById(id)
+                    .orElseThrow(() -> {
+                        ProjectNotFoundException exception =
+                                new ProjectNotFoundException(Translator.deferred("exception.project.not-found-by-id", id));
+                        logger.error("{}", exception.lazyMessage(), exception);
+                        return exception;
+                    });
 
-        return convertFromEntityToResponse(project);
+            return convertFromEntityToResponse(project);
+        });
     }
 
     @Transactional
     @Override
     public Project getProjectByIdAndReturnEntity(Long id) {
-        return projectRepository
+        return transactionMemo.get("ProjectService.getProjectByIdAndReturnEntity", id, () -> projectRepository
                 .findById(id)
                 .orElseThrow(() -> {
                     ProjectNotFoundException exception =
-                            new ProjectNotFoundException(String.format(Translator.toLocale("exception.project.not-found-by-id"), id));
-                    logger.error(exception.getMessage(), exception);
+                            new ProjectNotFoundException(Translator.deferred("exception.project.not-found-by-id", id));
+                    logger.error("{}", exception.lazyMessage(), exception);
                     return exception;
-                });
+                }));
     }
 
     @Transactional
     @Override
     public void checkProjectExistsById(Long id) {
-        if (projectRepository.findById(id).isEmpty()) {
-            ProjectNotFoundException exception =
-                    new ProjectNotFoundException(String.format(Translator.toLocale("exception.project.not-found-by-id"), id));
-            logger.error(exception.getMessage(), exception);
-            throw exception;
-        }
+        getProjectStatusById(id);
     }
 
-    @Transactional
     @Override
-    public ProjectResponseDto addProject(ProjectRequestDto projectRequestDto) {
+    public ProjectStatus getProjectStatusById(Long id) {
+        return transactionMemo.get("ProjectService.getProjectStatusById", id, () -> referenceDataCache
+                .getProjectStatus(id)
+                .orElseThrow(() -> {
+                    ProjectNotFoundException exception =
+                            new ProjectNotFoundException(Translator.deferred("exception.project.not-found-by-id", id));
+                    logger.error("{}", exception.lazyMessage(), exception);
+                    return exception;
+                }));
+    }
+
+    /**
+     * Без общей транзакции: проверка оплаты в сервисе оплаты может идти секунды, и соединение с БД
+     * на это время не удерживается. Заказчик читается до проверки, а Проект сохраняется после неё
+     * в отдельной короткой транзакции, где Заказчик читается повторно.
+     * Повтор с уже использованным ключом идемпотентности возвращает Проект, добавленный первым запросом
+     */
+    @Override
+    public ProjectResponseDto addProject(ProjectRequestDto projectRequestDto, String idempotencyKey) {
         logger.info("Добавление нового Проекта");
 
+        if (idempotencyKey != null) {
+            Optional<ProjectResponseDto> addedProject = findProjectAddedByKey(projectRequestDto, idempotencyKey);
+            if (addedProject.isPresent()) {
+                return addedProject.get();
+            }
+        }
+
         if (Objects.isNull(projectRequestDto.getCustomer())) {
             ProjectBadDataException exception =
-                    new ProjectBadDataException(Translator.toLocale("exception.project.bad-data.customer-is-empty"));
-            logger.error(exception.getMessage(), exception);
+                    new ProjectBadDataException(Translator.deferred("exception.project.bad-data.customer-is-empty"));
+            logger.error("{}", exception.lazyMessage(), exception);
             throw exception;
         }
 
+        Long customerId = projectRequestDto.getCustomer().getId();
+        String customerAccountId = userService.getUserByIdAndReturnEntity(customerId).getBankAccountId();
+
+        if (Objects.isNull(customerAccountId)) {
+            ProjectBadDataException exception =
+                    new ProjectBadDataException(Translator.deferred("exception.project.bad-data.not-found-customer-bank-account-id"));
+            logger.error("{}", exception.lazyMessage(), exception);
+            throw exception;
+        }
+
+        boolean isPaid = paymentChecker.isPaid(
+                customerAccountId,
+                projectRequestDto.getPrice(),
+                projectRequestDto.getName());
+
+        try {
+            return transactionTemplate.execute(status -> saveProject(projectRequestDto, idempotencyKey, customerAccountId, isPaid));
+        } catch (DataIntegrityViolationException e) {
+            // параллельный повтор с тем же ключом идемпотентности успел добавить Проект первым
+            if (idempotencyKey != null) {
+                Optional<ProjectResponseDto> addedProject = findProjectAddedByKey(projectRequestDto, idempotencyKey);
+                if (addedProject.isPresent()) {
+                    return addedProject.get();
+                }
+            }
+            throw e;
+        }
+    }
+
+    private ProjectResponseDto saveProject(
+            ProjectRequestDto projectRequestDto,
+            String idempotencyKey,
+            String customerAccountId,
+            boolean isPaid
+    ) {
         User customer = userService.getUserByIdAndReturnEntity(projectRequestDto.getCustomer().getId());
 
-        if (Objects.isNull(customer.getBankAccountId())) {
+        // оплата проверялась по счёту, который был у Заказчика до проверки
+        if (!isPaid || !customerAccountId.equals(customer.getBankAccountId())) {
             ProjectBadDataException exception =
-                    new ProjectBadDataException(Translator.toLocale("exception.project.bad-data.not-found-customer-bank-account-id"));
-            logger.error(exception.getMessage(), exception);
+                    new ProjectBadDataException(Translator.deferred("exception.project.bad-data.not-found-payment-info"));
+            logger.error("{}", exception.lazyMessage(), exception);
             throw exception;
         }
 
@@ -125,22 +218,49 @@ public class ProjectServiceImpl implements ProjectService {
         projectForSave.setId(null);
         projectForSave.setStatus(ProjectStatus.IN_PROGRESS);
         projectForSave.setCustomer(customer);
+        projectForSave.setIdempotencyKey(idempotencyKey);
 
-        boolean isPaid = paymentClient.getPaymentCheckResult(
-                projectForSave.getCustomer().getBankAccountId(),
-                devAccountId,
-                projectRequestDto.getPrice(),
-                projectRequestDto.getName());
+        Project savedProject = projectRepository.save(projectForSave);
+        return convertFromEntityToResponse(savedProject);
+    }
 
-        if (!isPaid) {
-            ProjectBadDataException exception =
-                    new ProjectBadDataException(Translator.toLocale("exception.project.bad-data.not-found-payment-info"));
-            logger.error(exception.getMessage(), exception);
+    /**
+     * @return Проект, уже добавленный с этим ключом идемпотентности, или пустой Optional
+     */
+    private Optional<ProjectResponseDto> findProjectAddedByKey(ProjectRequestDto projectRequestDto, String idempotencyKey) {
+        return transactionTemplate.execute(status -> projectRepository
+                .findByIdempotencyKey(idempotencyKey)
+                .map(project -> {
+                    boolean sameProject = Objects.equals(project.getName(), projectRequestDto.getName())
+                            && Objects.nonNull(projectRequestDto.getCustomer())
+                            && Objects.equals(project.getCustomer().getId(), projectRequestDto.getCustomer().getId())
+                            && Objects.nonNull(projectRequestDto.getPrice())
+                            && project.getPrice().compareTo(projectRequestDto.getPrice()) == 0;
+                    if (!sameProject) {
+                        ProjectBadDataException exception = new ProjectBadDataException(
+                                Translator.deferred("exception.project.bad-data.idempotency-key-reused")
+                        );
+                        logger.error("{}", exception.lazyMessage(), exception);
+                        throw exception;
+                    }
+                    logger.info(String.format("Повтор добавления Проекта с id #%d по ключу идемпотентности", project.getId()));
+                    return convertFromEntityToResponse(project);
+                }));
+    }
+
+    @Override
+    public List<ProjectBulkItemResponseDto> addProjects(List<ProjectRequestDto> projectRequestDtos) {
+        logger.info(String.format("Пакетное добавление Проектов: %d", projectRequestDtos.size()));
+
+        if (projectRequestDtos.size() > bulkMaxSize) {
+            ProjectBadDataException exception = new ProjectBadDataException(
+                    Translator.deferred("exception.project.bad-data.bulk-too-large", bulkMaxSize)
+            );
+            logger.error("{}", exception.lazyMessage(), exception);
             throw exception;
         }
 
-        Project savedProject = projectRepository.save(projectForSave);
-        return convertFromEntityToResponse(savedProject);
+        return projectBulkCreator.create(projectRequestDtos);
     }
 
     @Transactional
@@ -150,8 +270,8 @@ public class ProjectServiceImpl implements ProjectService {
 
         if (projectRequestDto.getStatus() == ProjectStatus.FINISHED) {
             ProjectBadDataException exception =
-                    new ProjectBadDataException(Translator.toLocale("exception.project.bad-data.wrong-status"));
-            logger.error(exception.getMessage(), exception);
+                    new ProjectBadDataException(Translator.deferred("exception.project.bad-data.wrong-status"));
+            logger.error("{}", exception.lazyMessage(), exception);
             throw exception;
         }
 
@@ -160,9 +280,9 @@ public class ProjectServiceImpl implements ProjectService {
                 .orElseThrow(() -> {
                     ProjectNotFoundException exception =
                             new ProjectNotFoundException(
-                                    String.format(Translator.toLocale("exception.project.not-found-by-id"), projectRequestDto.getId())
+                                    Translator.deferred("exception.project.not-found-by-id", projectRequestDto.getId())
                             );
-                    logger.error(exception.getMessage(), exception);
+                    logger.error("{}", exception.lazyMessage(), exception);
                     return exception;
                 });
 
@@ -173,6 +293,9 @@ public class ProjectServiceImpl implements ProjectService {
         projectForSave.setCustomer(customer);
 
         Project updatedProject = projectRepository.save(projectForSave);
+        referenceDataCache.evictProject(updatedProject.getId());
+        taskFilterCache.invalidateAll();
+        transactionMemo.clear();
         return convertFromEntityToResponse(updatedProject);
     }
 
@@ -185,18 +308,23 @@ public class ProjectServiceImpl implements ProjectService {
                 .findById(id)
                 .orElseThrow(() -> {
                     ProjectNotFoundException exception =
-                            new ProjectNotFoundException(String.format(Translator.toLocale("exception.project.not-found-by-id"), id));
-                    logger.error(exception.getMessage(), exception);
+                            new ProjectNotFoundException(Translator.deferred("exception.project.not-found-by-id", id));
+                    logger.error("{}", exception.lazyMessage(), exception);
                     return exception;
                 });
+        // задачи Проекта удаляются каскадом, поэтому вычитаются из счётчиков Релизов заранее
+        releaseTaskCounter.subtractTasksOfProject(id);
         projectRepository.delete(project);
+        referenceDataCache.evictProject(id);
+        taskFilterCache.invalidateAll();
+        transactionMemo.clear();
     }
 
     private Project convertFromRequestToEntity(ProjectRequestDto requestDto) {
-        return modelMapper.map(requestDto, Project.class);
+        return projectMapper.toEntity(requestDto);
     }
 
     private ProjectResponseDto convertFromEntityToResponse(Project project) {
-        return modelMapper.map(project, ProjectResponseDto.class);
+        return projectMapper.toResponse(project);
     }
 }
@@ -0,0 +1,108 @@
+package com.github.vladioeroonda.tasktracker.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.vladioeroonda.tasktracker.dto.projection.ProjectStatusView;
+import com.github.vladioeroonda.tasktracker.dto.projection.ReleaseFinishTimeView;
+import com.github.vladioeroonda.tasktracker.model.ProjectStatus;
+import com.github.vladioeroonda.tasktracker.repository.ProjectRepository;
+import com.github.vladioeroonda.tasktracker.repository.ReleaseRepository;
+import com.github.vladioeroonda.tasktracker.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Кэш справочных данных, которые проверяются при каждой записи Задачи:
+ * статус Проекта, закрыт ли Релиз и существует ли Пользователь.
+ * Хранятся только эти значения (не сущности), записи вытесняются по размеру и по времени жизни
+ * (reference-cache.* файла application.properties). Отсутствующие ID не кэшируются.
+ *
+ * Сервисы Проектов, Релизов и Пользователей сбрасывают записи при изменении и удалении -
+ * сразу и повторно после коммита транзакции, чтобы параллельное чтение не вернуло в кэш старое значение.
+ */
+@Component
+public class ReferenceDataCache {
+    private final ProjectRepository projectRepository;
+    private final ReleaseRepository releaseRepository;
+    private final UserRepository userRepository;
+
+    private final Cache<Long, ProjectStatus> projectStatuses;
+    private final Cache<Long, Boolean> releaseClosed;
+    private final Cache<Long, Boolean> userExists;
+
+    public ReferenceDataCache(
+            ProjectRepository projectRepository,
+            ReleaseRepository releaseRepository,
+            UserRepository userRepository,
+            @Value("${reference-cache.max-size}") long maxSize,
+            @Value("${reference-cache.ttl-seconds}") long ttlSeconds
+    ) {
+        this.projectRepository = projectRepository;
+        this.releaseRepository = releaseRepository;
+        this.userRepository = userRepository;
+        this.projectStatuses = newCache(maxSize, ttlSeconds);
+        this.releaseClosed = newCache(maxSize, ttlSeconds);
+        this.userExists = newCache(maxSize, ttlSeconds);
+    }
+
+    /**
+     * @return статус Проекта или пустой Optional, если Проекта нет в БД
+     */
+    public Optional<ProjectStatus> getProjectStatus(Long id) {
+        return Optional.ofNullable(projectStatuses.get(id, key -> {
+            List<ProjectStatusView> projects = projectRepository.findStatusesByIds(List.of(key));
+            return projects.isEmpty() ? null : projects.get(0).getStatus();
+        }));
+    }
+
+    /**
+     * @return true - если Релиз закрыт (указано время завершения), пустой Optional - если Релиза нет в БД
+     */
+    public Optional<Boolean> isReleaseClosed(Long id) {
+        return Optional.ofNullable(releaseClosed.get(id, key -> {
+            List<ReleaseFinishTimeView> releases = releaseRepository.findFinishTimesByIds(List.of(key));
+            return releases.isEmpty() ? null : releases.get(0).getFinishTime() != null;
+        }));
+    }
+
+    public boolean userExists(Long id) {
+        return userExists.get(id, key -> userRepository.existsById(key) ? Boolean.TRUE : null) != null;
+    }
+
+    public void evictProject(Long id) {
+        evict(projectStatuses, id);
+    }
+
+    public void evictRelease(Long id) {
+        evict(releaseClosed, id);
+    }
+
+    public void evictUser(Long id) {
+        evict(userExists, id);
+    }
+
+    private void evict(Cache<Long, ?> cache, Long id) {
+        cache.invalidate(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(id);
+                }
+            });
+        }
+    }
+
+    private static <V> Cache<Long, V> newCache(long maxSize, long ttlSeconds) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+}
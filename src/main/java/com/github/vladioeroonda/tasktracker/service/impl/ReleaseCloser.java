@@ -0,0 +1,122 @@
+package com.github.vladioeroonda.tasktracker.service.impl;
+
+import com.github.vladioeroonda.tasktracker.model.TaskStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Закрытие Релиза порциями для больших Релизов.
+ * Релиз сначала помечается закрывающимся (время завершения и признак closing задаются одним UPDATE),
+ * после чего добавить или перенести в него задачу уже нельзя. Затем незавершённые задачи отменяются
+ * порциями по release.closing.chunk-size задач по возрастанию id, каждая порция - в своей транзакции,
+ * поэтому блокировки держатся только на строках порции. После всех порций признак closing снимается.
+ *
+ * Задачу, которую параллельно вернули в работу уже после её порции, подбирает повторный проход с начала Релиза.
+ */
+@Component
+public class ReleaseCloser {
+    private static final Logger logger = LoggerFactory.getLogger(ReleaseCloser.class);
+    private static final String MARK_CLOSING =
+            "UPDATE public.release SET finish_time = ?, closing = true " +
+                    "WHERE id = ? AND (finish_time IS NULL OR closing)";
+    private static final String FINISH_CLOSING = "UPDATE public.release SET closing = false WHERE id = ?";
+    private static final String SELECT_CLOSING_IDS = "SELECT id FROM public.release WHERE closing ORDER BY id";
+    private static final String CANCEL_CHUNK =
+            "WITH chunk AS (" +
+                    "SELECT id, status FROM public.task " +
+                    "WHERE release_id = ? AND id > ? AND status NOT IN ('DONE', 'CANCELLED') " +
+                    "ORDER BY id LIMIT ? FOR UPDATE) " +
+                    "UPDATE public.task t SET status = 'CANCELLED' FROM chunk WHERE t.id = chunk.id " +
+                    "RETURNING t.id, chunk.status";
+
+    @Value("${release.closing.chunk-size}")
+    private int chunkSize;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ReleaseTaskCounter releaseTaskCounter;
+    private final ReferenceDataCache referenceDataCache;
+    private final TaskFilterCache taskFilterCache;
+
+    public ReleaseCloser(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            ReleaseTaskCounter releaseTaskCounter,
+            ReferenceDataCache referenceDataCache,
+            TaskFilterCache taskFilterCache
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.releaseTaskCounter = releaseTaskCounter;
+        this.referenceDataCache = referenceDataCache;
+        this.taskFilterCache = taskFilterCache;
+    }
+
+    /**
+     * Пометка Релиза закрывающимся. Закрытый Релиз повторно не помечается, закрывающийся - помечается
+     * (чтобы продолжить прерванное закрытие)
+     *
+     * @return false - если Релиза нет в БД или он уже закрыт
+     */
+    public boolean markClosing(Long releaseId, LocalDateTime finishTime) {
+        Integer updated = transactionTemplate.execute(status ->
+                jdbcTemplate.update(MARK_CLOSING, Timestamp.valueOf(finishTime), releaseId)
+        );
+        referenceDataCache.evictRelease(releaseId);
+        taskFilterCache.invalidateAll();
+        return updated != null && updated > 0;
+    }
+
+    public List<Long> findClosingReleaseIds() {
+        return jdbcTemplate.queryForList(SELECT_CLOSING_IDS, Long.class);
+    }
+
+    /**
+     * Отмена незавершённых задач помеченного Релиза порциями и снятие признака closing
+     */
+    void cancelTasks(Long releaseId, ReleaseClosingJob job) {
+        for (int pass = 0; pass < 2; pass++) {
+            long after = 0;
+            while (true) {
+                long lastId = after;
+                Long chunkLastId = transactionTemplate.execute(status -> cancelChunk(releaseId, lastId, job));
+                if (chunkLastId == null) {
+                    break;
+                }
+                after = chunkLastId;
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(FINISH_CLOSING, releaseId));
+        logger.debug(String.format("Задачи Релиза с id #%d отменены, порций: %d", releaseId, job.getChunks()));
+    }
+
+    /**
+     * @return id последней отменённой задачи порции или null, если отменять больше нечего
+     */
+    private Long cancelChunk(Long releaseId, long after, ReleaseClosingJob job) {
+        Map<TaskStatus, Long> cancelledByStatus = new EnumMap<>(TaskStatus.class);
+        long[] lastId = {0};
+        jdbcTemplate.query(CANCEL_CHUNK, resultSet -> {
+            lastId[0] = Math.max(lastId[0], resultSet.getLong("id"));
+            cancelledByStatus.merge(TaskStatus.valueOf(resultSet.getString("status")), 1L, Long::sum);
+        }, releaseId, after, chunkSize);
+
+        if (cancelledByStatus.isEmpty()) {
+            return null;
+        }
+        releaseTaskCounter.tasksCancelled(releaseId, cancelledByStatus);
+        taskFilterCache.invalidateAll();
+        job.onChunkCancelled(cancelledByStatus.values().stream().mapToLong(Long::longValue).sum());
+        return lastId[0];
+    }
+}
@@ -0,0 +1,65 @@
+package com.github.vladioeroonda.tasktracker.service.impl;
+
+import com.github.vladioeroonda.tasktracker.dto.response.ReleaseClosingJobResponseDto;
+import com.github.vladioeroonda.tasktracker.model.ReleaseClosingJobStatus;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Состояние фонового закрытия одного Релиза: количество отменённых задач и порций, время обработки.
+ * Счётчики обновляет поток закрытия, а читают запросы статуса.
+ */
+class ReleaseClosingJob {
+    private final Long releaseId;
+    private final AtomicLong tasksCancelled = new AtomicLong();
+    private final AtomicLong chunks = new AtomicLong();
+    private volatile ReleaseClosingJobStatus status = ReleaseClosingJobStatus.QUEUED;
+    private volatile LocalDateTime startTime;
+    private volatile LocalDateTime finishTime;
+    private volatile String message;
+
+    ReleaseClosingJob(Long releaseId) {
+        this.releaseId = releaseId;
+    }
+
+    void onChunkCancelled(long count) {
+        tasksCancelled.addAndGet(count);
+        chunks.incrementAndGet();
+    }
+
+    void start() {
+        startTime = LocalDateTime.now();
+        status = ReleaseClosingJobStatus.RUNNING;
+    }
+
+    void finish(ReleaseClosingJobStatus finalStatus, String failureMessage) {
+        finishTime = LocalDateTime.now();
+        message = failureMessage;
+        status = finalStatus;
+    }
+
+    boolean isFinished() {
+        return status == ReleaseClosingJobStatus.DONE || status == ReleaseClosingJobStatus.FAILED;
+    }
+
+    Long getReleaseId() {
+        return releaseId;
+    }
+
+    long getChunks() {
+        return chunks.get();
+    }
+
+    ReleaseClosingJobResponseDto toResponse() {
+        return new ReleaseClosingJobResponseDto(
+                releaseId,
+                status,
+                tasksCancelled.get(),
+                chunks.get(),
+                startTime,
+                finishTime,
+                message
+        );
+    }
+}
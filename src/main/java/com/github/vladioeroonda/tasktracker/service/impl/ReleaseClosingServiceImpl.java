@@ -0,0 +1,199 @@
+package com.github.vladioeroonda.tasktracker.service.impl;
+
+import com.github.vladioeroonda.tasktracker.dto.request.ReleaseClosingRequestDto;
+import com.github.vladioeroonda.tasktracker.dto.response.ReleaseClosingJobResponseDto;
+import com.github.vladioeroonda.tasktracker.exception.ReleaseClosingException;
+import com.github.vladioeroonda.tasktracker.exception.ReleaseClosingRejectedException;
+import com.github.vladioeroonda.tasktracker.exception.ReleaseNotFoundException;
+import com.github.vladioeroonda.tasktracker.model.Release;
+import com.github.vladioeroonda.tasktracker.model.ReleaseClosingJobStatus;
+import com.github.vladioeroonda.tasktracker.repository.ReleaseRepository;
+import com.github.vladioeroonda.tasktracker.service.ReleaseClosingService;
+import com.github.vladioeroonda.tasktracker.util.Translator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Service
+public class ReleaseClosingServiceImpl implements ReleaseClosingService {
+    private static final Logger logger = LoggerFactory.getLogger(ReleaseClosingServiceImpl.class);
+
+    private final ReleaseRepository releaseRepository;
+    private final ReleaseCloser releaseCloser;
+    private final ThreadPoolTaskExecutor executor;
+    private final int historySize;
+    /**
+     * Закрытия по ID Релиза в порядке создания; завершённые сверх release.closing.jobs.history-size удаляются
+     */
+    private final Map<Long, ReleaseClosingJob> jobs = new LinkedHashMap<>();
+
+    public ReleaseClosingServiceImpl(
+            ReleaseRepository releaseRepository,
+            ReleaseCloser releaseCloser,
+            @Value("${release.closing.executor.threads}") int threads,
+            @Value("${release.closing.executor.queue-capacity}") int queueCapacity,
+            @Value("${release.closing.jobs.history-size}") int historySize
+    ) {
+        this.releaseRepository = releaseRepository;
+        this.releaseCloser = releaseCloser;
+        this.historySize = historySize;
+        // собственный пул, а не бин Executor: иначе Spring Boot не создаст общий applicationTaskExecutor
+        this.executor = new ThreadPoolTaskExecutor();
+        this.executor.setCorePoolSize(threads);
+        this.executor.setMaxPoolSize(threads);
+        this.executor.setQueueCapacity(queueCapacity);
+        this.executor.setThreadNamePrefix("release-closing-");
+        this.executor.initialize();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Продолжение закрытий, прерванных остановкой приложения: такие Релизы остались помеченными в БД
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeClosings() {
+        for (Long releaseId : releaseCloser.findClosingReleaseIds()) {
+            logger.info(String.format("Продолжение закрытия Релиза с id #%d", releaseId));
+            ReleaseClosingJob job = new ReleaseClosingJob(releaseId);
+            synchronized (jobs) {
+                jobs.put(releaseId, job);
+            }
+            try {
+                executor.execute(() -> runClosing(null, job));
+            } catch (TaskRejectedException e) {
+                String message = Translator.toLocale("exception.release-management.closing-rejected");
+                logger.error(message, e);
+                job.finish(ReleaseClosingJobStatus.FAILED, message);
+            }
+        }
+    }
+
+    @Override
+    public ReleaseClosingJobResponseDto startClosing(ReleaseClosingRequestDto requestDto) {
+        logger.info(String.format("Фоновое закрытие Релиза с id #%d", requestDto.getId()));
+
+        Release release = releaseRepository
+                .findById(requestDto.getId())
+                .orElseThrow(() -> {
+                    ReleaseNotFoundException exception =
+                            new ReleaseNotFoundException(Translator.deferred("exception.release.not-found-by-id", requestDto.getId()));
+                    logger.error("{}", exception.lazyMessage(), exception);
+                    return exception;
+                });
+
+        LocalDateTime finishTime = requestDto.getFinishTime() == null ? LocalDateTime.now() : requestDto.getFinishTime();
+        if (release.getStartTime() != null && finishTime.isBefore(release.getStartTime())) {
+            ReleaseClosingException exception =
+                    new ReleaseClosingException(Translator.deferred("exception.release-management.wrong-closing-time"));
+            logger.error("{}", exception.lazyMessage(), exception);
+            throw exception;
+        }
+
+        ReleaseClosingJob job = new ReleaseClosingJob(release.getId());
+        synchronized (jobs) {
+            ReleaseClosingJob current = jobs.get(release.getId());
+            if (current != null && !current.isFinished()) {
+                ReleaseClosingException exception = new ReleaseClosingException(
+                        Translator.deferred("exception.release-management.already-closing", release.getId())
+                );
+                logger.error("{}", exception.lazyMessage(), exception);
+                throw exception;
+            }
+            if (!releaseCloser.markClosing(release.getId(), finishTime)) {
+                ReleaseClosingException exception = new ReleaseClosingException(
+                        Translator.deferred("exception.release-management.already-closed", release.getId())
+                );
+                logger.error("{}", exception.lazyMessage(), exception);
+                throw exception;
+            }
+            removeOldJobs();
+            jobs.put(release.getId(), job);
+        }
+
+        // сообщение об ошибке закрытия собирается в потоке release-closing-*, язык берётся из запроса
+        LocaleContext localeContext = LocaleContextHolder.getLocaleContext();
+        try {
+            executor.execute(() -> runClosing(localeContext, job));
+        } catch (TaskRejectedException e) {
+            synchronized (jobs) {
+                jobs.remove(release.getId());
+            }
+            ReleaseClosingRejectedException exception =
+                    new ReleaseClosingRejectedException(Translator.toLocale("exception.release-management.closing-rejected"), e);
+            logger.error(exception.getMessage(), exception);
+            throw exception;
+        }
+
+        logger.debug(String.format("Закрытие Релиза с id #%d поставлено в очередь", release.getId()));
+        return job.toResponse();
+    }
+
+    @Override
+    public ReleaseClosingJobResponseDto getClosing(Long releaseId) {
+        logger.info(String.format("Получение состояния закрытия Релиза с id #%d", releaseId));
+
+        ReleaseClosingJob job;
+        synchronized (jobs) {
+            job = jobs.get(releaseId);
+        }
+        if (job == null) {
+            ReleaseNotFoundException exception = new ReleaseNotFoundException(
+                    Translator.deferred("exception.release-management.closing-not-found", releaseId)
+            );
+            logger.error("{}", exception.lazyMessage(), exception);
+            throw exception;
+        }
+        return job.toResponse();
+    }
+
+    /**
+     * Подробности ошибки закрытия пишутся только в лог, в состояние закрытия - общее сообщение
+     */
+    private void runClosing(LocaleContext localeContext, ReleaseClosingJob job) {
+        logger.info(String.format("Начало закрытия Релиза с id #%d", job.getReleaseId()));
+        LocaleContext previous = LocaleContextHolder.getLocaleContext();
+        LocaleContextHolder.setLocaleContext(localeContext);
+        job.start();
+        try {
+            releaseCloser.cancelTasks(job.getReleaseId(), job);
+            job.finish(ReleaseClosingJobStatus.DONE, null);
+        } catch (Exception e) {
+            logger.error(e.getMessage(), e);
+            job.finish(
+                    ReleaseClosingJobStatus.FAILED,
+                    Translator.toLocale("exception.release-management.closing-failed", job.getReleaseId())
+            );
+        } finally {
+            LocaleContextHolder.setLocaleContext(previous);
+        }
+        logger.info(String.format("Закрытие Релиза с id #%d завершено", job.getReleaseId()));
+    }
+
+    private void removeOldJobs() {
+        long finished = jobs.values().stream().filter(ReleaseClosingJob::isFinished).count();
+        Iterator<ReleaseClosingJob> iterator = jobs.values().iterator();
+        while (finished >= historySize && iterator.hasNext()) {
+            if (iterator.next().isFinished()) {
+                iterator.remove();
+                finished--;
+            }
+        }
+    }
+}
@@ -1,79 +1,109 @@
 package com.github.vladioeroonda.tasktracker.service.impl;
 
 import com.github.vladioeroonda.tasktracker.dto.request.ReleaseClosingRequestDto;
+import com.github.vladioeroonda.tasktracker.dto.response.FacetCountResponseDto;
 import com.github.vladioeroonda.tasktracker.dto.response.ReleaseResponseDto;
 import com.github.vladioeroonda.tasktracker.exception.ReleaseClosingException;
 import com.github.vladioeroonda.tasktracker.exception.ReleaseNotFoundException;
+import com.github.vladioeroonda.tasktracker.mapper.ReleaseMapper;
 import com.github.vladioeroonda.tasktracker.model.Release;
 import com.github.vladioeroonda.tasktracker.repository.ReleaseRepository;
 import com.github.vladioeroonda.tasktracker.service.ReleaseManagementService;
 import com.github.vladioeroonda.tasktracker.service.TaskService;
+import com.github.vladioeroonda.tasktracker.util.TransactionMemo;
 import com.github.vladioeroonda.tasktracker.util.Translator;
-import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Service
 public class ReleaseManagementServiceImpl implements ReleaseManagementService {
     private static final Logger logger = LoggerFactory.getLogger(ReleaseManagementServiceImpl.class);
 
     private final ReleaseRepository releaseRepository;
     private final TaskService taskService;
-    private final ModelMapper modelMapper;
+    private final ReleaseMapper releaseMapper;
+    private final ReferenceDataCache referenceDataCache;
+    private final TaskFilterCache taskFilterCache;
+    private final TransactionMemo transactionMemo;
 
-    public ReleaseManagementServiceImpl(ReleaseRepository releaseRepository, TaskService taskService, ModelMapper modelMapper) {
+    public ReleaseManagementServiceImpl(
+            ReleaseRepository releaseRepository,
+            TaskService taskService,
+            ReleaseMapper releaseMapper,
+            ReferenceDataCache referenceDataCache,
+            TaskFilterCache taskFilterCache,
+            TransactionMemo transactionMemo
+    ) {
         this.releaseRepository = releaseRepository;
         this.taskService = taskService;
-        this.modelMapper = modelMapper;
+        this.releaseMapper = releaseMapper;
+        this.referenceDataCache = referenceDataCache;
+        this.taskFilterCache = taskFilterCache;
+        this.transactionMemo = transactionMemo;
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     @Override
     public int countUnfinishedTasksByReleaseId(Long id) {
         logger.info(String.format("Подсчёт незавершённых задач Релиза с id #%d", id));
 
-        if (!releaseRepository.existsById(id)) {
-            ReleaseNotFoundException exception =
-                    new ReleaseNotFoundException(String.format(Translator.toLocale("exception.release.not-found-by-id"), id));
-            logger.error(exception.getMessage(), exception);
-            throw exception;
-        }
         return taskService.countUnfinishedTasksByReleaseId(id);
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public List<FacetCountResponseDto> getTaskCountsByReleaseId(Long id) {
+        logger.info(String.format("Подсчёт задач Релиза с id #%d по статусам", id));
+
+        return taskService.getTaskCountsByReleaseId(id);
+    }
+
     @Transactional
     @Override
     public ReleaseResponseDto closeRelease(ReleaseClosingRequestDto requestDto) {
         logger.info(String.format("Закрытие Релиза с id #%d", requestDto.getId()));
 
         Release release = releaseRepository
-                .findById(requestDto.getId())
+                .findByIdForUpdate(requestDto.getId())
                 .orElseThrow(() -> {
                     ReleaseNotFoundException exception =
-                            new ReleaseNotFoundException(String.format(Translator.toLocale("exception.release.not-found-by-id"), requestDto.getId()));
-                    logger.error(exception.getMessage(), exception);
+                            new ReleaseNotFoundException(Translator.deferred("exception.release.not-found-by-id", requestDto.getId()));
+                    logger.error("{}", exception.lazyMessage(), exception);
                     return exception;
                 });
 
+        if (releaseRepository.isClosing(release.getId())) {
+            ReleaseClosingException exception = new ReleaseClosingException(
+                    Translator.deferred("exception.release-management.already-closing", release.getId())
+            );
+            logger.error("{}", exception.lazyMessage(), exception);
+            throw exception;
+        }
+
         if (
                 (requestDto.getFinishTime() != null && release.getStartTime() != null) &&
                         (requestDto.getFinishTime().isBefore(release.getStartTime()))
         ) {
             ReleaseClosingException exception =
-                    new ReleaseClosingException(Translator.toLocale("exception.release-management.wrong-closing-time"));
-            logger.error(exception.getMessage(), exception);
+                    new ReleaseClosingException(Translator.deferred("exception.release-management.wrong-closing-time"));
+            logger.error("{}", exception.lazyMessage(), exception);
             throw exception;
         }
 
         release.setFinishTime(requestDto.getFinishTime());
+        referenceDataCache.evictRelease(release.getId());
+        taskFilterCache.invalidateAll();
+        transactionMemo.clear();
 
         taskService.setAllTasksCancelled(requestDto.getId());
         return convertFromEntityToResponse(release);
     }
 
     private ReleaseResponseDto convertFromEntityToResponse(Release release) {
-        return modelMapper.map(release, ReleaseResponseDto.class);
+        return releaseMapper.toResponse(release);
     }
 }
@@ -1,15 +1,18 @@
 package com.github.vladioeroonda.tasktracker.service.impl;
 
 import com.github.vladioeroonda.tasktracker.dto.request.ReleaseRequestDto;
+import com.github.vladioeroonda.tasktracker.dto.response.PageResponseDto;
 import com.github.vladioeroonda.tasktracker.dto.response.ReleaseResponseDto;
 import com.github.vladioeroonda.tasktracker.exception.ReleaseBadDataException;
 import com.github.vladioeroonda.tasktracker.exception.ReleaseNotFoundException;
+import com.github.vladioeroonda.tasktracker.mapper.ReleaseMapper;
 import com.github.vladioeroonda.tasktracker.model.Release;
 import com.github.vladioeroonda.tasktracker.repository.ReleaseRepository;
 import com.github.vladioeroonda.tasktracker.service.ProjectService;
 import com.github.vladioeroonda.tasktracker.service.ReleaseService;
+import com.github.vladioeroonda.tasktracker.util.KeysetPaginator;
+import com.github.vladioeroonda.tasktracker.util.TransactionMemo;
 import com.github.vladioeroonda.tasktracker.util.Translator;
-import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -17,7 +20,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 @Service
 public class ReleaseServiceImpl implements ReleaseService {
@@ -25,69 +28,95 @@ public class ReleaseServiceImpl implements ReleaseService {
 
     private final ReleaseRepository releaseRepository;
     private final ProjectService projectService;
-    private final ModelMapper modelMapper;
+    private final ReleaseMapper releaseMapper;
+    private final KeysetPaginator keysetPaginator;
+    private final ReferenceDataCache referenceDataCache;
+    private final TaskFilterCache taskFilterCache;
+    private final TransactionMemo transactionMemo;
 
     public ReleaseServiceImpl(
             ReleaseRepository releaseRepository,
             ProjectService projectService,
-            ModelMapper modelMapper
+            ReleaseMapper releaseMapper,
+            KeysetPaginator keysetPaginator,
+            ReferenceDataCache referenceDataCache,
+            TaskFilterCache taskFilterCache,
+            TransactionMemo transactionMemo
     ) {
         this.releaseRepository = releaseRepository;
         this.projectService = projectService;
-        this.modelMapper = modelMapper;
+        this.releaseMapper = releaseMapper;
+        this.keysetPaginator = keysetPaginator;
+        this.referenceDataCache = referenceDataCache;
+        this.taskFilterCache = taskFilterCache;
+        this.transactionMemo = transactionMemo;
     }
 
     @Transactional
     @Override
-    public List<ReleaseResponseDto> getAllReleases() {
+    public PageResponseDto<ReleaseResponseDto> getAllReleases(Long after, Integer limit) {
         logger.info("Получение списка всех Релизов");
 
-        List<Release> releases = releaseRepository.findAll();
-        return releases.stream()
-                .map(entity -> convertFromEntityToResponse(entity))
-                .collect(Collectors.toList()
-                );
+        int pageLimit = keysetPaginator.resolveLimit(limit);
+        List<ReleaseResponseDto> releases = releaseRepository.findResponsesByIdGreaterThan(
+                keysetPaginator.resolveAfter(after),
+                keysetPaginator.probe(pageLimit)
+        );
+        return keysetPaginator.toPage(releases, pageLimit, ReleaseResponseDto::getId, Function.identity());
     }
 
     @Transactional
     @Override
     public ReleaseResponseDto getReleaseByIdAndReturnResponseDto(Long id) {
-        logger.info(String.format("Получение Релиза с id #%d", id));
-
-        Release release = releaseRepository
-                .findById(id)
-                .orElseThrow(() -> {
-                    ReleaseNotFoundException exception =
-                            new ReleaseNotFoundException(String.format(Translator.toLocale("exception.release.not-found-by-id"), id));
-                    logger.error(exception.getMessage(), exception);
-                    return exception;
-                });
-
-        return convertFromEntityToResponse(release);
+        return transactionMemo.get("ReleaseService.getReleaseByIdAndReturnResponseDto", id, () -> {
+            logger.info(String.format("Получение Релиза с id #%d", id));
+
+            Release release = releaseRepository
+                    .findById(id)
+                    .orElseThrow(() -> {
+                        ReleaseNotFoundException exception =
+                                new ReleaseNotFoundException(Translator.deferred("exception.release.not-found-by-id", id));
+                        logger.error("{}", exception.lazyMessage(), exception);
+                        return exception;
+                    });
+
+            return convertFromEntityToResponse(release);
+        });
     }
 
     @Transactional
     @Override
     public Release getReleaseByIdAndReturnEntity(Long id) {
-        return releaseRepository
-                .findById(id)
-                .orElseThrow(() -> {
-                    ReleaseNotFoundException exception =
-                            new ReleaseNotFoundException(String.format(Translator.toLocale("exception.release.not-found-by-id"), id));
-                    logger.error(exception.getMessage(), exception);
-                    return exception;
-                });
+        return transactionMemo.get("ReleaseService.getReleaseByIdAndReturnEntity", id, () -> {
+            return releaseRepository
+                    .findById(id)
+                    .orElseThrow(() -> {
+                        ReleaseNotFoundException exception =
+                                new ReleaseNotFoundException(Translator.deferred("exception.release.not-found-by-id", id));
+                        logger.error("{}", exception.lazyMessage(), exception);
+                        return exception;
+                    });
+        });
     }
 
     @Transactional
     @Override
     public void checkReleaseExistsById(Long id) {
-        if (releaseRepository.findById(id).isEmpty()) {
-            ReleaseNotFoundException exception =
-                    new ReleaseNotFoundException(String.format(Translator.toLocale("exception.release.not-found-by-id"), id));
-            logger.error(exception.getMessage(), exception);
-            throw exception;
-        }
+        isReleaseClosed(id);
+    }
+
+    @Override
+    public boolean isReleaseClosed(Long id) {
+        return transactionMemo.get("ReleaseService.isReleaseClosed", id, () -> {
+            return referenceDataCache
+                    .isReleaseClosed(id)
+                    .orElseThrow(() -> {
+                        ReleaseNotFoundException exception =
+                                new ReleaseNotFoundException(Translator.deferred("exception.release.not-found-by-id", id));
+                        logger.error("{}", exception.lazyMessage(), exception);
+                        return exception;
+                    });
+        });
     }
 
     @Transactional
@@ -114,16 +143,16 @@ public class ReleaseServiceImpl implements ReleaseService {
                 .orElseThrow(() -> {
                     ReleaseNotFoundException exception =
                             new ReleaseNotFoundException(
-                                    String.format(Translator.toLocale("exception.release.not-found-by-id"), releaseRequestDto.getId())
+                                    Translator.deferred("exception.release.not-found-by-id", releaseRequestDto.getId())
                             );
-                    logger.error(exception.getMessage(), exception);
+                    logger.error("{}", exception.lazyMessage(), exception);
                     return exception;
                 });
 
         if (releaseRequestDto.getFinishTime() != null) {
             ReleaseBadDataException exception =
-                    new ReleaseBadDataException(Translator.toLocale("exception.release.unable-to-close-here"));
-            logger.error(exception.getMessage(), exception);
+                    new ReleaseBadDataException(Translator.deferred("exception.release.unable-to-close-here"));
+            logger.error("{}", exception.lazyMessage(), exception);
             throw exception;
         }
 
@@ -131,6 +160,9 @@ public class ReleaseServiceImpl implements ReleaseService {
         releaseForSave.setTasks(releaseFromBD.getTasks());
 
         Release updatedRelease = releaseRepository.save(releaseForSave);
+        referenceDataCache.evictRelease(updatedRelease.getId());
+        taskFilterCache.invalidateAll();
+        transactionMemo.clear();
         return convertFromEntityToResponse(updatedRelease);
 
     }
@@ -144,26 +176,31 @@ public class ReleaseServiceImpl implements ReleaseService {
                 .findById(id)
                 .orElseThrow(() -> {
                     ReleaseNotFoundException exception =
-                            new ReleaseNotFoundException(String.format(Translator.toLocale("exception.release.not-found-by-id"), id));
-                    logger.error(exception.getMessage(), exception);
+                            new ReleaseNotFoundException(Translator.deferred("exception.release.not-found-by-id", id));
+                    logger.error("{}", exception.lazyMessage(), exception);
                     return exception;
                 });
 
         releaseRepository.delete(release);
+        referenceDataCache.evictRelease(id);
+        taskFilterCache.invalidateAll();
+        transactionMemo.clear();
     }
 
     @Transactional
     @Override
     public List<Release> getAllNotClosedReleasesByProjectId(Long id) {
-        projectService.checkProjectExistsById(id);
-        return releaseRepository.getAllNotClosedReleasesByProjectId(id);
+        return transactionMemo.get("ReleaseService.getAllNotClosedReleasesByProjectId", id, () -> {
+            projectService.checkProjectExistsById(id);
+            return releaseRepository.getAllNotClosedReleasesByProjectId(id);
+        });
     }
 
     private Release convertFromRequestToEntity(ReleaseRequestDto requestDto) {
-        return modelMapper.map(requestDto, Release.class);
+        return releaseMapper.toEntity(requestDto);
     }
 
     private ReleaseResponseDto convertFromEntityToResponse(Release release) {
-        return modelMapper.map(release, ReleaseResponseDto.class);
+        return releaseMapper.toResponse(release);
     }
 }
@@ -0,0 +1,206 @@
+package com.github.vladioeroonda.tasktracker.service.impl;
+
+import com.github.vladioeroonda.tasktracker.model.TaskStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Счётчики задач по Релизам и статусам (таблица release_task_count), чтобы число незавершённых задач
+ * и разбивка по статусам читались по ключу, а не подсчётом всех задач Релиза.
+ *
+ * Счётчики меняются в транзакции, которая меняет задачи: вызывающий метод должен быть транзакционным.
+ * Строки счётчиков блокируются в порядке (release_id, status), поэтому параллельные изменения
+ * одного Релиза не взаимоблокируются. Задачи, записанные в обход сервисов (и удалённые каскадом),
+ * учитываются периодической сверкой {@link #reconcile()}.
+ */
+@Component
+public class ReleaseTaskCounter {
+    private static final Logger logger = LoggerFactory.getLogger(ReleaseTaskCounter.class);
+
+    private static final String ADD_TO_COUNT =
+            "INSERT INTO public.release_task_count (release_id, status, count) VALUES (?, ?, ?) " +
+                    "ON CONFLICT (release_id, status) DO UPDATE SET count = release_task_count.count + EXCLUDED.count";
+    private static final String CREATE_ZERO_COUNT =
+            "INSERT INTO public.release_task_count (release_id, status, count) VALUES (?, ?, 0) " +
+                    "ON CONFLICT (release_id, status) DO NOTHING";
+    private static final String LOCK_COUNTS =
+            "SELECT status FROM public.release_task_count WHERE release_id = ? ORDER BY status COLLATE \"C\" FOR UPDATE";
+    private static final String RECOUNT =
+            "UPDATE public.release_task_count c SET count = actual.count " +
+                    "FROM (SELECT s.status, " +
+                    "(SELECT count(*) FROM public.task t WHERE t.release_id = s.release_id AND t.status = s.status) AS count " +
+                    "FROM public.release_task_count s WHERE s.release_id = ?) AS actual " +
+                    "WHERE c.release_id = ? AND c.status = actual.status AND c.count <> actual.count";
+    private static final String SUBTRACT_TASKS_OF =
+            "UPDATE public.release_task_count c SET count = c.count - removed.count " +
+                    "FROM (SELECT release_id, status, count(*) AS count FROM public.task WHERE %s = ? " +
+                    "GROUP BY release_id, status) AS removed " +
+                    "WHERE c.release_id = removed.release_id AND c.status = removed.status";
+    private static final String SELECT_COUNTS =
+            "SELECT status, count FROM public.release_task_count WHERE release_id = ?";
+    private static final String SELECT_UNFINISHED_COUNT =
+            "SELECT coalesce(sum(count), 0) FROM public.release_task_count " +
+                    "WHERE release_id = ? AND status NOT IN ('DONE', 'CANCELLED')";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public ReleaseTaskCounter(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public void taskAdded(Long releaseId, TaskStatus status) {
+        addToCounts(Map.of(new Key(releaseId, status), 1L));
+    }
+
+    public void taskRemoved(Long releaseId, TaskStatus status) {
+        addToCounts(Map.of(new Key(releaseId, status), -1L));
+    }
+
+    public void taskMoved(Long oldReleaseId, TaskStatus oldStatus, Long newReleaseId, TaskStatus newStatus) {
+        Key oldKey = new Key(oldReleaseId, oldStatus);
+        Key newKey = new Key(newReleaseId, newStatus);
+        if (!oldKey.equals(newKey)) {
+            addToCounts(Map.of(oldKey, -1L, newKey, 1L));
+        }
+    }
+
+    /**
+     * Учёт задач, добавленных пакетом с одним статусом
+     *
+     * @param countsByReleaseId (Map), количество добавленных задач по ID Релиза
+     */
+    public void tasksAdded(Map<Long, Long> countsByReleaseId, TaskStatus status) {
+        Map<Key, Long> deltas = new TreeMap<>();
+        countsByReleaseId.forEach((releaseId, count) -> deltas.put(new Key(releaseId, status), count));
+        addToCounts(deltas);
+    }
+
+    /**
+     * Учёт задач Релиза, отменённых пакетом
+     *
+     * @param countsByOldStatus (Map), количество отменённых задач по статусу до отмены
+     */
+    public void tasksCancelled(Long releaseId, Map<TaskStatus, Long> countsByOldStatus) {
+        Map<Key, Long> deltas = new TreeMap<>();
+        countsByOldStatus.forEach((status, count) -> {
+            deltas.merge(new Key(releaseId, status), -count, Long::sum);
+            deltas.merge(new Key(releaseId, TaskStatus.CANCELLED), count, Long::sum);
+        });
+        addToCounts(deltas);
+    }
+
+    /**
+     * Вычитание задач Проекта из счётчиков. Вызывается до удаления Проекта, пока его задачи ещё в БД
+     */
+    public void subtractTasksOfProject(Long projectId) {
+        jdbcTemplate.update(String.format(SUBTRACT_TASKS_OF, "project_id"), projectId);
+    }
+
+    /**
+     * Вычитание задач автора из счётчиков. Вызывается до удаления Пользователя, пока его задачи ещё в БД
+     */
+    public void subtractTasksOfAuthor(Long userId) {
+        jdbcTemplate.update(String.format(SUBTRACT_TASKS_OF, "author_id"), userId);
+    }
+
+    /**
+     * Пересчёт счётчиков Релиза по задачам. Строки всех статусов создаются и блокируются до подсчёта,
+     * поэтому изменения задач из параллельных транзакций либо уже видны подсчёту, либо будут применены после него
+     *
+     * @return количество исправленных счётчиков
+     */
+    public int recount(Long releaseId) {
+        Key[] keys = Arrays.stream(TaskStatus.values()).map(status -> new Key(releaseId, status)).sorted().toArray(Key[]::new);
+        for (Key key : keys) {
+            jdbcTemplate.update(CREATE_ZERO_COUNT, key.releaseId, key.status);
+        }
+        jdbcTemplate.queryForList(LOCK_COUNTS, String.class, releaseId);
+        return jdbcTemplate.update(RECOUNT, releaseId, releaseId);
+    }
+
+    /**
+     * @return количество задач Релиза по всем статусам (нулевые - тоже)
+     */
+    public Map<TaskStatus, Long> getCounts(Long releaseId) {
+        Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            counts.put(status, 0L);
+        }
+        jdbcTemplate.query(SELECT_COUNTS, resultSet -> {
+            counts.put(TaskStatus.valueOf(resultSet.getString("status")), resultSet.getLong("count"));
+        }, releaseId);
+        return counts;
+    }
+
+    public int countUnfinished(Long releaseId) {
+        Long count = jdbcTemplate.queryForObject(SELECT_UNFINISHED_COUNT, Long.class, releaseId);
+        return count == null ? 0 : count.intValue();
+    }
+
+    /**
+     * Сверка счётчиков всех Релизов с задачами, каждый Релиз - в своей транзакции.
+     * Расписание задаётся release-task-count.reconcile-cron файла application.properties
+     *
+     * @return количество исправленных счётчиков
+     */
+    @Scheduled(cron = "${release-task-count.reconcile-cron}")
+    public int reconcile() {
+        List<Long> releaseIds = jdbcTemplate.queryForList("SELECT id FROM public.release ORDER BY id", Long.class);
+        int fixed = 0;
+        for (Long releaseId : releaseIds) {
+            Integer releaseFixed = transactionTemplate.execute(status -> recount(releaseId));
+            if (releaseFixed != null && releaseFixed > 0) {
+                logger.warn(String.format("Исправлено счётчиков задач Релиза с id #%d: %d", releaseId, releaseFixed));
+                fixed += releaseFixed;
+            }
+        }
+        logger.info(String.format("Сверка счётчиков задач завершена, Релизов: %d, исправлено счётчиков: %d",
+                releaseIds.size(), fixed));
+        return fixed;
+    }
+
+    private void addToCounts(Map<Key, Long> deltas) {
+        new TreeMap<>(deltas).forEach((key, delta) -> jdbcTemplate.update(ADD_TO_COUNT, key.releaseId, key.status, delta));
+    }
+
+    private static class Key implements Comparable<Key> {
+        private final Long releaseId;
+        private final String status;
+
+        private Key(Long releaseId, TaskStatus status) {
+            this.releaseId = releaseId;
+            this.status = status.name();
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            int byRelease = releaseId.compareTo(other.releaseId);
+            return byRelease != 0 ? byRelease : status.compareTo(other.status);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return releaseId.equals(key.releaseId) && status.equals(key.status);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * releaseId.hashCode() + status.hashCode();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.github.vladioeroonda.tasktracker.service.impl;
+
+import com.github.vladioeroonda.tasktracker.dto.response.CsvImportJobResponseDto;
+import com.github.vladioeroonda.tasktracker.model.CsvImportJobStatus;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.apache.commons.csv.CSVRecord;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Состояние одной фоновой загрузки CSV-файла: счётчики строк, время обработки и отчёт об ошибочных строках.
+ * Счётчики обновляет поток загрузки, а читают запросы статуса.
+ */
+class TaskCsvImportJob implements TaskCsvImportListener {
+    private static final String[] SOURCE_COLUMNS =
+            {"Name", "Description", "ProjectId", "ReleaseId", "AuthorId", "ExecutorId"};
+    private static final String[] ERROR_REPORT_HEADER =
+            {"Line", "Name", "Description", "ProjectId", "ReleaseId", "AuthorId", "ExecutorId", "Error"};
+
+    private final String id;
+    private final Path sourceFile;
+    private final Path errorReport;
+    private final AtomicLong rowsDone = new AtomicLong();
+    private final AtomicLong rowsFailed = new AtomicLong();
+    private volatile CsvImportJobStatus status = CsvImportJobStatus.QUEUED;
+    private volatile LocalDateTime startTime;
+    private volatile LocalDateTime finishTime;
+    private volatile long startNanos;
+    private volatile long finishNanos;
+    private volatile String message;
+    private CSVPrinter errorPrinter;
+
+    TaskCsvImportJob(String id, Path sourceFile, Path errorReport) {
+        this.id = id;
+        this.sourceFile = sourceFile;
+        this.errorReport = errorReport;
+    }
+
+    @Override
+    public void onImported(int count) {
+        rowsDone.addAndGet(count);
+    }
+
+    @Override
+    public void onFailed(CSVRecord record, String message) {
+        try {
+            if (errorPrinter == null) {
+                errorPrinter = new CSVPrinter(
+                        Files.newBufferedWriter(errorReport, StandardCharsets.UTF_8),
+                        CSVFormat.DEFAULT.withHeader(ERROR_REPORT_HEADER)
+                );
+            }
+            errorPrinter.print(record.getRecordNumber() + 1);
+            for (String column : SOURCE_COLUMNS) {
+                errorPrinter.print(record.isSet(column) ? record.get(column) : "");
+            }
+            errorPrinter.print(message);
+            errorPrinter.println();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        rowsFailed.incrementAndGet();
+    }
+
+    void start() {
+        startNanos = System.nanoTime();
+        startTime = LocalDateTime.now();
+        status = CsvImportJobStatus.RUNNING;
+    }
+
+    void finish(CsvImportJobStatus finalStatus, String failureMessage) {
+        try {
+            if (errorPrinter != null) {
+                errorPrinter.close(true);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            finishNanos = System.nanoTime();
+            finishTime = LocalDateTime.now();
+            message = failureMessage;
+            status = finalStatus;
+        }
+    }
+
+    boolean isFinished() {
+        return status == CsvImportJobStatus.DONE || status == CsvImportJobStatus.FAILED;
+    }
+
+    /**
+     * Отчёт доступен только после завершения загрузки и только если были ошибочные строки
+     */
+    boolean hasErrorReport() {
+        return isFinished() && rowsFailed.get() > 0;
+    }
+
+    String getId() {
+        return id;
+    }
+
+    Path getSourceFile() {
+        return sourceFile;
+    }
+
+    Path getErrorReport() {
+        return errorReport;
+    }
+
+    CsvImportJobResponseDto toResponse() {
+        CsvImportJobStatus currentStatus = status;
+        long done = rowsDone.get();
+        long failed = rowsFailed.get();
+        double rowsPerSecond = 0;
+        if (currentStatus != CsvImportJobStatus.QUEUED) {
+            long elapsedNanos = (isFinished() ? finishNanos : System.nanoTime()) - startNanos;
+            rowsPerSecond = elapsedNanos > 0 ? (done + failed) * 1_000_000_000d / elapsedNanos : 0;
+        }
+        return new CsvImportJobResponseDto(
+                id,
+                currentStatus,
+                done,
+                failed,
+                rowsPerSecond,
+                startTime,
+                finishTime,
+                message
+        );
+    }
+}
@@ -0,0 +1,20 @@
+package com.github.vladioeroonda.tasktracker.service.impl;
+
+import org.apache.commons.csv.CSVRecord;
+
+/**
+ * Получатель прогресса потоковой загрузки Задач из CSV-файла
+ */
+public interface TaskCsvImportListener {
+
+    /**
+     * @param count количество строк очередной порции, сохранённых в БД
+     */
+    void onImported(int count);
+
+    /**
+     * @param record  строка CSV, которая не была сохранена
+     * @param message причина
+     */
+    void onFailed(CSVRecord record, String message);
+}
@@ -0,0 +1,200 @@
+package com.github.vladioeroonda.tasktracker.service.impl;
+
+import com.github.vladioeroonda.tasktracker.dto.response.CsvImportJobResponseDto;
+import com.github.vladioeroonda.tasktracker.exception.CSVParsingException;
+import com.github.vladioeroonda.tasktracker.exception.CsvImportJobNotFoundException;
+import com.github.vladioeroonda.tasktracker.exception.CsvImportRejectedException;
+import com.github.vladioeroonda.tasktracker.exception.WrongFileTypeException;
+import com.github.vladioeroonda.tasktracker.model.CsvImportJobStatus;
+import com.github.vladioeroonda.tasktracker.service.TaskCsvImportService;
+import com.github.vladioeroonda.tasktracker.util.Translator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+@Service
+public class TaskCsvImportServiceImpl implements TaskCsvImportService {
+    private static final Logger logger = LoggerFactory.getLogger(TaskCsvImportServiceImpl.class);
+
+    private final TaskCsvImporter taskCsvImporter;
+    private final ThreadPoolTaskExecutor executor;
+    private final int historySize;
+    /**
+     * Загрузки в порядке создания; завершённые сверх task.csv-import.jobs.history-size удаляются вместе с отчётами
+     */
+    private final Map<String, TaskCsvImportJob> jobs = new LinkedHashMap<>();
+
+    public TaskCsvImportServiceImpl(
+            TaskCsvImporter taskCsvImporter,
+            @Value("${task.csv-import.executor.threads}") int threads,
+            @Value("${task.csv-import.executor.queue-capacity}") int queueCapacity,
+            @Value("${task.csv-import.jobs.history-size}") int historySize
+    ) {
+        this.taskCsvImporter = taskCsvImporter;
+        this.historySize = historySize;
+        // собственный пул, а не бин Executor: иначе Spring Boot не создаст общий applicationTaskExecutor
+        this.executor = new ThreadPoolTaskExecutor();
+        this.executor.setCorePoolSize(threads);
+        this.executor.setMaxPoolSize(threads);
+        this.executor.setQueueCapacity(queueCapacity);
+        this.executor.setThreadNamePrefix("csv-import-");
+        this.executor.initialize();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @Override
+    public CsvImportJobResponseDto startImport(MultipartFile file) {
+        logger.info("Добавление Задач с помощью CSV-файла");
+
+        logger.debug(String.format("Проверка типа файла: %s", file.getContentType()));
+
+        if (!"text/csv".equals(file.getContentType())) {
+            WrongFileTypeException exception =
+                    new WrongFileTypeException(Translator.deferred("exception.task.csv.wrong-format"));
+            logger.error("{}", exception.lazyMessage(), exception);
+            throw exception;
+        }
+
+        TaskCsvImportJob job;
+        Path sourceFile = null;
+        Path errorReport = null;
+        try {
+            sourceFile = Files.createTempFile("task-import-", ".csv");
+            file.transferTo(sourceFile);
+            errorReport = Files.createTempFile("task-import-errors-", ".csv");
+            job = new TaskCsvImportJob(UUID.randomUUID().toString(), sourceFile, errorReport);
+        } catch (IOException e) {
+            if (sourceFile != null) {
+                deleteQuietly(sourceFile);
+            }
+            if (errorReport != null) {
+                deleteQuietly(errorReport);
+            }
+            CSVParsingException exception
+                    = new CSVParsingException(Translator.toLocale("exception.task.csv.parse-error"), e);
+            logger.error("{}", exception.lazyMessage(), exception);
+            throw exception;
+        }
+
+        synchronized (jobs) {
+            removeOldJobs();
+            jobs.put(job.getId(), job);
+        }
+        // ошибки строк пишутся в отчёт в потоке csv-import-*, язык берётся из запроса
+        LocaleContext localeContext = LocaleContextHolder.getLocaleContext();
+        try {
+            executor.execute(() -> runImport(localeContext, job));
+        } catch (TaskRejectedException e) {
+            synchronized (jobs) {
+                jobs.remove(job.getId());
+            }
+            deleteQuietly(job.getSourceFile());
+            deleteQuietly(job.getErrorReport());
+            CsvImportRejectedException exception =
+                    new CsvImportRejectedException(Translator.toLocale("exception.task.csv.import-rejected"), e);
+            logger.error(exception.getMessage(), exception);
+            throw exception;
+        }
+
+        logger.debug(String.format("Загрузка CSV-файла #%s поставлена в очередь", job.getId()));
+        return job.toResponse();
+    }
+
+    @Override
+    public CsvImportJobResponseDto getJob(String id) {
+        logger.info(String.format("Получение состояния загрузки CSV-файла #%s", id));
+        return findJob(id).toResponse();
+    }
+
+    @Override
+    public Resource getErrorReport(String id) {
+        logger.info(String.format("Получение отчёта об ошибках загрузки CSV-файла #%s", id));
+
+        TaskCsvImportJob job = findJob(id);
+        if (!job.hasErrorReport()) {
+            CsvImportJobNotFoundException exception = new CsvImportJobNotFoundException(
+                    Translator.deferred("exception.task.csv.error-report-not-found", id)
+            );
+            logger.error("{}", exception.lazyMessage(), exception);
+            throw exception;
+        }
+        return new FileSystemResource(job.getErrorReport());
+    }
+
+    private void runImport(LocaleContext localeContext, TaskCsvImportJob job) {
+        logger.info(String.format("Начало загрузки CSV-файла #%s", job.getId()));
+        LocaleContext previous = LocaleContextHolder.getLocaleContext();
+        LocaleContextHolder.setLocaleContext(localeContext);
+        job.start();
+        try (BufferedReader reader = Files.newBufferedReader(job.getSourceFile(), StandardCharsets.UTF_8)) {
+            taskCsvImporter.importTasks(reader, job);
+            job.finish(CsvImportJobStatus.DONE, null);
+        } catch (Exception e) {
+            logger.error(e.getMessage(), e);
+            job.finish(CsvImportJobStatus.FAILED, e.getMessage());
+        } finally {
+            deleteQuietly(job.getSourceFile());
+            LocaleContextHolder.setLocaleContext(previous);
+        }
+        logger.info(String.format("Загрузка CSV-файла #%s завершена", job.getId()));
+    }
+
+    private TaskCsvImportJob findJob(String id) {
+        TaskCsvImportJob job;
+        synchronized (jobs) {
+            job = jobs.get(id);
+        }
+        if (job == null) {
+            CsvImportJobNotFoundException exception = new CsvImportJobNotFoundException(
+                    Translator.deferred("exception.task.csv.import-job-not-found", id)
+            );
+            logger.error("{}", exception.lazyMessage(), exception);
+            throw exception;
+        }
+        return job;
+    }
+
+    private void removeOldJobs() {
+        long finished = jobs.values().stream().filter(TaskCsvImportJob::isFinished).count();
+        Iterator<TaskCsvImportJob> iterator = jobs.values().iterator();
+        while (finished >= historySize && iterator.hasNext()) {
+            TaskCsvImportJob job = iterator.next();
+            if (job.isFinished()) {
+                iterator.remove();
+                deleteQuietly(job.getErrorReport());
+                finished--;
+            }
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn(String.format("Не удалось удалить временный файл %s", path), e);
+        }
+    }
+}
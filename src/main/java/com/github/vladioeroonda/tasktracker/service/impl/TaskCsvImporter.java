@@ -0,0 +1,261 @@
+package com.github.vladioeroonda.tasktracker.service.impl;
+
+import com.github.vladioeroonda.tasktracker.dto.projection.ProjectStatusView;
+import com.github.vladioeroonda.tasktracker.dto.projection.ReleaseFinishTimeView;
+import com.github.vladioeroonda.tasktracker.model.ProjectStatus;
+import com.github.vladioeroonda.tasktracker.model.TaskStatus;
+import com.github.vladioeroonda.tasktracker.repository.ProjectRepository;
+import com.github.vladioeroonda.tasktracker.repository.ReleaseRepository;
+import com.github.vladioeroonda.tasktracker.repository.UserRepository;
+import com.github.vladioeroonda.tasktracker.util.Translator;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Потоковая загрузка Задач из CSV-файла.
+ * Записи читаются парсером по одной и накапливаются в порции по task.csv-import.chunk-size строк.
+ * Для каждой порции Проекты, Релизы и Пользователи проверяются тремя запросами (по всем ID порции сразу),
+ * а Задачи вставляются одним пакетным JDBC-запросом в отдельной транзакции,
+ * поэтому расход памяти ограничен размером порции и не зависит от размера файла.
+ *
+ * Проверки те же, что и при добавлении одной Задачи. Строка, не прошедшая разбор или проверку, не прерывает загрузку:
+ * она передаётся слушателю вместе с причиной, остальные строки порции сохраняются.
+ */
+@Component
+public class TaskCsvImporter {
+    private static final Logger logger = LoggerFactory.getLogger(TaskCsvImporter.class);
+    private static final CSVFormat FORMAT = CSVFormat.DEFAULT.withFirstRecordAsHeader().withTrim();
+    private static final String INSERT_TASK =
+            "INSERT INTO public.task (name, description, status, project_id, release_id, author_id, executor_id) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    @Value("${task.min-length.name}")
+    private int minNameLength;
+    @Value("${task.min-length.description}")
+    private int minDescriptionLength;
+    @Value("${task.csv-import.chunk-size}")
+    private int chunkSize;
+
+    private final ProjectRepository projectRepository;
+    private final ReleaseRepository releaseRepository;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskFilterCache taskFilterCache;
+    private final ReleaseTaskCounter releaseTaskCounter;
+
+    public TaskCsvImporter(
+            ProjectRepository projectRepository,
+            ReleaseRepository releaseRepository,
+            UserRepository userRepository,
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            TaskFilterCache taskFilterCache,
+            ReleaseTaskCounter releaseTaskCounter
+    ) {
+        this.projectRepository = projectRepository;
+        this.releaseRepository = releaseRepository;
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.taskFilterCache = taskFilterCache;
+        this.releaseTaskCounter = releaseTaskCounter;
+    }
+
+    /**
+     * @param reader   источник CSV (заголовок: 'Name,Description,ProjectId,ReleaseId,AuthorId,ExecutorId')
+     * @param listener получатель прогресса загрузки и ошибочных строк
+     */
+    public void importTasks(Reader reader, TaskCsvImportListener listener) throws IOException {
+        try (CSVParser parser = new CSVParser(reader, FORMAT)) {
+            List<TaskCsvRow> chunk = new ArrayList<>(chunkSize);
+            for (CSVRecord record : parser) {
+                TaskCsvRow row = parseRow(record, listener);
+                if (row != null) {
+                    chunk.add(row);
+                }
+                if (chunk.size() == chunkSize) {
+                    importChunk(chunk, listener);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(chunk, listener);
+            }
+        }
+    }
+
+    /**
+     * @return разобранная строка или null, если строку разобрать не удалось (строка передана слушателю)
+     */
+    private TaskCsvRow parseRow(CSVRecord record, TaskCsvImportListener listener) {
+        try {
+            String executorId = record.get("ExecutorId");
+            return new TaskCsvRow(
+                    record,
+                    record.get("Name"),
+                    record.get("Description"),
+                    Long.parseLong(record.get("ProjectId")),
+                    Long.parseLong(record.get("ReleaseId")),
+                    Long.parseLong(record.get("AuthorId")),
+                    executorId.isBlank() ? null : Long.parseLong(executorId)
+            );
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            logger.debug(String.format("Строка CSV #%d не разобрана: %s", record.getRecordNumber(), e.getMessage()));
+            listener.onFailed(record, Translator.toLocale("exception.task.csv.parse-error"));
+            return null;
+        }
+    }
+
+    private void importChunk(List<TaskCsvRow> chunk, TaskCsvImportListener listener) {
+        Set<Long> projectIds = new HashSet<>();
+        Set<Long> releaseIds = new HashSet<>();
+        Set<Long> userIds = new HashSet<>();
+        for (TaskCsvRow row : chunk) {
+            projectIds.add(row.projectId);
+            releaseIds.add(row.releaseId);
+            userIds.add(row.authorId);
+            if (row.executorId != null) {
+                userIds.add(row.executorId);
+            }
+        }
+
+        Map<Long, ProjectStatus> projects = new HashMap<>();
+        for (ProjectStatusView project : projectRepository.findStatusesByIds(projectIds)) {
+            projects.put(project.getId(), project.getStatus());
+        }
+        Map<Long, LocalDateTime> releases = new HashMap<>();
+        for (ReleaseFinishTimeView release : releaseRepository.findFinishTimesByIds(releaseIds)) {
+            releases.put(release.getId(), release.getFinishTime());
+        }
+        Set<Long> users = new HashSet<>(userRepository.findExistingIds(userIds));
+
+        List<TaskCsvRow> validRows = new ArrayList<>(chunk.size());
+        for (TaskCsvRow row : chunk) {
+            String error = validate(row, projects, releases, users);
+            if (error == null) {
+                validRows.add(row);
+            } else {
+                listener.onFailed(row.record, error);
+            }
+        }
+
+        try {
+            insert(validRows);
+        } catch (DataAccessException e) {
+            // ссылки могли измениться между проверкой и вставкой - порция откатывается целиком
+            logger.error(e.getMessage(), e);
+            validRows.forEach(row -> listener.onFailed(row.record, e.getMostSpecificCause().getMessage()));
+            return;
+        }
+        listener.onImported(validRows.size());
+    }
+
+    /**
+     * @return описание первой нарушенной проверки строки или null, если строка корректна
+     */
+    private String validate(
+            TaskCsvRow row,
+            Map<Long, ProjectStatus> projects,
+            Map<Long, LocalDateTime> releases,
+            Set<Long> users
+    ) {
+        if (row.name.length() < minNameLength) {
+            return Translator.toLocale("exception.task.too-short-task-name", row.name, minNameLength);
+        }
+        if (row.description.length() < minDescriptionLength) {
+            return Translator.toLocale("exception.task.too-short-task-description", minDescriptionLength);
+        }
+        if (!projects.containsKey(row.projectId)) {
+            return Translator.toLocale("exception.project.not-found-by-id", row.projectId);
+        }
+        if (projects.get(row.projectId) == ProjectStatus.FINISHED) {
+            return Translator.toLocale("exception.task.cant-add-task-to-closed-project");
+        }
+        if (!releases.containsKey(row.releaseId)) {
+            return Translator.toLocale("exception.release.not-found-by-id", row.releaseId);
+        }
+        if (releases.get(row.releaseId) != null) {
+            return Translator.toLocale("exception.task.cant-add-task-to-closed-release");
+        }
+        if (!users.contains(row.authorId)) {
+            return Translator.toLocale("exception.user.not-found-by-id", row.authorId);
+        }
+        if (row.executorId != null && !users.contains(row.executorId)) {
+            return Translator.toLocale("exception.user.not-found-by-id", row.executorId);
+        }
+        return null;
+    }
+
+    private void insert(List<TaskCsvRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        Map<Long, Long> countsByReleaseId = new HashMap<>();
+        rows.forEach(row -> countsByReleaseId.merge(row.releaseId, 1L, Long::sum));
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_TASK, rows, rows.size(), (statement, row) -> {
+                statement.setString(1, row.name);
+                statement.setString(2, row.description);
+                statement.setString(3, TaskStatus.BACKLOG.name());
+                statement.setLong(4, row.projectId);
+                statement.setLong(5, row.releaseId);
+                statement.setLong(6, row.authorId);
+                if (row.executorId == null) {
+                    statement.setNull(7, Types.BIGINT);
+                } else {
+                    statement.setLong(7, row.executorId);
+                }
+            });
+            releaseTaskCounter.tasksAdded(countsByReleaseId, TaskStatus.BACKLOG);
+        });
+        taskFilterCache.invalidateAll();
+    }
+
+    private static class TaskCsvRow {
+        private final CSVRecord record;
+        private final String name;
+        private final String description;
+        private final Long projectId;
+        private final Long releaseId;
+        private final Long authorId;
+        private final Long executorId;
+
+        private TaskCsvRow(
+                CSVRecord record,
+                String name,
+                String description,
+                Long projectId,
+                Long releaseId,
+                Long authorId,
+                Long executorId
+        ) {
+            this.record = record;
+            this.name = name;
+            this.description = description;
+            this.projectId = projectId;
+            this.releaseId = releaseId;
+            this.authorId = authorId;
+            this.executorId = executorId;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.github.vladioeroonda.tasktracker.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.vladioeroonda.tasktracker.dto.request.TaskFilterRequestDto;
+import com.github.vladioeroonda.tasktracker.dto.response.CursorPageResponseDto;
+import com.github.vladioeroonda.tasktracker.dto.response.TaskFacetsResponseDto;
+import com.github.vladioeroonda.tasktracker.dto.response.TaskResponseDto;
+import com.github.vladioeroonda.tasktracker.model.TaskFilterSort;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Кэш результатов фильтра задач: страницы, общее количество и фасеты.
+ * Ключ - нормализованные условия фильтра (см. TaskFilterRequestDto.normalize()), вытеснение по размеру
+ * (W-TinyLFU) и, на всякий случай, по времени жизни (task.filter.cache.* файла application.properties).
+ * Статистика попаданий/промахов публикуется в метриках cache.* с тегом cache = task-filter.pages,
+ * task-filter.counts и task-filter.facets.
+ *
+ * Любая запись, способная изменить состав или содержимое результатов (Задачи, Проекты, Релизы, Пользователи),
+ * сбрасывает кэш целиком - сразу и повторно после завершения транзакции.
+ */
+@Component
+public class TaskFilterCache {
+    private final Cache<PageKey, CursorPageResponseDto<TaskResponseDto>> pages;
+    private final Cache<TaskFilterRequestDto, Long> counts;
+    private final Cache<TaskFilterRequestDto, TaskFacetsResponseDto> facets;
+
+    public TaskFilterCache(
+            MeterRegistry meterRegistry,
+            @Value("${task.filter.cache.max-size}") long maxSize,
+            @Value("${task.filter.cache.ttl-seconds}") long ttlSeconds
+    ) {
+        this.pages = CaffeineCacheMetrics.monitor(meterRegistry, newCache(maxSize, ttlSeconds), "task-filter.pages");
+        this.counts = CaffeineCacheMetrics.monitor(meterRegistry, newCache(maxSize, ttlSeconds), "task-filter.counts");
+        this.facets = CaffeineCacheMetrics.monitor(meterRegistry, newCache(maxSize, ttlSeconds), "task-filter.facets");
+    }
+
+    public CursorPageResponseDto<TaskResponseDto> getPage(
+            PageKey key,
+            Function<PageKey, CursorPageResponseDto<TaskResponseDto>> loader
+    ) {
+        return pages.get(key, loader);
+    }
+
+    public long getCount(TaskFilterRequestDto filter, Function<TaskFilterRequestDto, Long> loader) {
+        return counts.get(filter, loader);
+    }
+
+    public TaskFacetsResponseDto getFacets(TaskFilterRequestDto filter, Function<TaskFilterRequestDto, TaskFacetsResponseDto> loader) {
+        return facets.get(filter, loader);
+    }
+
+    public void invalidateAll() {
+        invalidateCaches();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidateCaches();
+                }
+            });
+        }
+    }
+
+    private void invalidateCaches() {
+        pages.invalidateAll();
+        counts.invalidateAll();
+        facets.invalidateAll();
+    }
+
+    private static <K, V> Cache<K, V> newCache(long maxSize, long ttlSeconds) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Ключ страницы: условия фильтра, сортировка, курсор и применённый размер страницы
+     */
+    public static final class PageKey {
+        private final TaskFilterRequestDto filter;
+        private final TaskFilterSort sort;
+        private final String after;
+        private final int limit;
+
+        public PageKey(TaskFilterRequestDto filter, TaskFilterSort sort, String after, int limit) {
+            this.filter = filter;
+            this.sort = sort;
+            this.after = after;
+            this.limit = limit;
+        }
+
+        public TaskFilterRequestDto getFilter() {
+            return filter;
+        }
+
+        public TaskFilterSort getSort() {
+            return sort;
+        }
+
+        public String getAfter() {
+            return after;
+        }
+
+        public int getLimit() {
+            return limit;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            PageKey pageKey = (PageKey) o;
+            return limit == pageKey.limit
+                    && filter.equals(pageKey.filter)
+                    && sort == pageKey.sort
+                    && Objects.equals(after, pageKey.after);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(filter, sort, after, limit);
+        }
+    }
+}
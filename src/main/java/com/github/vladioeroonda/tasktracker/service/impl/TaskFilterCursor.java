@@ -0,0 +1,109 @@
+package com.github.vladioeroonda.tasktracker.service.impl;
+
+import com.github.vladioeroonda.tasktracker.dto.projection.TaskView;
+import com.github.vladioeroonda.tasktracker.exception.TaskBadDataException;
+import com.github.vladioeroonda.tasktracker.model.TaskFilterSort;
+import com.github.vladioeroonda.tasktracker.util.Translator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Курсор страницы фильтра задач: позиция последней строки страницы в выбранной сортировке.
+ * Для сортировок по имени и ID - ключ (name, id) или id, для RELEVANCE - смещение.
+ * Клиенту передаётся как непрозрачная строка (Base64 от "сортировка|id|значение").
+ */
+class TaskFilterCursor {
+    private static final Logger logger = LoggerFactory.getLogger(TaskFilterCursor.class);
+    private static final String SEPARATOR = "|";
+
+    private final TaskFilterSort sort;
+    private final long id;
+    private final String name;
+
+    private TaskFilterCursor(TaskFilterSort sort, long id, String name) {
+        this.sort = sort;
+        this.id = id;
+        this.name = name;
+    }
+
+    /**
+     * Курсор, указывающий на последнюю строку страницы
+     *
+     * @param offset смещение следующей страницы (используется только для RELEVANCE)
+     */
+    static String after(TaskFilterSort sort, TaskView lastRow, long offset) {
+        TaskFilterCursor cursor = sort == TaskFilterSort.RELEVANCE
+                ? new TaskFilterCursor(sort, offset, "")
+                : new TaskFilterCursor(sort, lastRow.getId(), lastRow.getName());
+        return cursor.encode();
+    }
+
+    /**
+     * Разбор курсора из параметра after; null - первая страница
+     *
+     * @throws TaskBadDataException если курсор повреждён или получен для другой сортировки
+     */
+    static TaskFilterCursor decode(TaskFilterSort sort, String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            String[] parts = decoded.split("\\|", 3);
+            if (parts.length == 3 && parts[0].equals(sort.name())) {
+                return new TaskFilterCursor(sort, Long.parseLong(parts[1]), parts[2]);
+            }
+        } catch (IllegalArgumentException e) {
+            // ниже - общее исключение о неверном курсоре
+        }
+        TaskBadDataException exception =
+                new TaskBadDataException(Translator.deferred("exception.task.filter.bad-cursor", value));
+        logger.error("{}", exception.lazyMessage(), exception);
+        throw exception;
+    }
+
+    /**
+     * Смещение страницы для сортировки RELEVANCE
+     */
+    long getOffset() {
+        return sort == TaskFilterSort.RELEVANCE ? id : 0L;
+    }
+
+    /**
+     * Условие "строка идёт после курсора" для сортировок по имени и ID
+     */
+    Predicate toPredicate(CriteriaBuilder cb, Root<?> root) {
+        Expression<Long> rootId = root.get("id");
+        Expression<String> rootName = root.get("name");
+        switch (sort) {
+            case NAME:
+                return cb.or(
+                        cb.greaterThan(rootName, name),
+                        cb.and(cb.equal(rootName, name), cb.greaterThan(rootId, id))
+                );
+            case NAME_DESC:
+                return cb.or(
+                        cb.lessThan(rootName, name),
+                        cb.and(cb.equal(rootName, name), cb.lessThan(rootId, id))
+                );
+            case ID:
+                return cb.greaterThan(rootId, id);
+            case ID_DESC:
+                return cb.lessThan(rootId, id);
+            default:
+                return cb.conjunction();
+        }
+    }
+
+    private String encode() {
+        String value = sort.name() + SEPARATOR + id + SEPARATOR + name;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,91 +1,352 @@
 package com.github.vladioeroonda.tasktracker.service.impl;
 
+import com.github.vladioeroonda.tasktracker.dto.projection.TaskView;
+import com.github.vladioeroonda.tasktracker.dto.request.TaskFilterRequestDto;
+import com.github.vladioeroonda.tasktracker.dto.response.CursorPageResponseDto;
+import com.github.vladioeroonda.tasktracker.dto.response.FacetCountResponseDto;
+import com.github.vladioeroonda.tasktracker.dto.response.TaskFacetsResponseDto;
 import com.github.vladioeroonda.tasktracker.dto.response.TaskResponseDto;
+import com.github.vladioeroonda.tasktracker.mapper.TaskMapper;
+import com.github.vladioeroonda.tasktracker.model.Role;
 import com.github.vladioeroonda.tasktracker.model.Task;
-import com.github.vladioeroonda.tasktracker.model.TaskStatus;
-import com.github.vladioeroonda.tasktracker.repository.TaskRepository;
+import com.github.vladioeroonda.tasktracker.model.TaskFilterSort;
 import com.github.vladioeroonda.tasktracker.service.TaskFilterService;
+import com.github.vladioeroonda.tasktracker.service.UserService;
+import com.github.vladioeroonda.tasktracker.util.EntityStreams;
+import com.github.vladioeroonda.tasktracker.util.KeysetPaginator;
 import org.apache.commons.lang3.StringUtils;
-import org.modelmapper.ModelMapper;
+import org.hibernate.jpa.QueryHints;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.From;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Order;
 import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
 public class TaskFilterServiceImpl implements TaskFilterService {
     private static final Logger logger = LoggerFactory.getLogger(TaskFilterServiceImpl.class);
+    private static final int STREAM_FETCH_SIZE = 500;
 
-    private final TaskRepository taskRepository;
-    private final ModelMapper modelMapper;
+    private final TaskMapper taskMapper;
+    private final UserService userService;
+    private final EntityManager entityManager;
+    private final KeysetPaginator keysetPaginator;
+    private final TaskFilterCache taskFilterCache;
+    private final TransactionTemplate readOnlyTransaction;
 
-    public TaskFilterServiceImpl(TaskRepository taskRepository, ModelMapper modelMapper) {
-        this.taskRepository = taskRepository;
-        this.modelMapper = modelMapper;
+    public TaskFilterServiceImpl(
+            TaskMapper taskMapper,
+            UserService userService,
+            EntityManager entityManager,
+            KeysetPaginator keysetPaginator,
+            TaskFilterCache taskFilterCache,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.taskMapper = taskMapper;
+        this.userService = userService;
+        this.entityManager = entityManager;
+        this.keysetPaginator = keysetPaginator;
+        this.taskFilterCache = taskFilterCache;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Результаты берутся из кэша; транзакция открывается только при промахе,
+     * поэтому попадание в кэш не занимает соединение с БД
+     */
+    @Override
+    public CursorPageResponseDto<TaskResponseDto> getFilteredTasks(
+            TaskFilterRequestDto filter,
+            TaskFilterSort sort,
+            String after,
+            Integer limit,
+            boolean withTotal
+    ) {
+        logger.info("Поиск задач по фильтру: {}, сортировка: {}, после: {}, лимит: {}", filter, sort, after, limit);
+
+        TaskFilterRequestDto normalizedFilter = filter.normalize();
+        CursorPageResponseDto<TaskResponseDto> page = taskFilterCache.getPage(
+                new TaskFilterCache.PageKey(normalizedFilter, sort, after, keysetPaginator.resolveLimit(limit)),
+                key -> readOnlyTransaction.execute(status -> findPage(key))
+        );
+
+        Long total = withTotal ? countFilteredTasks(normalizedFilter) : null;
+        return new CursorPageResponseDto<>(page.getItems(), page.getNext(), page.getLimit(), total);
+    }
+
+    @Override
+    public long countFilteredTasks(TaskFilterRequestDto filter) {
+        return taskFilterCache.getCount(
+                filter.normalize(),
+                key -> readOnlyTransaction.execute(status -> count(key))
+        );
+    }
+
+    @Override
+    public TaskFacetsResponseDto getFacets(TaskFilterRequestDto filter) {
+        logger.info("Подсчёт фасетов задач по фильтру: {}", filter);
+
+        return taskFilterCache.getFacets(
+                filter.normalize(),
+                key -> readOnlyTransaction.execute(status -> new TaskFacetsResponseDto(
+                        countByStatus(key),
+                        countByAssociation(key, "project", JoinType.INNER, "name"),
+                        countByAssociation(key, "release", JoinType.INNER, "version"),
+                        countByAssociation(key, "executor", JoinType.LEFT, "name")
+                ))
+        );
     }
 
+    @Transactional(readOnly = true)
     @Override
-    public List<TaskResponseDto> getFilteredTasks(
-            String name,
-            String description,
-            TaskStatus status,
-            String projectName,
-            String releaseVersion,
-            String authorName,
-            String executorName
+    public void streamFilteredTasks(TaskFilterRequestDto filter, TaskFilterSort sort, Consumer<TaskResponseDto> consumer) {
+        logger.info("Потоковая выгрузка задач по фильтру: {}, сортировка: {}", filter, sort);
+
+        TaskFilterRequestDto normalizedFilter = filter.normalize();
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Task> query = cb.createQuery(Task.class);
+        Root<Task> root = query.from(Task.class);
+        query.where(buildPredicates(normalizedFilter, root, cb).toArray(new Predicate[0]))
+                .orderBy(buildOrders(normalizedFilter, sort, root, cb));
+
+        long count = EntityStreams.forEachDetached(
+                entityManager,
+                entityManager.createQuery(query)
+                        .setHint(QueryHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                        .setHint(QueryHints.HINT_READONLY, true)
+                        .setHint(QueryHints.HINT_FETCHGRAPH, entityManager.getEntityGraph(Task.WITH_ASSOCIATIONS_GRAPH))
+                        .getResultStream(),
+                this::convertFromEntityToResponse,
+                consumer
+        );
+        logger.debug(String.format("Выгружено задач по фильтру: %d", count));
+    }
+
+    private CursorPageResponseDto<TaskResponseDto> findPage(TaskFilterCache.PageKey key) {
+        TaskFilterRequestDto filter = key.getFilter();
+        TaskFilterSort sort = key.getSort();
+        int pageLimit = key.getLimit();
+        TaskFilterCursor cursor = TaskFilterCursor.decode(sort, key.getAfter());
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskView> query = cb.createQuery(TaskView.class);
+        Root<Task> root = query.from(Task.class);
+        Join<Task, ?> project = root.join("project");
+        Join<?, ?> customer = project.join("customer");
+        Join<Task, ?> release = root.join("release");
+        Join<Task, ?> author = root.join("author");
+        Join<Task, ?> executor = root.join("executor", JoinType.LEFT);
+        query.select(cb.construct(
+                TaskView.class,
+                root.get("id"), root.get("name"), root.get("description"), root.get("status"),
+                project.get("id"), project.get("name"), project.get("status"), project.get("price"),
+                customer.get("id"), customer.get("login"), customer.get("name"), customer.get("bankAccountId"),
+                release.get("id"), release.get("version"), release.get("startTime"), release.get("finishTime"),
+                author.get("id"), author.get("login"), author.get("name"), author.get("bankAccountId"),
+                executor.get("id"), executor.get("login"), executor.get("name"), executor.get("bankAccountId")
+        ));
+        // условия фильтра используют уже созданные join-ы, см. join(...)
+        List<Predicate> predicates = buildPredicates(filter, root, cb);
+        if (cursor != null) {
+            predicates.add(cursor.toPredicate(cb, root));
+        }
+        query.where(predicates.toArray(new Predicate[0]))
+                .orderBy(buildOrders(filter, sort, root, cb));
+
+        long offset = cursor == null ? 0L : cursor.getOffset();
+        TypedQuery<TaskView> typedQuery = entityManager.createQuery(query)
+                .setFirstResult((int) offset)
+                .setMaxResults(pageLimit + 1);
+        List<TaskView> rows = typedQuery.getResultList();
+
+        boolean hasNext = rows.size() > pageLimit;
+        List<TaskView> pageRows = hasNext ? rows.subList(0, pageLimit) : rows;
+        String next = hasNext
+                ? TaskFilterCursor.after(sort, pageRows.get(pageRows.size() - 1), offset + pageLimit)
+                : null;
+
+        Map<Long, Set<Role>> roles = userService.getRolesByUserIds(TaskView.collectUserIds(pageRows));
+        List<TaskResponseDto> items = pageRows.stream()
+                .map(view -> taskMapper.toResponse(view, roles))
+                .collect(Collectors.toList());
+
+        return new CursorPageResponseDto<>(items, next, pageLimit, null);
+    }
+
+    private long count(TaskFilterRequestDto filter) {
+        logger.debug("Подсчёт задач по фильтру: {}", filter);
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Task> root = query.from(Task.class);
+        query.select(cb.count(root))
+                .where(buildPredicates(filter, root, cb).toArray(new Predicate[0]));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private List<FacetCountResponseDto> countByStatus(TaskFilterRequestDto filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<FacetCountResponseDto> query = cb.createQuery(FacetCountResponseDto.class);
+        Root<Task> root = query.from(Task.class);
+        Expression<Long> count = cb.count(root);
+        query.select(cb.construct(FacetCountResponseDto.class, root.get("status"), count))
+                .where(buildPredicates(filter, root, cb).toArray(new Predicate[0]))
+                .groupBy(root.get("status"))
+                .orderBy(cb.desc(count));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    /**
+     * Количество задач по связанной сущности: GROUP BY по её ID и отображаемому полю
+     */
+    private List<FacetCountResponseDto> countByAssociation(
+            TaskFilterRequestDto filter,
+            String attribute,
+            JoinType joinType,
+            String valueAttribute
     ) {
-        logger.info("Поиск задачи по фильтру: Название задачи:{}, Описание задачи: {}, Статус задачи: {}, " +
-                        "Название проекта: {}, Версия релиза: {}, Имя автора задачи: {}, Имя исполнителя Задачи: {} ",
-                name, description, status, projectName, releaseVersion, authorName, executorName);
-
-        List<Task> filteredTasks = taskRepository.findAll((root, query, cb) -> {
-            List<Predicate> predicates = new ArrayList<>();
-
-            if (!StringUtils.isBlank(name)) {
-                predicates.add(cb.like(root.get("name"), "%" + name + "%"));
-            }
-
-            if (description != null && !description.isEmpty()) {
-                predicates.add(cb.like(root.get("description"), "%" + description + "%"));
-            }
-
-            if (status != null) {
-                predicates.add(cb.equal(root.get("status"), status));
-            }
-
-            if (projectName != null && !projectName.isEmpty()) {
-                predicates.add(cb.like(root.join("project").get("name"), "%" + projectName + "%"));
-            }
-
-            if (releaseVersion != null && !releaseVersion.isEmpty()) {
-                predicates.add(cb.equal(root.join("release").get("version"), releaseVersion));
-            }
-
-            if (authorName != null && !authorName.isEmpty()) {
-                predicates.add(cb.like(root.join("author").get("name"), "%" + authorName + "%"));
-            }
-
-            if (executorName != null && !executorName.isEmpty()) {
-                predicates.add(cb.like(root.join("executor").get("name"), "%" + executorName + "%"));
-            }
-
-            return query
-                    .where(predicates.toArray(new Predicate[predicates.size()]))
-                    .orderBy(cb.asc(root.get("name")))
-                    .getRestriction();
-        });
-
-        return filteredTasks.stream()
-                .map(entity -> convertFromEntityToResponse(entity))
-                .collect(Collectors.toList()
-                );
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<FacetCountResponseDto> query = cb.createQuery(FacetCountResponseDto.class);
+        Root<Task> root = query.from(Task.class);
+        // join создаётся до условий фильтра, чтобы они использовали его же (см. join(...))
+        Join<Task, ?> association = root.join(attribute, joinType);
+        Expression<Long> count = cb.count(root);
+        query.select(cb.construct(
+                        FacetCountResponseDto.class, association.get("id"), association.get(valueAttribute), count
+                ))
+                .where(buildPredicates(filter, root, cb).toArray(new Predicate[0]))
+                .groupBy(association.get("id"), association.get(valueAttribute))
+                .orderBy(cb.desc(count));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    private List<Predicate> buildPredicates(TaskFilterRequestDto filter, Root<Task> root, CriteriaBuilder cb) {
+        List<Predicate> predicates = new ArrayList<>();
+
+        if (!StringUtils.isBlank(filter.getName())) {
+            predicates.add(cb.like(root.get("name"), "%" + filter.getName() + "%"));
+        }
+
+        if (filter.getDescription() != null && !filter.getDescription().isEmpty()) {
+            predicates.add(cb.like(root.get("description"), "%" + filter.getDescription() + "%"));
+        }
+
+        if (filter.getStatus() != null) {
+            predicates.add(cb.equal(root.get("status"), filter.getStatus()));
+        }
+
+        if (filter.getProjectName() != null && !filter.getProjectName().isEmpty()) {
+            predicates.add(cb.like(join(root, "project").get("name"), "%" + filter.getProjectName() + "%"));
+        }
+
+        if (filter.getReleaseVersion() != null && !filter.getReleaseVersion().isEmpty()) {
+            predicates.add(cb.equal(join(root, "release").get("version"), filter.getReleaseVersion()));
+        }
+
+        if (filter.getAuthorName() != null && !filter.getAuthorName().isEmpty()) {
+            predicates.add(cb.like(join(root, "author").get("name"), "%" + filter.getAuthorName() + "%"));
+        }
+
+        if (filter.getExecutorName() != null && !filter.getExecutorName().isEmpty()) {
+            predicates.add(cb.like(join(root, "executor").get("name"), "%" + filter.getExecutorName() + "%"));
+        }
+
+        return predicates;
+    }
+
+    /**
+     * Порядок строк для выбранной сортировки; последним всегда идёт ID, чтобы порядок был однозначным
+     */
+    private List<Order> buildOrders(TaskFilterRequestDto filter, TaskFilterSort sort, Root<Task> root, CriteriaBuilder cb) {
+        List<Order> orders = new ArrayList<>();
+        switch (sort) {
+            case NAME_DESC:
+                orders.add(cb.desc(root.get("name")));
+                orders.add(cb.desc(root.get("id")));
+                break;
+            case ID:
+                orders.add(cb.asc(root.get("id")));
+                break;
+            case ID_DESC:
+                orders.add(cb.desc(root.get("id")));
+                break;
+            case RELEVANCE:
+                buildRelevance(filter, root, cb).ifPresent(relevance -> orders.add(cb.desc(relevance)));
+                orders.add(cb.asc(root.get("name")));
+                orders.add(cb.asc(root.get("id")));
+                break;
+            default:
+                orders.add(cb.asc(root.get("name")));
+                orders.add(cb.asc(root.get("id")));
+        }
+        return orders;
+    }
+
+    /**
+     * Релевантность - сумма триграммного сходства (функция similarity расширения pg_trgm)
+     * по всем заданным текстовым условиям фильтра
+     */
+    private Optional<Expression<Float>> buildRelevance(TaskFilterRequestDto filter, Root<Task> root, CriteriaBuilder cb) {
+        List<Expression<Float>> similarities = new ArrayList<>();
+        if (!StringUtils.isBlank(filter.getName())) {
+            similarities.add(similarity(cb, root.get("name"), filter.getName()));
+        }
+        if (filter.getDescription() != null && !filter.getDescription().isEmpty()) {
+            similarities.add(similarity(cb, root.get("description"), filter.getDescription()));
+        }
+        if (filter.getProjectName() != null && !filter.getProjectName().isEmpty()) {
+            similarities.add(similarity(cb, join(root, "project").get("name"), filter.getProjectName()));
+        }
+        if (filter.getAuthorName() != null && !filter.getAuthorName().isEmpty()) {
+            similarities.add(similarity(cb, join(root, "author").get("name"), filter.getAuthorName()));
+        }
+        if (filter.getExecutorName() != null && !filter.getExecutorName().isEmpty()) {
+            similarities.add(similarity(cb, join(root, "executor").get("name"), filter.getExecutorName()));
+        }
+        return similarities.stream().reduce(cb::sum);
+    }
+
+    /**
+     * Триграммное сходство строки с искомым текстом, от 0 до 1
+     */
+    private static Expression<Float> similarity(CriteriaBuilder cb, Expression<String> value, String text) {
+        return cb.function("similarity", Float.class, value, cb.literal(text));
+    }
+
+    /**
+     * Join к связанной сущности: уже созданный в запросе (например, для выборки колонок проекции)
+     * используется повторно, иначе добавляется новый внутренний join
+     */
+    private static From<?, ?> join(Root<Task> root, String attribute) {
+        return root.getJoins().stream()
+                .filter(join -> join.getAttribute().getName().equals(attribute))
+                .findFirst()
+                .<From<?, ?>>map(join -> join)
+                .orElseGet(() -> root.join(attribute));
     }
 
     private TaskResponseDto convertFromEntityToResponse(Task task) {
-        return modelMapper.map(task, TaskResponseDto.class);
+        return taskMapper.toResponse(task);
     }
 }
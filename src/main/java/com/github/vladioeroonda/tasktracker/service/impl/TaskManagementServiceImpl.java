@@ -1,24 +1,39 @@
 package com.github.vladioeroonda.tasktracker.service.impl;
 
+import com.github.vladioeroonda.tasktracker.dto.projection.TaskReferencesView;
 import com.github.vladioeroonda.tasktracker.dto.request.TaskRequestDto;
 import com.github.vladioeroonda.tasktracker.dto.response.TaskResponseDto;
+import com.github.vladioeroonda.tasktracker.exception.DomainException;
+import com.github.vladioeroonda.tasktracker.exception.ProjectNotFoundException;
+import com.github.vladioeroonda.tasktracker.exception.ReleaseNotFoundException;
 import com.github.vladioeroonda.tasktracker.exception.TaskBadDataException;
-import com.github.vladioeroonda.tasktracker.model.Task;
+import com.github.vladioeroonda.tasktracker.exception.TaskNotFoundException;
+import com.github.vladioeroonda.tasktracker.exception.UserNotFoundException;
+import com.github.vladioeroonda.tasktracker.model.Project;
+import com.github.vladioeroonda.tasktracker.model.ProjectStatus;
+import com.github.vladioeroonda.tasktracker.model.Release;
 import com.github.vladioeroonda.tasktracker.model.TaskStatus;
+import com.github.vladioeroonda.tasktracker.model.User;
 import com.github.vladioeroonda.tasktracker.repository.TaskRepository;
-import com.github.vladioeroonda.tasktracker.service.ProjectService;
-import com.github.vladioeroonda.tasktracker.service.ReleaseService;
 import com.github.vladioeroonda.tasktracker.service.TaskManagementService;
 import com.github.vladioeroonda.tasktracker.service.TaskService;
-import com.github.vladioeroonda.tasktracker.service.UserService;
+import com.github.vladioeroonda.tasktracker.util.TransactionMemo;
 import com.github.vladioeroonda.tasktracker.util.Translator;
-import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
 @Service
 public class TaskManagementServiceImpl implements TaskManagementService {
     private static final Logger logger = LoggerFactory.getLogger(TaskManagementServiceImpl.class);
@@ -30,25 +45,25 @@ public class TaskManagementServiceImpl implements TaskManagementService {
 
     private final TaskService taskService;
     private final TaskRepository taskRepository;
-    private final UserService userService;
-    private final ReleaseService releaseService;
-    private final ProjectService projectService;
-    private final ModelMapper modelMapper;
+    private final EntityManager entityManager;
+    private final TaskFilterCache taskFilterCache;
+    private final ReleaseTaskCounter releaseTaskCounter;
+    private final TransactionMemo transactionMemo;
 
     public TaskManagementServiceImpl(
             TaskService taskService,
             TaskRepository taskRepository,
-            UserService userService,
-            ReleaseService releaseService,
-            ProjectService projectService,
-            ModelMapper modelMapper
+            EntityManager entityManager,
+            TaskFilterCache taskFilterCache,
+            ReleaseTaskCounter releaseTaskCounter,
+            TransactionMemo transactionMemo
     ) {
         this.taskService = taskService;
         this.taskRepository = taskRepository;
-        this.userService = userService;
-        this.releaseService = releaseService;
-        this.projectService = projectService;
-        this.modelMapper = modelMapper;
+        this.entityManager = entityManager;
+        this.taskFilterCache = taskFilterCache;
+        this.releaseTaskCounter = releaseTaskCounter;
+        this.transactionMemo = transactionMemo;
     }
 
     @Transactional
@@ -56,14 +71,14 @@ public class TaskManagementServiceImpl implements TaskManagementService {
     public TaskResponseDto updateTask(TaskRequestDto taskRequestDto) {
         logger.info("Выполнение Задачи (изменение полей)");
 
-        fieldsCheckForExisting(taskRequestDto);
+        TaskReferencesView references = checkReferences(taskRequestDto);
 
         if (taskRequestDto.getName()==null){
             TaskBadDataException exception =
                     new TaskBadDataException(
                             "Не указано имя Задачи"
                     );
-            logger.error(exception.getMessage(), exception);
+            logger.error("{}", exception.lazyMessage(), exception);
             throw exception;
         }
 
@@ -72,59 +87,128 @@ public class TaskManagementServiceImpl implements TaskManagementService {
                     new TaskBadDataException(
                             "Не указано описание Задачи"
                     );
-            logger.error(exception.getMessage(), exception);
+            logger.error("{}", exception.lazyMessage(), exception);
             throw exception;
         }
 
         if (taskRequestDto.getName().length() < minNameLength) {
             TaskBadDataException exception =
                     new TaskBadDataException(
-                            String.format(Translator.toLocale("exception.task.too-short-task-name"), taskRequestDto.getName(), minNameLength)
+                            Translator.deferred("exception.task.too-short-task-name", taskRequestDto.getName(), minNameLength)
                     );
-            logger.error(exception.getMessage(), exception);
+            logger.error("{}", exception.lazyMessage(), exception);
             throw exception;
         }
 
         if (taskRequestDto.getDescription().length() < minDescriptionLength) {
             TaskBadDataException exception =
                     new TaskBadDataException(
-                            String.format(Translator.toLocale("exception.task.too-short-task-description"), minDescriptionLength)
+                            Translator.deferred("exception.task.too-short-task-description", minDescriptionLength)
                     );
-            logger.error(exception.getMessage(), exception);
+            logger.error("{}", exception.lazyMessage(), exception);
             throw exception;
         }
 
         if (!taskRequestDto.getStatus().equals(TaskStatus.BACKLOG) && taskRequestDto.getExecutor() == null) {
             TaskBadDataException exception =
-                    new TaskBadDataException(String.format(
-                            Translator.toLocale("exception.task-management.task-with-id-has-no-executor"), taskRequestDto.getId(), TaskStatus.BACKLOG)
+                    new TaskBadDataException(Translator.deferred(
+                            "exception.task-management.task-with-id-has-no-executor", taskRequestDto.getId(), TaskStatus.BACKLOG)
                     );
-            logger.error(exception.getMessage(), exception);
+            logger.error("{}", exception.lazyMessage(), exception);
             throw exception;
         }
 
-        Task taskForSave = convertFromRequestToEntity(taskRequestDto);
-        Task updatedTask = taskRepository.save(taskForSave);
-        return convertFromEntityToResponse(updatedTask);
-    }
+        if (!references.getProjectId().equals(references.getCurrentProjectId())
+                && references.getProjectStatus() == ProjectStatus.FINISHED) {
+            TaskBadDataException exception =
+                    new TaskBadDataException(Translator.deferred("exception.task.cant-add-task-to-closed-project"));
+            logger.error("{}", exception.lazyMessage(), exception);
+            throw exception;
+        }
+
+        if (!references.getReleaseId().equals(references.getCurrentReleaseId())
+                && Boolean.TRUE.equals(references.getReleaseClosed())) {
+            TaskBadDataException exception =
+                    new TaskBadDataException(Translator.deferred("exception.task.cant-add-task-to-closed-release"));
+            logger.error("{}", exception.lazyMessage(), exception);
+            throw exception;
+        }
 
-    private void fieldsCheckForExisting(TaskRequestDto taskRequestDto) {
+        taskRepository.updateTask(
+                taskRequestDto.getId(),
+                taskRequestDto.getName(),
+                taskRequestDto.getDescription(),
+                taskRequestDto.getStatus(),
+                entityManager.getReference(Project.class, references.getProjectId()),
+                entityManager.getReference(Release.class, references.getReleaseId()),
+                entityManager.getReference(User.class, references.getAuthorId()),
+                references.getExecutorId() == null ? null : entityManager.getReference(User.class, references.getExecutorId())
+        );
+        releaseTaskCounter.taskMoved(
+                references.getCurrentReleaseId(),
+                references.getCurrentStatus(),
+                references.getReleaseId(),
+                taskRequestDto.getStatus()
+        );
+        taskFilterCache.invalidateAll();
+        transactionMemo.clear();
+        return taskService.getTaskByIdAndReturnResponseDto(taskRequestDto.getId());
+    }
 
-        taskService.checkTaskExistsById(taskRequestDto.getId());
-        projectService.checkProjectExistsById(taskRequestDto.getProject().getId());
-        releaseService.checkReleaseExistsById(taskRequestDto.getRelease().getId());
-        userService.checkUserExistsById(taskRequestDto.getAuthor().getId());
+    /**
+     * Проверка всех ссылок Задачи одним запросом. Если чего-то нет, выбрасывается исключение
+     * первой отсутствующей ссылки (в порядке Задача, Проект, Релиз, Автор, Исполнитель),
+     * а его сообщение, которое получает клиент, перечисляет все отсутствующие ссылки
+     * (остальные исключения приложены как suppressed)
+     */
+    private TaskReferencesView checkReferences(TaskRequestDto taskRequestDto) {
+        Long executorId = taskRequestDto.getExecutor() == null ? null : taskRequestDto.getExecutor().getId();
+        TaskReferencesView references = taskRepository.findReferences(
+                taskRequestDto.getId(),
+                taskRequestDto.getProject().getId(),
+                taskRequestDto.getRelease().getId(),
+                taskRequestDto.getAuthor().getId(),
+                executorId
+        );
+
+        Map<Supplier<String>, Function<Supplier<String>, DomainException>> missing = new LinkedHashMap<>();
+        if (references.getTaskId() == null) {
+            missing.put(Translator.deferred("exception.task.not-found-by-id", taskRequestDto.getId()),
+                    TaskNotFoundException::new);
+        }
+        if (references.getProjectId() == null) {
+            missing.put(Translator.deferred("exception.project.not-found-by-id", taskRequestDto.getProject().getId()),
+                    ProjectNotFoundException::new);
+        }
+        if (references.getReleaseId() == null) {
+            missing.put(Translator.deferred("exception.release.not-found-by-id", taskRequestDto.getRelease().getId()),
+                    ReleaseNotFoundException::new);
+        }
+        if (references.getAuthorId() == null) {
+            missing.put(Translator.deferred("exception.user.not-found-by-id", taskRequestDto.getAuthor().getId()),
+                    UserNotFoundException::new);
+        }
+        if (executorId != null && references.getExecutorId() == null) {
+            missing.put(Translator.deferred("exception.user.not-found-by-id", executorId),
+                    UserNotFoundException::new);
+        }
 
-        if (taskRequestDto.getExecutor() != null) {
-            userService.checkUserExistsById(taskRequestDto.getExecutor().getId());
+        if (missing.isEmpty()) {
+            return references;
         }
-    }
 
-    private Task convertFromRequestToEntity(TaskRequestDto requestDto) {
-        return modelMapper.map(requestDto, Task.class);
-    }
+        List<Supplier<String>> messages = new ArrayList<>(missing.keySet());
+        List<Function<Supplier<String>, DomainException>> exceptions = new ArrayList<>(missing.values());
+        Supplier<String> message = messages.size() == 1
+                ? messages.get(0)
+                : Translator.deferred("exception.task-management.missing-references",
+                        messages.stream().map(Supplier::get).collect(Collectors.joining("; ")));
 
-    private TaskResponseDto convertFromEntityToResponse(Task task) {
-        return modelMapper.map(task, TaskResponseDto.class);
+        DomainException exception = exceptions.get(0).apply(message);
+        for (int i = 1; i < messages.size(); i++) {
+            exception.addSuppressed(exceptions.get(i).apply(messages.get(i)));
+        }
+        logger.error("{}", exception.lazyMessage(), exception);
+        throw exception;
     }
 }
@@ -1,17 +1,17 @@
 package com.github.vladioeroonda.tasktracker.service.impl;
 
-import com.github.vladioeroonda.tasktracker.dto.request.ProjectRequestDto;
-import com.github.vladioeroonda.tasktracker.dto.request.ReleaseRequestDto;
+import com.github.vladioeroonda.tasktracker.dto.projection.TaskView;
 import com.github.vladioeroonda.tasktracker.dto.request.TaskRequestDto;
-import com.github.vladioeroonda.tasktracker.dto.request.UserRequestDto;
+import com.github.vladioeroonda.tasktracker.dto.response.FacetCountResponseDto;
+import com.github.vladioeroonda.tasktracker.dto.response.PageResponseDto;
 import com.github.vladioeroonda.tasktracker.dto.response.TaskResponseDto;
-import com.github.vladioeroonda.tasktracker.exception.CSVParsingException;
 import com.github.vladioeroonda.tasktracker.exception.TaskBadDataException;
 import com.github.vladioeroonda.tasktracker.exception.TaskNotFoundException;
-import com.github.vladioeroonda.tasktracker.exception.WrongFileTypeException;
+import com.github.vladioeroonda.tasktracker.mapper.TaskMapper;
 import com.github.vladioeroonda.tasktracker.model.Project;
 import com.github.vladioeroonda.tasktracker.model.ProjectStatus;
 import com.github.vladioeroonda.tasktracker.model.Release;
+import com.github.vladioeroonda.tasktracker.model.Role;
 import com.github.vladioeroonda.tasktracker.model.Task;
 import com.github.vladioeroonda.tasktracker.model.TaskStatus;
 import com.github.vladioeroonda.tasktracker.model.User;
@@ -20,24 +20,22 @@ import com.github.vladioeroonda.tasktracker.service.ProjectService;
 import com.github.vladioeroonda.tasktracker.service.ReleaseService;
 import com.github.vladioeroonda.tasktracker.service.TaskService;
 import com.github.vladioeroonda.tasktracker.service.UserService;
+import com.github.vladioeroonda.tasktracker.util.EntityStreams;
+import com.github.vladioeroonda.tasktracker.util.KeysetPaginator;
+import com.github.vladioeroonda.tasktracker.util.TransactionMemo;
 import com.github.vladioeroonda.tasktracker.util.Translator;
-import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVParser;
-import org.apache.commons.csv.CSVRecord;
-import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.multipart.MultipartFile;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStreamReader;
+import javax.persistence.EntityManager;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 @Service
 public class TaskServiceImpl implements TaskService {
@@ -52,77 +50,116 @@ public class TaskServiceImpl implements TaskService {
     private final ProjectService projectService;
     private final ReleaseService releaseService;
     private final UserService userService;
-    private final ModelMapper modelMapper;
+    private final TaskMapper taskMapper;
+    private final KeysetPaginator keysetPaginator;
+    private final EntityManager entityManager;
+    private final TaskFilterCache taskFilterCache;
+    private final ReleaseTaskCounter releaseTaskCounter;
+    private final TransactionMemo transactionMemo;
 
     public TaskServiceImpl(
             TaskRepository taskRepository,
             ProjectService projectService,
             ReleaseService releaseService,
             UserService userService,
-            ModelMapper modelMapper
+            TaskMapper taskMapper,
+            KeysetPaginator keysetPaginator,
+            EntityManager entityManager,
+            TaskFilterCache taskFilterCache,
+            ReleaseTaskCounter releaseTaskCounter,
+            TransactionMemo transactionMemo
     ) {
         this.taskRepository = taskRepository;
         this.projectService = projectService;
         this.releaseService = releaseService;
         this.userService = userService;
-        this.modelMapper = modelMapper;
+        this.taskMapper = taskMapper;
+        this.keysetPaginator = keysetPaginator;
+        this.entityManager = entityManager;
+        this.taskFilterCache = taskFilterCache;
+        this.releaseTaskCounter = releaseTaskCounter;
+        this.transactionMemo = transactionMemo;
     }
 
     @Transactional
     @Override
-    public List<TaskResponseDto> getAllTasks() {
+    public PageResponseDto<TaskResponseDto> getAllTasks(Long after, Integer limit) {
         logger.info("Получение списка Задач");
 
-        List<Task> tasks = taskRepository.findAll();
-        return tasks.stream()
-                .map(entity -> convertFromEntityToResponse(entity))
-                .collect(Collectors.toList()
-                );
+        int pageLimit = keysetPaginator.resolveLimit(limit);
+        List<TaskView> tasks = taskRepository.findViewsByIdGreaterThan(
+                keysetPaginator.resolveAfter(after),
+                keysetPaginator.probe(pageLimit)
+        );
+        Map<Long, Set<Role>> roles = userService.getRolesByUserIds(TaskView.collectUserIds(tasks));
+
+        return keysetPaginator.toPage(tasks, pageLimit, TaskView::getId, view -> taskMapper.toResponse(view, roles));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public void streamAllTasks(Consumer<TaskResponseDto> consumer) {
+        logger.info("Потоковая выгрузка списка Задач");
+
+        long count = EntityStreams.forEachDetached(
+                entityManager,
+                taskRepository.streamAllOrderById(),
+                this::convertFromEntityToResponse,
+                consumer
+        );
+        logger.debug(String.format("Выгружено Задач: %d", count));
     }
 
     @Transactional
     @Override
     public TaskResponseDto getTaskByIdAndReturnResponseDto(Long id) {
-        logger.info(String.format("Получение Задачи с id #%d", id));
-
-        Task task = taskRepository
-                .findById(id)
-                .orElseThrow(() -> {
-                    TaskNotFoundException exception =
-                            new TaskNotFoundException(String.format(Translator.toLocale("exception.task.not-found-by-id"), id));
-                    logger.debug(exception.getMessage(), exception);
-                    return exception;
-                });
-
-        return convertFromEntityToResponse(task);
+        return transactionMemo.get("TaskService.getTaskByIdAndReturnResponseDto", id, () -> {
+            logger.info(String.format("Получение Задачи с id #%d", id));
+
+            TaskView task = taskRepository
+                    .findViewById(id)
+                    .orElseThrow(() -> {
+                        TaskNotFoundException exception =
+                                new TaskNotFoundException(Translator.deferred("exception.task.not-found-by-id", id));
+                        logger.debug("{}", exception.lazyMessage(), exception);
+                        return exception;
+                    });
+
+            return taskMapper.toResponse(task, userService.getRolesByUserIds(TaskView.collectUserIds(List.of(task))));
+        });
     }
 
     @Transactional
     @Override
     public Task getTaskByIdAndReturnEntity(Long id) {
-        logger.info(String.format("Получение Задачи с id #%d", id));
-
-        return taskRepository
-                .findById(id)
-                .orElseThrow(() -> {
-                    TaskNotFoundException exception =
-                            new TaskNotFoundException(String.format(Translator.toLocale("exception.task.not-found-by-id"), id));
-                    logger.debug(exception.getMessage(), exception);
-                    return exception;
-                });
+        return transactionMemo.get("TaskService.getTaskByIdAndReturnEntity", id, () -> {
+            logger.info(String.format("Получение Задачи с id #%d", id));
+
+            return taskRepository
+                    .findById(id)
+                    .orElseThrow(() -> {
+                        TaskNotFoundException exception =
+                                new TaskNotFoundException(Translator.deferred("exception.task.not-found-by-id", id));
+                        logger.debug("{}", exception.lazyMessage(), exception);
+                        return exception;
+                    });
+        });
     }
 
     @Transactional
     @Override
     public void checkTaskExistsById(Long id) {
-        logger.info(String.format("Проверка существования Задачи с id #%d", id));
-
-        if (taskRepository.findById(id).isEmpty()) {
-            TaskNotFoundException exception
-                    = new TaskNotFoundException(String.format(Translator.toLocale("exception.task.not-found-by-id"), id));
-            logger.error(exception.getMessage(), exception);
-            throw exception;
-        }
+        transactionMemo.get("TaskService.checkTaskExistsById", id, () -> {
+            logger.info(String.format("Проверка существования Задачи с id #%d", id));
+
+            if (taskRepository.findById(id).isEmpty()) {
+                TaskNotFoundException exception
+                        = new TaskNotFoundException(Translator.deferred("exception.task.not-found-by-id", id));
+                logger.error("{}", exception.lazyMessage(), exception);
+                throw exception;
+            }
+            return Boolean.TRUE;
+        });
     }
 
     @Transactional
@@ -137,102 +174,57 @@ public class TaskServiceImpl implements TaskService {
         if (taskRequestDto.getName().length() < minNameLength) {
             TaskBadDataException exception =
                     new TaskBadDataException(
-                            String.format(Translator.toLocale("exception.task.too-short-task-name"),
+                            Translator.deferred("exception.task.too-short-task-name",
                                     taskRequestDto.getName(),
                                     minNameLength)
                     );
-            logger.error(exception.getMessage(), exception);
+            logger.error("{}", exception.lazyMessage(), exception);
             throw exception;
         }
 
         if (taskRequestDto.getDescription().length() < minDescriptionLength) {
             TaskBadDataException exception =
                     new TaskBadDataException(
-                            String.format(Translator.toLocale("exception.task.too-short-task-description"), minDescriptionLength)
+                            Translator.deferred("exception.task.too-short-task-description", minDescriptionLength)
                     );
-            logger.error(exception.getMessage(), exception);
+            logger.error("{}", exception.lazyMessage(), exception);
             throw exception;
         }
 
-        Project project =
-                projectService.getProjectByIdAndReturnEntity(taskRequestDto.getProject().getId());
-
-        if (project.getStatus() == ProjectStatus.FINISHED) {
+        Long projectId = taskRequestDto.getProject().getId();
+        if (projectService.getProjectStatusById(projectId) == ProjectStatus.FINISHED) {
             TaskBadDataException exception =
-                    new TaskBadDataException(Translator.toLocale("exception.task.cant-add-task-to-closed-project"));
-            logger.error(exception.getMessage(), exception);
+                    new TaskBadDataException(Translator.deferred("exception.task.cant-add-task-to-closed-project"));
+            logger.error("{}", exception.lazyMessage(), exception);
             throw exception;
         }
-        taskForSave.setProject(project);
-
-        Release release =
-                releaseService.getReleaseByIdAndReturnEntity(taskRequestDto.getRelease().getId());
+        taskForSave.setProject(entityManager.getReference(Project.class, projectId));
 
-        if (release.getFinishTime() != null) {
+        Long releaseId = taskRequestDto.getRelease().getId();
+        if (releaseService.isReleaseClosed(releaseId)) {
             TaskBadDataException exception =
-                    new TaskBadDataException(Translator.toLocale("exception.task.cant-add-task-to-closed-release"));
-            logger.error(exception.getMessage(), exception);
+                    new TaskBadDataException(Translator.deferred("exception.task.cant-add-task-to-closed-release"));
+            logger.error("{}", exception.lazyMessage(), exception);
             throw exception;
         }
-        taskForSave.setRelease(release);
+        taskForSave.setRelease(entityManager.getReference(Release.class, releaseId));
 
-        User author =
-                userService.getUserByIdAndReturnEntity(taskRequestDto.getAuthor().getId());
-        taskForSave.setAuthor(author);
+        Long authorId = taskRequestDto.getAuthor().getId();
+        userService.checkUserExistsById(authorId);
+        taskForSave.setAuthor(entityManager.getReference(User.class, authorId));
 
         if (taskRequestDto.getExecutor() != null) {
-            User executor =
-                    userService.getUserByIdAndReturnEntity(taskRequestDto.getExecutor().getId());
-            taskForSave.setExecutor(executor);
-        }
-
-        Task savedTask = taskRepository.save(taskForSave);
-        return convertFromEntityToResponse(savedTask);
-    }
-
-    @Override
-    public List<TaskResponseDto> addTaskByCsv(MultipartFile file) {
-        logger.info("Добавление Задачи с помощью CSV-файла");
-
-        logger.debug(String.format("Проверка типа файла: %s", file.getContentType()));
-
-        if (!file.getContentType().equals("text/csv")) {
-            WrongFileTypeException exception =
-                    new WrongFileTypeException(Translator.toLocale("exception.task.csv.wrong-format"));
-            logger.error(exception.getMessage(), exception);
-            throw exception;
+            Long executorId = taskRequestDto.getExecutor().getId();
+            userService.checkUserExistsById(executorId);
+            taskForSave.setExecutor(entityManager.getReference(User.class, executorId));
         }
 
-        List<TaskResponseDto> addedTasks = new ArrayList<>();
-        try (
-                BufferedReader fileReader =
-                        new BufferedReader(new InputStreamReader(file.getInputStream(), "UTF-8"));
-                CSVParser parser =
-                        new CSVParser(fileReader, CSVFormat.DEFAULT.withFirstRecordAsHeader().withTrim())//.withIgnoreHeaderCase()
-        ) {
-
-            Iterable<CSVRecord> csvRecords = parser.getRecords();
-            for (CSVRecord csvRecord : csvRecords) {
-                TaskRequestDto taskForSave = new TaskRequestDto();
-                taskForSave.setName(csvRecord.get("Name"));
-                taskForSave.setDescription(csvRecord.get("Description"));
-                taskForSave.setProject(new ProjectRequestDto(Long.parseLong(csvRecord.get("ProjectId"))));
-                taskForSave.setRelease(new ReleaseRequestDto(Long.parseLong(csvRecord.get("ReleaseId"))));
-                taskForSave.setAuthor(new UserRequestDto(Long.parseLong(csvRecord.get("AuthorId"))));
-                if (!csvRecord.get("ExecutorId").isEmpty() && !csvRecord.get("ExecutorId").isBlank()) {
-                    taskForSave.setExecutor(new UserRequestDto(Long.parseLong(csvRecord.get("ExecutorId"))));
-                }
-                addedTasks.add(addTask(taskForSave));
-            }
-
-        } catch (IOException e) {
-            CSVParsingException exception
-                    = new CSVParsingException(Translator.toLocale("exception.task.csv.parse-error"), e);
-            logger.error(exception.getMessage(), exception);
-            throw exception;
-        }
-
-        return addedTasks;
+        // связи заданы ссылками без загрузки, поэтому ответ собирается из проекции
+        Task savedTask = taskRepository.saveAndFlush(taskForSave);
+        releaseTaskCounter.taskAdded(releaseId, TaskStatus.BACKLOG);
+        taskFilterCache.invalidateAll();
+        transactionMemo.clear();
+        return getTaskByIdAndReturnResponseDto(savedTask.getId());
     }
 
     @Transactional
@@ -240,23 +232,41 @@ public class TaskServiceImpl implements TaskService {
     public void deleteTask(Long id) {
         logger.info(String.format("Удаление Задачи с id #%d", id));
 
+        // строка блокируется до чтения Релиза и статуса, иначе параллельное изменение Задачи сдвинет счётчики
         Task task = taskRepository
-                .findById(id)
+                .findByIdForUpdate(id)
                 .orElseThrow(() -> {
                     TaskNotFoundException exception =
-                            new TaskNotFoundException(String.format(Translator.toLocale("exception.task.not-found-by-id"), id));
-                    logger.error(exception.getMessage(), exception);
+                            new TaskNotFoundException(Translator.deferred("exception.task.not-found-by-id", id));
+                    logger.error("{}", exception.lazyMessage(), exception);
                     throw exception;
                 });
 
         taskRepository.delete(task);
+        releaseTaskCounter.taskRemoved(task.getRelease().getId(), task.getStatus());
+        taskFilterCache.invalidateAll();
+        transactionMemo.clear();
     }
 
     @Transactional
     @Override
     public int countUnfinishedTasksByReleaseId(Long id) {
-        releaseService.checkReleaseExistsById(id);
-        return taskRepository.countUnfinishedTasksByReleaseId(id);
+        return transactionMemo.get("TaskService.countUnfinishedTasksByReleaseId", id, () -> {
+            releaseService.checkReleaseExistsById(id);
+            return releaseTaskCounter.countUnfinished(id);
+        });
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<FacetCountResponseDto> getTaskCountsByReleaseId(Long id) {
+        return transactionMemo.get("TaskService.getTaskCountsByReleaseId", id, () -> {
+            releaseService.checkReleaseExistsById(id);
+
+            List<FacetCountResponseDto> counts = new ArrayList<>();
+            releaseTaskCounter.getCounts(id).forEach((status, count) -> counts.add(new FacetCountResponseDto(status, count)));
+            return counts;
+        });
     }
 
     @Transactional
@@ -264,13 +274,17 @@ public class TaskServiceImpl implements TaskService {
     public void setAllTasksCancelled(Long releaseId) {
         releaseService.checkReleaseExistsById(releaseId);
         taskRepository.setAllTasksCancelled(releaseId);
+        // задачи отменяются одним UPDATE, поэтому счётчики Релиза пересчитываются целиком
+        releaseTaskCounter.recount(releaseId);
+        taskFilterCache.invalidateAll();
+        transactionMemo.clear();
     }
 
     private Task convertFromRequestToEntity(TaskRequestDto requestDto) {
-        return modelMapper.map(requestDto, Task.class);
+        return taskMapper.toEntity(requestDto);
     }
 
     private TaskResponseDto convertFromEntityToResponse(Task task) {
-        return modelMapper.map(task, TaskResponseDto.class);
+        return taskMapper.toResponse(task);
     }
 }
@@ -0,0 +1,69 @@
+package com.github.vladioeroonda.tasktracker.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Кэш данных Пользователей для аутентификации по логину и паролю (DaoAuthenticationProvider),
+ * чтобы проверка не читала Пользователя и его роли из БД на каждом запросе.
+ * Хранятся неизменяемые снимки (логин, хэш пароля, роли), а не сущности; записи вытесняются
+ * по размеру и по времени жизни (user-details-cache.* файла application.properties).
+ *
+ * Снимок отдаётся копией: после аутентификации Spring Security стирает пароль в принципале,
+ * и это не должно затрагивать кэш. Если пароль не совпал с кэшированным, DaoAuthenticationProvider
+ * сам перечитывает Пользователя из БД, поэтому смена пароля не блокирует вход.
+ *
+ * Сервис Пользователей сбрасывает записи при изменении и удалении - сразу и повторно после коммита
+ * транзакции, чтобы параллельная аутентификация не вернула в кэш старый снимок.
+ */
+@Component
+public class UserDetailsCache implements UserCache {
+    private final Cache<String, UserDetails> users;
+
+    public UserDetailsCache(
+            @Value("${user-details-cache.max-size}") long maxSize,
+            @Value("${user-details-cache.ttl-seconds}") long ttlSeconds
+    ) {
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    @Override
+    public UserDetails getUserFromCache(String login) {
+        UserDetails snapshot = users.getIfPresent(login);
+        return snapshot == null ? null : copy(snapshot);
+    }
+
+    @Override
+    public void putUserInCache(UserDetails user) {
+        users.put(user.getUsername(), copy(user));
+    }
+
+    @Override
+    public void removeUserFromCache(String login) {
+        users.invalidate(login);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    users.invalidate(login);
+                }
+            });
+        }
+    }
+
+    private static UserDetails copy(UserDetails user) {
+        return User.withUserDetails(user).build();
+    }
+}
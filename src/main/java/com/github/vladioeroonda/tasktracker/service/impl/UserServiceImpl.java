@@ -1,14 +1,19 @@
 package com.github.vladioeroonda.tasktracker.service.impl;
 
+import com.github.vladioeroonda.tasktracker.dto.projection.UserRoleView;
 import com.github.vladioeroonda.tasktracker.dto.request.UserRequestDto;
+import com.github.vladioeroonda.tasktracker.dto.response.PageResponseDto;
 import com.github.vladioeroonda.tasktracker.dto.response.UserResponseDto;
 import com.github.vladioeroonda.tasktracker.exception.UserBadDataException;
 import com.github.vladioeroonda.tasktracker.exception.UserNotFoundException;
+import com.github.vladioeroonda.tasktracker.mapper.UserMapper;
+import com.github.vladioeroonda.tasktracker.model.Role;
 import com.github.vladioeroonda.tasktracker.model.User;
 import com.github.vladioeroonda.tasktracker.repository.UserRepository;
 import com.github.vladioeroonda.tasktracker.service.UserService;
+import com.github.vladioeroonda.tasktracker.util.KeysetPaginator;
+import com.github.vladioeroonda.tasktracker.util.TransactionMemo;
 import com.github.vladioeroonda.tasktracker.util.Translator;
-import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -17,82 +22,135 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 @Service
 public class UserServiceImpl implements UserService, UserDetailsService {
     private static final Logger logger = LoggerFactory.getLogger(UserServiceImpl.class);
 
     private final UserRepository userRepository;
-    private final ModelMapper modelMapper;
+    private final UserMapper userMapper;
+    private final KeysetPaginator keysetPaginator;
     private final PasswordEncoder passwordEncoder;
+    private final ReferenceDataCache referenceDataCache;
+    private final TaskFilterCache taskFilterCache;
+    private final ReleaseTaskCounter releaseTaskCounter;
+    private final TransactionMemo transactionMemo;
+    private final UserDetailsCache userDetailsCache;
 
     public UserServiceImpl(
             UserRepository userRepository,
-            ModelMapper modelMapper,
-            PasswordEncoder passwordEncoder) {
+            UserMapper userMapper,
+            KeysetPaginator keysetPaginator,
+            PasswordEncoder passwordEncoder,
+            ReferenceDataCache referenceDataCache,
+            TaskFilterCache taskFilterCache,
+            ReleaseTaskCounter releaseTaskCounter,
+            TransactionMemo transactionMemo,
+            UserDetailsCache userDetailsCache) {
         this.userRepository = userRepository;
-        this.modelMapper = modelMapper;
+        this.userMapper = userMapper;
+        this.keysetPaginator = keysetPaginator;
         this.passwordEncoder = passwordEncoder;
+        this.referenceDataCache = referenceDataCache;
+        this.taskFilterCache = taskFilterCache;
+        this.releaseTaskCounter = releaseTaskCounter;
+        this.transactionMemo = transactionMemo;
+        this.userDetailsCache = userDetailsCache;
     }
 
     @Transactional
     @Override
-    public List<UserResponseDto> getAllUsers() {
+    public PageResponseDto<UserResponseDto> getAllUsers(Long after, Integer limit) {
         logger.info("Получение списка всех Пользователей");
 
-        List<User> users = userRepository.findAll();
-        return users.stream()
-                .map(entity -> convertFromEntityToResponse(entity))
-                .collect(Collectors.toList()
-                );
+        int pageLimit = keysetPaginator.resolveLimit(limit);
+        List<UserResponseDto> users = userRepository.findResponsesByIdGreaterThan(
+                keysetPaginator.resolveAfter(after),
+                keysetPaginator.probe(pageLimit)
+        );
+        Set<Long> ids = new HashSet<>();
+        users.forEach(user -> ids.add(user.getId()));
+        Map<Long, Set<Role>> roles = getRolesByUserIds(ids);
+
+        return keysetPaginator.toPage(users, pageLimit, UserResponseDto::getId, user -> {
+            user.setRoles(new HashSet<>(roles.getOrDefault(user.getId(), Collections.emptySet())));
+            return user;
+        });
     }
 
     @Transactional
     @Override
     public UserResponseDto getUserByIdAndReturnResponseDto(Long id) {
-        logger.info(String.format("Получение Пользователя с id #%d", id));
+        return transactionMemo.get("UserService.getUserByIdAndReturnResponseDto", id, () -> {
+            logger.info(String.format("Получение Пользователя с id #%d", id));
 
-        User user = userRepository
-                .findById(id)
-                .orElseThrow(() -> {
-                    UserNotFoundException exception =
-                            new UserNotFoundException(String.format(Translator.toLocale("exception.user.not-found-by-id"), id));
-                    logger.error(exception.getMessage(), exception);
-                    throw exception;
-                });
+            User user = userRepository
+                    .findById(id)
+                    .orElseThrow(() -> {
+                        UserNotFoundException exception =
+                                new UserNotFoundException(Translator.deferred("exception.user.not-found-by-id", id));
+                        logger.error("{}", exception.lazyMessage(), exception);
+                        throw exception;
+                    });
 
-        return convertFromEntityToResponse(user);
+            return convertFromEntityToResponse(user);
+        });
     }
 
     @Transactional
     @Override
     public User getUserByIdAndReturnEntity(Long id) {
-        logger.info(String.format("Получение Пользователя с id #%d", id));
+        return transactionMemo.get("UserService.getUserByIdAndReturnEntity", id, () -> {
+            logger.info(String.format("Получение Пользователя с id #%d", id));
 
-        return userRepository
-                .findById(id)
-                .orElseThrow(() -> {
-                    UserNotFoundException exception =
-                            new UserNotFoundException(String.format(Translator.toLocale("exception.user.not-found-by-id"), id));
-                    logger.error(exception.getMessage(), exception);
-                    throw exception;
-                });
+            return userRepository
+                    .findById(id)
+                    .orElseThrow(() -> {
+                        UserNotFoundException exception =
+                                new UserNotFoundException(Translator.deferred("exception.user.not-found-by-id", id));
+                        logger.error("{}", exception.lazyMessage(), exception);
+                        throw exception;
+                    });
+        });
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Map<Long, Set<Role>> getRolesByUserIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Map<Long, Set<Role>> roles = new HashMap<>();
+        for (UserRoleView userRole : userRepository.findRolesByUserIds(ids)) {
+            roles.computeIfAbsent(userRole.getUserId(), id -> EnumSet.noneOf(Role.class)).add(userRole.getRole());
+        }
+        return roles;
     }
 
     @Transactional
     @Override
     public void checkUserExistsById(Long id) {
-        logger.info(String.format("Проверка существования Пользователя с id #%d", id));
+        transactionMemo.get("UserService.checkUserExistsById", id, () -> {
+            logger.info(String.format("Проверка существования Пользователя с id #%d", id));
 
-        if (userRepository.findById(id).isEmpty()) {
-            UserNotFoundException exception =
-                    new UserNotFoundException(String.format(Translator.toLocale("exception.user.not-found-by-id"), id));
-            logger.error(exception.getMessage(), exception);
-            throw exception;
-        }
+            if (!referenceDataCache.userExists(id)) {
+                UserNotFoundException exception =
+                        new UserNotFoundException(Translator.deferred("exception.user.not-found-by-id", id));
+                logger.error("{}", exception.lazyMessage(), exception);
+                throw exception;
+            }
+            return Boolean.TRUE;
+        });
     }
 
     @Transactional
@@ -102,8 +160,8 @@ public class UserServiceImpl implements UserService, UserDetailsService {
 
         if (userRepository.findUserByLoginIgnoreCase(userRequestDto.getLogin()).isPresent()) {
             UserBadDataException exception =
-                    new UserBadDataException(Translator.toLocale("exception.user.bad-data.login-already-exist"));
-            logger.error(exception.getMessage(), exception);
+                    new UserBadDataException(Translator.deferred("exception.user.bad-data.login-already-exist"));
+            logger.error("{}", exception.lazyMessage(), exception);
             throw exception;
         }
 
@@ -125,20 +183,20 @@ public class UserServiceImpl implements UserService, UserDetailsService {
                 .orElseThrow(() -> {
                     UserNotFoundException exception =
                             new UserNotFoundException(
-                                    String.format(
-                                            Translator.toLocale("exception.user.not-found-by-id"),
+                                    Translator.deferred(
+                                            "exception.user.not-found-by-id",
                                             userRequestDto.getId()
                                     )
                             );
-                    logger.error(exception.getMessage(), exception);
+                    logger.error("{}", exception.lazyMessage(), exception);
                     throw exception;
                 });
 
         Optional<User> userByLogin = userRepository.getUserByLogin(userRequestDto.getLogin());
         if (userByLogin.isPresent()) {
             UserBadDataException exception =
-                    new UserBadDataException(Translator.toLocale("exception.user.bad-data.login-already-exist"));
-            logger.error(exception.getMessage(), exception);
+                    new UserBadDataException(Translator.deferred("exception.user.bad-data.login-already-exist"));
+            logger.error("{}", exception.lazyMessage(), exception);
             throw exception;
         }
 
@@ -147,6 +205,10 @@ public class UserServiceImpl implements UserService, UserDetailsService {
         userForSave.setTasksAsExecutor(userFromDB.getTasksAsExecutor());
 
         User updatedUser = userRepository.save(userForSave);
+        userDetailsCache.removeUserFromCache(userFromDB.getLogin());
+        userDetailsCache.removeUserFromCache(updatedUser.getLogin());
+        taskFilterCache.invalidateAll();
+        transactionMemo.clear();
         return convertFromEntityToResponse(updatedUser);
     }
 
@@ -159,21 +221,27 @@ public class UserServiceImpl implements UserService, UserDetailsService {
                 .findById(id)
                 .orElseThrow(() -> {
                     UserNotFoundException exception = new UserNotFoundException(
-                            String.format(Translator.toLocale("exception.user.not-found-by-id"), id)
+                            Translator.deferred("exception.user.not-found-by-id", id)
                     );
-                    logger.error(exception.getMessage(), exception);
+                    logger.error("{}", exception.lazyMessage(), exception);
                     throw exception;
                 });
 
+        // задачи автора удаляются каскадом, поэтому вычитаются из счётчиков Релизов заранее
+        releaseTaskCounter.subtractTasksOfAuthor(id);
         userRepository.delete(user);
+        referenceDataCache.evictUser(id);
+        userDetailsCache.removeUserFromCache(user.getLogin());
+        taskFilterCache.invalidateAll();
+        transactionMemo.clear();
     }
 
     private User convertFromRequestToEntity(UserRequestDto requestDto) {
-        return modelMapper.map(requestDto, User.class);
+        return userMapper.toEntity(requestDto);
     }
 
     private UserResponseDto convertFromEntityToResponse(User user) {
-        return modelMapper.map(user, UserResponseDto.class);
+        return userMapper.toResponse(user);
     }
 
     @Transactional
@@ -183,9 +251,9 @@ public class UserServiceImpl implements UserService, UserDetailsService {
                 .getUserByLogin(login)
                 .orElseThrow(() -> {
                     UserNotFoundException exception = new UserNotFoundException(
-                            String.format(Translator.toLocale("exception.user.not-found-by-login"), login)
+                            Translator.deferred("exception.user.not-found-by-login", login)
                     );
-                    logger.error(exception.getMessage(), exception);
+                    logger.error("{}", exception.lazyMessage(), exception);
                     throw exception;
                 });
     }
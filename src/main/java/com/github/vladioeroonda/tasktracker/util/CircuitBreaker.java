@@ -0,0 +1,72 @@
+package com.github.vladioeroonda.tasktracker.util;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Простой автоматический выключатель для вызовов внешнего сервиса.
+ * После failureThreshold неудачных вызовов подряд выключатель размыкается, и вызовы отклоняются сразу,
+ * не дожидаясь таймаута. Через openDuration пропускается один пробный вызов: успех замыкает выключатель,
+ * неудача - снова размыкает его на openDuration.
+ */
+public class CircuitBreaker {
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openDurationMillis;
+    private final Clock clock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openUntil;
+    private boolean trialInProgress;
+
+    public CircuitBreaker(int failureThreshold, Duration openDuration, Clock clock) {
+        this.failureThreshold = failureThreshold;
+        this.openDurationMillis = openDuration.toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * @return true - если вызов можно выполнять; тогда по его итогу нужно вызвать onSuccess или onFailure
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN && clock.millis() >= openUntil) {
+            state = State.HALF_OPEN;
+            trialInProgress = false;
+        }
+        switch (state) {
+            case CLOSED:
+                return true;
+            case HALF_OPEN:
+                if (trialInProgress) {
+                    return false;
+                }
+                trialInProgress = true;
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        state = State.CLOSED;
+        trialInProgress = false;
+    }
+
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openUntil = clock.millis() + openDurationMillis;
+            trialInProgress = false;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+}
@@ -0,0 +1,37 @@
+package com.github.vladioeroonda.tasktracker.util;
+
+import javax.persistence.EntityManager;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Построчная обработка потока сущностей из БД без накопления их в контексте персистентности.
+ * Каждая сущность после преобразования и передачи потребителю отсоединяется, а связанные
+ * с ней сущности (проекты, релизы, пользователи) сбрасываются каждые CLEAR_INTERVAL строк.
+ */
+public final class EntityStreams {
+    private static final int CLEAR_INTERVAL = 500;
+
+    private EntityStreams() {
+    }
+
+    public static <E, D> long forEachDetached(
+            EntityManager entityManager,
+            Stream<E> entities,
+            Function<E, D> mapper,
+            Consumer<D> consumer
+    ) {
+        long count = 0;
+        try (entities) {
+            for (E entity : (Iterable<E>) entities::iterator) {
+                consumer.accept(mapper.apply(entity));
+                entityManager.detach(entity);
+                if (++count % CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,60 @@
+package com.github.vladioeroonda.tasktracker.util;
+
+import com.github.vladioeroonda.tasktracker.dto.response.PageResponseDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Общие правила курсорной (keyset) пагинации списков по возрастанию ID.
+ * Из БД всегда запрашивается на одну запись больше лимита - по ней определяется, есть ли следующая страница.
+ */
+@Component
+public class KeysetPaginator {
+
+    @Value("${pagination.default-limit}")
+    private int defaultLimit;
+    @Value("${pagination.max-limit}")
+    private int maxLimit;
+
+    /**
+     * Приводит запрошенный размер страницы к допустимому: null - значение по умолчанию,
+     * больше максимального - максимальное, меньше единицы - единица.
+     */
+    public int resolveLimit(Integer limit) {
+        if (limit == null) {
+            return defaultLimit;
+        }
+        return Math.max(1, Math.min(limit, maxLimit));
+    }
+
+    /**
+     * Нижняя (исключаемая) граница ID для выборки страницы
+     */
+    public long resolveAfter(Long after) {
+        return after == null ? 0L : after;
+    }
+
+    /**
+     * Pageable для запроса страницы (с одной лишней записью)
+     */
+    public Pageable probe(int limit) {
+        return PageRequest.of(0, limit + 1);
+    }
+
+    public <E, D> PageResponseDto<D> toPage(List<E> rows, int limit, Function<E, Long> idGetter, Function<E, D> mapper) {
+        boolean hasNext = rows.size() > limit;
+        List<E> pageRows = hasNext ? rows.subList(0, limit) : rows;
+        Long next = hasNext ? idGetter.apply(pageRows.get(pageRows.size() - 1)) : null;
+
+        List<D> items = pageRows.stream()
+                .map(mapper)
+                .collect(Collectors.toList());
+        return new PageResponseDto<>(items, next, limit);
+    }
+}
@@ -0,0 +1,112 @@
+package com.github.vladioeroonda.tasktracker.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Каталог сообщений: при запуске все ключи основного файла сообщений (messages.basename) и его переводов
+ * (messages.locales, файлы basename_<язык>.properties) разбираются в готовые шаблоны, после чего поиск
+ * сообщения - чтение из словаря.
+ *
+ * Запуск прерывается, если в переводе не хватает ключей основного файла или есть лишние.
+ * Язык запроса выбирается как в ResourceBundle: сначала полное совпадение, затем по языку,
+ * иначе используется основной файл. На неизвестный ключ выбрасывается IllegalArgumentException: сам ключ
+ * клиенту не отдаётся.
+ */
+@Component
+public class MessageCatalog {
+    private static final Logger logger = LoggerFactory.getLogger(MessageCatalog.class);
+
+    private final Map<String, MessageTemplate> defaultMessages;
+    private final Map<String, Map<String, MessageTemplate>> translations = new HashMap<>();
+    private final Map<Locale, Map<String, MessageTemplate>> messagesByLocale = new ConcurrentHashMap<>();
+
+    public MessageCatalog(
+            @Value("${messages.basename}") String basename,
+            @Value("${messages.locales}") List<String> locales
+    ) {
+        Properties defaults = load(basename + ".properties");
+        this.defaultMessages = compile(defaults);
+
+        Set<String> errors = new TreeSet<>();
+        for (String locale : locales) {
+            String fileName = basename + "_" + locale + ".properties";
+            Properties translation = load(fileName);
+            defaults.stringPropertyNames().stream()
+                    .filter(key -> !translation.containsKey(key))
+                    .forEach(key -> errors.add(String.format("%s: нет ключа %s", fileName, key)));
+            translation.stringPropertyNames().stream()
+                    .filter(key -> !defaults.containsKey(key))
+                    .forEach(key -> errors.add(String.format("%s: лишний ключ %s", fileName, key)));
+            translations.put(locale, compile(translation));
+        }
+        if (!errors.isEmpty()) {
+            throw new IllegalStateException("Каталог сообщений не согласован: " + String.join("; ", errors));
+        }
+
+        logger.info(String.format("Каталог сообщений: ключей %d, переводов %d", defaultMessages.size(), translations.size()));
+    }
+
+    /**
+     * @return шаблон сообщения на языке locale
+     * @throws IllegalArgumentException если ключа нет в каталоге
+     */
+    MessageTemplate get(String code, Locale locale) {
+        MessageTemplate template = messagesByLocale.computeIfAbsent(locale, this::resolve).get(code);
+        if (template == null) {
+            throw new IllegalArgumentException(String.format("Нет сообщения с ключом %s", code));
+        }
+        return template;
+    }
+
+    /**
+     * @return ключи всех сообщений
+     */
+    Set<String> getCodes() {
+        return defaultMessages.keySet();
+    }
+
+    private Map<String, MessageTemplate> resolve(Locale locale) {
+        Map<String, MessageTemplate> messages = translations.get(locale.toString());
+        if (messages == null) {
+            messages = translations.get(locale.getLanguage());
+        }
+        return messages == null ? defaultMessages : messages;
+    }
+
+    private static Map<String, MessageTemplate> compile(Properties properties) {
+        Map<String, MessageTemplate> templates = new HashMap<>();
+        properties.stringPropertyNames().forEach(key -> templates.put(key, new MessageTemplate(properties.getProperty(key))));
+        return templates;
+    }
+
+    private static Properties load(String fileName) {
+        ClassPathResource resource = new ClassPathResource(fileName);
+        if (!resource.exists()) {
+            throw new IllegalStateException(String.format("Нет файла сообщений %s", fileName));
+        }
+        Properties properties = new Properties();
+        try (Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            throw new IllegalStateException(String.format("Не удалось прочитать файл сообщений %s", fileName), e);
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,91 @@
+package com.github.vladioeroonda.tasktracker.util;
+
+import java.util.ArrayList;
+import java.util.IllegalFormatConversionException;
+import java.util.List;
+import java.util.MissingFormatArgumentException;
+
+/**
+ * Сообщение, разобранное заранее на текст и подстановки %s и %d, чтобы не разбирать формат при каждой ошибке.
+ * Результат совпадает с String.format; сообщения с другими подстановками (ширина, точность, %f...)
+ * форматируются через String.format.
+ */
+final class MessageTemplate {
+    private final String text;
+    private final String[] literals;
+    private final char[] conversions;
+    private final boolean formatFallback;
+
+    MessageTemplate(String text) {
+        this.text = text;
+
+        List<String> parsedLiterals = new ArrayList<>();
+        StringBuilder parsedConversions = new StringBuilder();
+        StringBuilder literal = new StringBuilder();
+        boolean fallback = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c != '%') {
+                literal.append(c);
+                continue;
+            }
+            char next = i + 1 < text.length() ? text.charAt(i + 1) : 0;
+            i++;
+            if (next == 's' || next == 'd') {
+                parsedLiterals.add(literal.toString());
+                parsedConversions.append(next);
+                literal.setLength(0);
+            } else if (next == '%') {
+                literal.append('%');
+            } else if (next == 'n') {
+                literal.append(System.lineSeparator());
+            } else {
+                fallback = true;
+                break;
+            }
+        }
+        parsedLiterals.add(literal.toString());
+
+        this.formatFallback = fallback;
+        this.literals = parsedLiterals.toArray(new String[0]);
+        this.conversions = parsedConversions.toString().toCharArray();
+    }
+
+    /**
+     * @return текст сообщения без подстановок
+     */
+    String getText() {
+        return text;
+    }
+
+    /**
+     * @return сообщение с подставленными args или текст как есть, если args не переданы
+     */
+    String format(Object... args) {
+        if (args.length == 0) {
+            return text;
+        }
+        if (formatFallback) {
+            return String.format(text, args);
+        }
+
+        StringBuilder message = new StringBuilder(text.length() + 16 * conversions.length);
+        for (int i = 0; i < conversions.length; i++) {
+            message.append(literals[i]);
+            if (i >= args.length) {
+                throw new MissingFormatArgumentException("%" + conversions[i]);
+            }
+            Object arg = args[i];
+            if (conversions[i] == 'd' && arg != null && !isIntegral(arg)) {
+                throw new IllegalFormatConversionException('d', arg.getClass());
+            }
+            message.append(arg);
+        }
+        return message.append(literals[conversions.length]).toString();
+    }
+
+    private static boolean isIntegral(Object arg) {
+        return arg instanceof Long || arg instanceof Integer || arg instanceof Short || arg instanceof Byte
+                || arg instanceof java.math.BigInteger;
+    }
+}
@@ -0,0 +1,36 @@
+package com.github.vladioeroonda.tasktracker.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Тело ответа в формате NDJSON (один JSON-объект на строку), которое пишется в ответ
+ * по мере получения элементов от источника, без сборки всего списка в памяти.
+ */
+public final class NdjsonResponseBody {
+    public static final String MEDIA_TYPE_VALUE = "application/x-ndjson";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    private NdjsonResponseBody() {
+    }
+
+    /**
+     * @param objectMapper сериализатор элементов
+     * @param source       источник, передающий элементы в полученный потребитель
+     */
+    public static <T> StreamingResponseBody of(ObjectMapper objectMapper, Consumer<Consumer<T>> source) {
+        return outputStream -> source.accept(item -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(item));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+}
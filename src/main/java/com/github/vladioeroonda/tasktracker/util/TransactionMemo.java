@@ -0,0 +1,116 @@
+package com.github.vladioeroonda.tasktracker.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Запоминание результатов методов чтения сервисов в пределах текущей транзакции
+ * (для запроса - транзакции самого внешнего транзакционного метода): повторный вызов с тем же ключом
+ * в той же цепочке вызовов возвращает уже полученный результат без обращения к БД.
+ * Исключения не запоминаются, null - запоминается. Вне транзакции результат не запоминается.
+ *
+ * Методы записи сервисов вызывают {@link #clear()}, чтобы после изменения данных в транзакции
+ * чтения снова шли в БД. Возвращаемые объекты общие для всех вызовов транзакции, изменять их нельзя.
+ *
+ * Попадания и промахи считаются в метрике service.memo (теги method, result),
+ * итог по транзакции пишется в лог на уровне DEBUG.
+ */
+@Component
+public class TransactionMemo {
+    private static final Logger logger = LoggerFactory.getLogger(TransactionMemo.class);
+    private static final Object NULL = new Object();
+
+    private final MeterRegistry meterRegistry;
+
+    public TransactionMemo(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @param method имя метода чтения (часть ключа и тег метрики)
+     * @param key    аргумент метода
+     * @param loader чтение из БД при промахе
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String method, Object key, Supplier<T> loader) {
+        Scope scope = currentScope();
+        if (scope == null) {
+            return loader.get();
+        }
+
+        Object memoKey = Arrays.asList(method, key);
+        Object value = scope.values.get(memoKey);
+        if (value != null) {
+            scope.hits++;
+            meterRegistry.counter("service.memo", "method", method, "result", "hit").increment();
+            return value == NULL ? null : (T) value;
+        }
+
+        T loaded = loader.get();
+        scope.values.put(memoKey, loaded == null ? NULL : loaded);
+        scope.misses++;
+        meterRegistry.counter("service.memo", "method", method, "result", "miss").increment();
+        return loaded;
+    }
+
+    /**
+     * Сброс запомненных результатов текущей транзакции. Вызывается методами записи
+     */
+    public void clear() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            Scope scope = (Scope) TransactionSynchronizationManager.getResource(this);
+            if (scope != null) {
+                scope.values.clear();
+            }
+        }
+    }
+
+    private Scope currentScope() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        Scope scope = (Scope) TransactionSynchronizationManager.getResource(this);
+        if (scope == null) {
+            Scope created = new Scope();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                // вложенная транзакция (REQUIRES_NEW) получает свои результаты, а не результаты внешней
+                @Override
+                public void suspend() {
+                    TransactionSynchronizationManager.unbindResource(TransactionMemo.this);
+                }
+
+                @Override
+                public void resume() {
+                    TransactionSynchronizationManager.bindResource(TransactionMemo.this, created);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TransactionMemo.this);
+                    if (created.hits > 0) {
+                        logger.debug(String.format("Повторные чтения в транзакции: попаданий %d, промахов %d",
+                                created.hits, created.misses));
+                    }
+                }
+            });
+            scope = created;
+        }
+        return scope;
+    }
+
+    private static class Scope {
+        private final Map<Object, Object> values = new HashMap<>();
+        private int hits;
+        private int misses;
+    }
+}
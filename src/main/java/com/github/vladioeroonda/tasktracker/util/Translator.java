@@ -1,21 +1,38 @@
 package com.github.vladioeroonda.tasktracker.util;
 
 import org.springframework.context.i18n.LocaleContextHolder;
-import org.springframework.context.support.ResourceBundleMessageSource;
 import org.springframework.stereotype.Component;
 
-import java.util.Locale;
+import java.util.function.Supplier;
 
+/**
+ * Перевод сообщений на язык текущего запроса через {@link MessageCatalog}
+ */
 @Component
 public class Translator {
-    private static ResourceBundleMessageSource messageSource;
+    private static MessageCatalog messageCatalog;
 
-    Translator(ResourceBundleMessageSource messageSource) {
-        this.messageSource = messageSource;
+    Translator(MessageCatalog messageCatalog) {
+        Translator.messageCatalog = messageCatalog;
     }
 
     public static String toLocale(String msgCode) {
-        Locale locale = LocaleContextHolder.getLocale();
-        return messageSource.getMessage(msgCode, null, locale);
+        return messageCatalog.get(msgCode, LocaleContextHolder.getLocale()).getText();
+    }
+
+    /**
+     * Перевод с подстановкой args (как String.format)
+     */
+    public static String toLocale(String msgCode, Object... args) {
+        return messageCatalog.get(msgCode, LocaleContextHolder.getLocale()).format(args);
+    }
+
+    /**
+     * Отложенный перевод: язык берётся текущего запроса, а сообщение (с подстановкой args)
+     * собирается только при вызове поставщика. Используется для сообщений исключений, см. DomainException
+     */
+    public static Supplier<String> deferred(String msgCode, Object... args) {
+        MessageTemplate template = messageCatalog.get(msgCode, LocaleContextHolder.getLocale());
+        return () -> template.format(args);
     }
 }
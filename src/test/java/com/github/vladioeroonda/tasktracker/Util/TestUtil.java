@@ -4,6 +4,9 @@ import com.github.vladioeroonda.tasktracker.repository.ProjectRepository;
 import com.github.vladioeroonda.tasktracker.repository.ReleaseRepository;
 import com.github.vladioeroonda.tasktracker.repository.TaskRepository;
 import com.github.vladioeroonda.tasktracker.repository.UserRepository;
+import com.github.vladioeroonda.tasktracker.service.impl.PaymentChecker;
+import com.github.vladioeroonda.tasktracker.service.impl.ReleaseTaskCounter;
+import com.github.vladioeroonda.tasktracker.service.impl.TaskFilterCache;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -13,17 +16,26 @@ public class TestUtil {
     private ProjectRepository projectRepository;
     private ReleaseRepository releaseRepository;
     private TaskRepository taskRepository;
+    private TaskFilterCache taskFilterCache;
+    private ReleaseTaskCounter releaseTaskCounter;
+    private PaymentChecker paymentChecker;
 
     public TestUtil(
             UserRepository userRepository,
             ProjectRepository projectRepository,
             ReleaseRepository releaseRepository,
-            TaskRepository taskRepository
+            TaskRepository taskRepository,
+            TaskFilterCache taskFilterCache,
+            ReleaseTaskCounter releaseTaskCounter,
+            PaymentChecker paymentChecker
     ) {
         this.userRepository = userRepository;
         this.projectRepository = projectRepository;
         this.releaseRepository = releaseRepository;
         this.taskRepository = taskRepository;
+        this.taskFilterCache = taskFilterCache;
+        this.releaseTaskCounter = releaseTaskCounter;
+        this.paymentChecker = paymentChecker;
     }
 
     @Bean
@@ -31,8 +43,14 @@ public class TestUtil {
             UserRepository userRepository,
             ProjectRepository projectRepository,
             ReleaseRepository releaseRepository,
-            TaskRepository taskRepository) {
-        return new TestUtil(userRepository, projectRepository, releaseRepository, taskRepository);
+            TaskRepository taskRepository,
+            TaskFilterCache taskFilterCache,
+            ReleaseTaskCounter releaseTaskCounter,
+            PaymentChecker paymentChecker) {
+        return new TestUtil(
+                userRepository, projectRepository, releaseRepository, taskRepository, taskFilterCache, releaseTaskCounter,
+                paymentChecker
+        );
     }
 
     public void clearBase() {
@@ -40,5 +58,16 @@ public class TestUtil {
         projectRepository.deleteAllInBatch();
         releaseRepository.deleteAllInBatch();
         userRepository.deleteAll();
+        // данные удаляются в обход сервисов, поэтому кэш фильтра сбрасывается явно
+        taskFilterCache.invalidateAll();
+        // одинаковые проверки оплаты в разных тестах должны доходить до заглушки сервиса оплаты
+        paymentChecker.invalidateResults();
+    }
+
+    /**
+     * Пересчёт счётчиков задач по Релизам после записи задач в обход сервисов
+     */
+    public void recountReleaseTasks() {
+        releaseTaskCounter.reconcile();
     }
 }
@@ -0,0 +1,83 @@
+package com.github.vladioeroonda.tasktracker.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import com.github.vladioeroonda.tasktracker.exception.ProjectNotFoundException;
+import com.github.vladioeroonda.tasktracker.exception.TaskNotFoundException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ClientErrorLogFilterTest {
+    private static final Logger LOGGER = new LoggerContext().getLogger(ClientErrorLogFilterTest.class);
+
+    static {
+        LOGGER.setLevel(Level.INFO);
+    }
+
+    @Test
+    void decide_ShouldDropClientErrors_IfLimitIsReached() {
+        ClientErrorLogFilter filter = newStartedFilter(0);
+
+        assertEquals(FilterReply.DENY, decide(filter, new ProjectNotFoundException("not found")));
+    }
+
+    @Test
+    void decide_ShouldLimitEachClientErrorTypeSeparately() {
+        ClientErrorLogFilter filter = newStartedFilter(1);
+
+        assertEquals(FilterReply.NEUTRAL, decide(filter, new ProjectNotFoundException("not found")));
+        assertEquals(FilterReply.NEUTRAL, decide(filter, new TaskNotFoundException("not found")));
+    }
+
+    @Test
+    void decide_ShouldNotFormatMessage_OfDroppedParameterizedEvent() {
+        ClientErrorLogFilter filter = newStartedFilter(0);
+        AtomicInteger formatted = new AtomicInteger();
+        ProjectNotFoundException exception = new ProjectNotFoundException(() -> {
+            formatted.incrementAndGet();
+            return "not found";
+        });
+
+        FilterReply reply = filter.decide(
+                null, LOGGER, Level.ERROR, "{}", new Object[]{exception.lazyMessage(), exception}, null
+        );
+
+        assertEquals(FilterReply.DENY, reply);
+        assertEquals(0, formatted.get());
+    }
+
+    @Test
+    void decide_ShouldNotCountEvents_OfDisabledLevel() {
+        ClientErrorLogFilter filter = newStartedFilter(1);
+
+        assertEquals(FilterReply.NEUTRAL, decide(filter, Level.DEBUG, new ProjectNotFoundException("not found")));
+        assertEquals(FilterReply.NEUTRAL, decide(filter, Level.ERROR, new ProjectNotFoundException("not found")));
+    }
+
+    @Test
+    void decide_ShouldNotLimitOtherEvents() {
+        ClientErrorLogFilter filter = newStartedFilter(0);
+
+        assertEquals(FilterReply.NEUTRAL, decide(filter, new IllegalStateException("server error")));
+        assertEquals(FilterReply.NEUTRAL, decide(filter, null));
+    }
+
+    private static ClientErrorLogFilter newStartedFilter(int maxPerSecond) {
+        ClientErrorLogFilter filter = new ClientErrorLogFilter(maxPerSecond);
+        filter.start();
+        return filter;
+    }
+
+    private static FilterReply decide(ClientErrorLogFilter filter, Throwable throwable) {
+        return decide(filter, Level.ERROR, throwable);
+    }
+
+    private static FilterReply decide(ClientErrorLogFilter filter, Level level, Throwable throwable) {
+        return filter.decide(null, LOGGER, level, "message", null, throwable);
+    }
+}
@@ -0,0 +1,86 @@
+package com.github.vladioeroonda.tasktracker.exception;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DomainExceptionTest {
+    private static final Logger logger = LoggerFactory.getLogger(DomainExceptionTest.class);
+    private static final String MESSAGE = "Проект с id #%d не существует";
+    // глубина стека типичного вызова сервиса через контроллер, фильтры и прокси Spring
+    private static final int CALL_DEPTH = 150;
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int ITERATIONS = 100_000;
+
+    @Test
+    void domainException_ShouldNotCaptureStackTrace() {
+        ProjectNotFoundException exception = new ProjectNotFoundException(() -> String.format(MESSAGE, 1));
+
+        assertEquals(0, exception.getStackTrace().length);
+    }
+
+    @Test
+    void domainException_ShouldFormatMessageOnceAndOnlyOnDemand() {
+        AtomicInteger formatted = new AtomicInteger();
+        ProjectNotFoundException exception = new ProjectNotFoundException(() -> {
+            formatted.incrementAndGet();
+            return String.format(MESSAGE, 1);
+        });
+        assertEquals(0, formatted.get());
+
+        assertEquals("Проект с id #1 не существует", exception.getMessage());
+        assertEquals("Проект с id #1 не существует", exception.getMessage());
+        assertEquals(1, formatted.get());
+    }
+
+    /**
+     * Стоимость ошибочного пути (создание исключения на глубине CALL_DEPTH, выброс, перехват, получение сообщения):
+     * прежнее исключение со стеком и сразу отформатированным сообщением против DomainException.
+     * Результат пишется в лог, время не проверяется: оно зависит от машины
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void errorPath_ShouldBeCheaperWithoutStackTrace() {
+        double before = measureNanosPerError(id -> new RuntimeException(String.format(MESSAGE, id)));
+        double after = measureNanosPerError(id -> new ProjectNotFoundException(() -> String.format(MESSAGE, id)));
+
+        logger.info(String.format("Ошибочный путь: со стеком %.0f нс, без стека %.0f нс (в %.1f раза быстрее)",
+                before, after, before / after));
+    }
+
+    private static double measureNanosPerError(LongFunction<RuntimeException> factory) {
+        long checksum = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            checksum += throwAndCatch(factory, i);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            checksum += throwAndCatch(factory, i);
+        }
+        long elapsed = System.nanoTime() - start;
+        assertEquals(true, checksum > 0);
+        return (double) elapsed / ITERATIONS;
+    }
+
+    private static int throwAndCatch(LongFunction<RuntimeException> factory, long id) {
+        try {
+            throwAt(CALL_DEPTH, factory, id);
+            return 0;
+        } catch (RuntimeException e) {
+            return e.getMessage().length();
+        }
+    }
+
+    private static void throwAt(int depth, LongFunction<RuntimeException> factory, long id) {
+        if (depth == 0) {
+            throw factory.apply(id);
+        }
+        throwAt(depth - 1, factory, id);
+    }
+}
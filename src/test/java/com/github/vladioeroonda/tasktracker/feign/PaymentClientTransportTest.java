@@ -0,0 +1,170 @@
+package com.github.vladioeroonda.tasktracker.feign;
+
+import com.sun.net.httpserver.HttpServer;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import feign.httpclient.ApacheHttpClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * HTTP-транспорт клиента сервиса оплаты против локальной заглушки
+ */
+@ActiveProfiles(profiles = "test")
+@TestPropertySource(locations = "/application-test.properties")
+@SpringBootTest
+class PaymentClientTransportTest {
+    private static final Logger logger = LoggerFactory.getLogger(PaymentClientTransportTest.class);
+    private static final int CONCURRENT_CALLERS = 200;
+    private static final int CALLS_PER_CALLER = 20;
+    private static final HttpServer stub = startStub();
+    private static final Set<InetSocketAddress> stubConnections = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    private PaymentClient paymentClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${feign.httpclient.max-connections}")
+    private int maxConnections;
+
+    @Value("${feign.httpclient.max-connections-per-route}")
+    private int maxConnectionsPerRoute;
+
+    @DynamicPropertySource
+    static void paymentServiceProperties(DynamicPropertyRegistry registry) {
+        registry.add("payment-service.api-url", () -> "localhost:" + stub.getAddress().getPort() + "/");
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.stop(0);
+    }
+
+    @Test
+    void paymentClient_ShouldReuseConnectionsAndRecordMetrics() {
+        for (int i = 0; i < 5; i++) {
+            assertTrue(paymentClient.getPaymentCheckResult("customer", "developer", BigDecimal.TEN, "comment"));
+        }
+
+        assertEquals(5, meterRegistry.get("httpcomponents.httpclient.request")
+                .tag("uri", "/api/payment/v1/check")
+                .timer()
+                .count());
+        assertEquals(1, meterRegistry.get("httpcomponents.httpclient.pool.total.connections")
+                .tag("httpclient", "feign")
+                .tag("state", "available")
+                .gauge()
+                .value());
+    }
+
+    /**
+     * Сравнение пропускной способности транспорта по умолчанию (HttpURLConnection) и пула Apache HttpClient
+     * при CONCURRENT_CALLERS одновременных проверках оплаты. Пропускная способность пишется в лог (она зависит
+     * от машины), проверяется успешность вызовов и то, что пул не открывает больше соединений, чем разрешено
+     */
+    @Test
+    void pooledTransport_ShouldServeConcurrentCallsOverBoundedConnections() throws Exception {
+        double defaultThroughput = measureThroughput("HttpURLConnection", new Client.Default(null, null));
+
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+        try (CloseableHttpClient httpClient = HttpClients.custom().setConnectionManager(connectionManager).build()) {
+            double pooledThroughput = measureThroughput("Apache HttpClient", new ApacheHttpClient(httpClient));
+
+            logger.info(String.format("Отношение пропускной способности пула к HttpURLConnection: %.2f",
+                    pooledThroughput / defaultThroughput));
+            assertTrue(stubConnections.size() <= maxConnectionsPerRoute);
+        }
+    }
+
+    private double measureThroughput(String transport, Client client) throws Exception {
+        String url = "http://localhost:" + stub.getAddress().getPort()
+                + "/api/payment/v1/check?customerAccountId=customer&developerAccountId=developer&amount=10&comment=bench";
+        Request.Options options = new Request.Options(1, TimeUnit.SECONDS, 3, TimeUnit.SECONDS, true);
+        stubConnections.clear();
+
+        ExecutorService callers = Executors.newFixedThreadPool(CONCURRENT_CALLERS);
+        try {
+            CompletableFuture<?>[] calls = new CompletableFuture<?>[CONCURRENT_CALLERS];
+            long start = System.nanoTime();
+            for (int i = 0; i < CONCURRENT_CALLERS; i++) {
+                calls[i] = CompletableFuture.runAsync(() -> {
+                    for (int n = 0; n < CALLS_PER_CALLER; n++) {
+                        Request request = Request.create(
+                                Request.HttpMethod.GET, url, Collections.emptyMap(), null, StandardCharsets.UTF_8, null
+                        );
+                        try (Response response = client.execute(request, options)) {
+                            assertEquals(200, response.status());
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }
+                }, callers);
+            }
+            CompletableFuture.allOf(calls).join();
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            double throughput = CONCURRENT_CALLERS * CALLS_PER_CALLER / seconds;
+            logger.info(String.format("%s: %d вызовов за %.2f с (%.0f в секунду), соединений: %d",
+                    transport, CONCURRENT_CALLERS * CALLS_PER_CALLER, seconds, throughput, stubConnections.size()));
+            return throughput;
+        } finally {
+            callers.shutdown();
+        }
+    }
+
+    private static HttpServer startStub() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), CONCURRENT_CALLERS);
+            server.setExecutor(Executors.newFixedThreadPool(CONCURRENT_CALLERS));
+            server.createContext("/api/payment/v1/check", exchange -> {
+                stubConnections.add(exchange.getRemoteAddress());
+                byte[] body = "true".getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+                exchange.close();
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
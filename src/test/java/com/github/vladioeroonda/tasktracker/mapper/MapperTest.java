@@ -0,0 +1,143 @@
+package com.github.vladioeroonda.tasktracker.mapper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.vladioeroonda.tasktracker.dto.projection.TaskView;
+import com.github.vladioeroonda.tasktracker.dto.request.ProjectRequestDto;
+import com.github.vladioeroonda.tasktracker.dto.request.ReleaseRequestDto;
+import com.github.vladioeroonda.tasktracker.dto.request.TaskRequestDto;
+import com.github.vladioeroonda.tasktracker.dto.request.UserRequestDto;
+import com.github.vladioeroonda.tasktracker.dto.response.TaskResponseDto;
+import com.github.vladioeroonda.tasktracker.model.Project;
+import com.github.vladioeroonda.tasktracker.model.ProjectStatus;
+import com.github.vladioeroonda.tasktracker.model.Release;
+import com.github.vladioeroonda.tasktracker.model.Role;
+import com.github.vladioeroonda.tasktracker.model.Task;
+import com.github.vladioeroonda.tasktracker.model.TaskStatus;
+import com.github.vladioeroonda.tasktracker.model.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.modelmapper.ModelMapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Сверка мапперов с прежним отображением через ModelMapper.
+ * Замер производительности включается параметром -Dbenchmark=true
+ */
+class MapperTest {
+    private static final int WARMUP_ITERATIONS = 200_000;
+    private static final int MEASURED_ITERATIONS = 1_000_000;
+
+    private final UserMapper userMapper = new UserMapper();
+    private final TaskMapper taskMapper =
+            new TaskMapper(new ProjectMapper(userMapper), new ReleaseMapper(), userMapper);
+    private final ModelMapper modelMapper = new ModelMapper();
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    void toResponse_ShouldMatchModelMapper() throws Exception {
+        Task task = returnFilledTask();
+
+        TaskResponseDto expected = modelMapper.map(task, TaskResponseDto.class);
+        TaskResponseDto actual = taskMapper.toResponse(task);
+
+        assertEquals(objectMapper.readTree(objectMapper.writeValueAsString(expected)),
+                objectMapper.readTree(objectMapper.writeValueAsString(actual)));
+    }
+
+    @Test
+    void toResponseFromView_ShouldMatchToResponseFromEntity() throws Exception {
+        Task task = returnFilledTask();
+        Project project = task.getProject();
+        Release release = task.getRelease();
+        User customer = project.getCustomer();
+        User author = task.getAuthor();
+        User executor = task.getExecutor();
+        TaskView view = new TaskView(
+                task.getId(), task.getName(), task.getDescription(), task.getStatus(),
+                project.getId(), project.getName(), project.getStatus(), project.getPrice(),
+                customer.getId(), customer.getLogin(), customer.getName(), customer.getBankAccountId(),
+                release.getId(), release.getVersion(), release.getStartTime(), release.getFinishTime(),
+                author.getId(), author.getLogin(), author.getName(), author.getBankAccountId(),
+                executor.getId(), executor.getLogin(), executor.getName(), executor.getBankAccountId()
+        );
+        Map<Long, Set<Role>> roles = Map.of(
+                author.getId(), author.getRoles(),
+                executor.getId(), executor.getRoles()
+        );
+
+        TaskResponseDto expected = taskMapper.toResponse(task);
+        TaskResponseDto actual = taskMapper.toResponse(view, roles);
+
+        assertEquals(objectMapper.readTree(objectMapper.writeValueAsString(expected)),
+                objectMapper.readTree(objectMapper.writeValueAsString(actual)));
+    }
+
+    @Test
+    void toEntity_ShouldMatchModelMapper() {
+        UserRequestDto user = new UserRequestDto(1L, "login", "password", "name", Set.of(Role.ADMIN), "account");
+        TaskRequestDto requestDto = new TaskRequestDto(
+                4L,
+                "name",
+                "description",
+                TaskStatus.IN_PROGRESS,
+                new ProjectRequestDto(2L, "project", ProjectStatus.IN_PROGRESS, user, new BigDecimal("3000")),
+                new ReleaseRequestDto(3L),
+                user,
+                null
+        );
+
+        Task expected = modelMapper.map(requestDto, Task.class);
+        Task actual = taskMapper.toEntity(requestDto);
+
+        assertEquals(expected, actual);
+        assertEquals(expected.getAuthor().getRoles(), actual.getAuthor().getRoles());
+        assertNull(actual.getExecutor());
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void toResponse_Benchmark() {
+        Task task = returnFilledTask();
+
+        measure(() -> modelMapper.map(task, TaskResponseDto.class).getId());
+        measure(() -> taskMapper.toResponse(task).getId());
+        long modelMapperNanos = measure(() -> modelMapper.map(task, TaskResponseDto.class).getId());
+        long taskMapperNanos = measure(() -> taskMapper.toResponse(task).getId());
+
+        System.out.printf("Task -> TaskResponseDto: ModelMapper %.1f ns/op, TaskMapper %.1f ns/op%n",
+                (double) modelMapperNanos / MEASURED_ITERATIONS,
+                (double) taskMapperNanos / MEASURED_ITERATIONS);
+        assertTrue(taskMapperNanos < modelMapperNanos);
+    }
+
+    private long measure(LongSupplier mapping) {
+        long sink = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink += mapping.getAsLong();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink += mapping.getAsLong();
+        }
+        long elapsed = System.nanoTime() - start;
+        assertTrue(sink > 0);
+        return elapsed;
+    }
+
+    private Task returnFilledTask() {
+        User author = new User(1L, "author", "password", "Author", "account", Set.of(Role.USER), null, null);
+        User executor = new User(2L, "executor", "password", "Executor", null, Set.of(Role.USER, Role.ADMIN), null, null);
+        Project project = new Project(3L, "project", ProjectStatus.IN_PROGRESS, author, null, new BigDecimal("3000"));
+        Release release = new Release(4L, "0.0.1", LocalDateTime.now(), null, null);
+        return new Task(5L, "name", "description", TaskStatus.IN_PROGRESS, project, release, author, executor);
+    }
+}
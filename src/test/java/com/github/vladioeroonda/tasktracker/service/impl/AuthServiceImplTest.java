@@ -0,0 +1,149 @@
+package com.github.vladioeroonda.tasktracker.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.vladioeroonda.tasktracker.Util.TestUtil;
+import com.github.vladioeroonda.tasktracker.config.AccessTokenCodec;
+import com.github.vladioeroonda.tasktracker.dto.request.LoginRequestDto;
+import com.github.vladioeroonda.tasktracker.dto.response.AccessTokenResponseDto;
+import com.github.vladioeroonda.tasktracker.exception.AuthenticationFailedException;
+import com.github.vladioeroonda.tasktracker.model.Role;
+import com.github.vladioeroonda.tasktracker.model.User;
+import com.github.vladioeroonda.tasktracker.repository.UserRepository;
+import com.github.vladioeroonda.tasktracker.service.AuthService;
+import com.github.vladioeroonda.tasktracker.service.UserService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ActiveProfiles(profiles = "test")
+@TestPropertySource(locations = "/application-test.properties")
+@SpringBootTest
+class AuthServiceImplTest {
+    private static final String PASSWORD = "testPassword";
+
+    @Autowired
+    private AuthService authService;
+    @Autowired
+    private AccessTokenCodec accessTokenCodec;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TestUtil testUtil;
+
+    @Test
+    void login_ShouldReturnTokenWithUserRoles() {
+        String login = addTestUser();
+
+        AccessTokenResponseDto token = authService.login(new LoginRequestDto(login, PASSWORD));
+
+        Optional<Authentication> authentication = accessTokenCodec.parse(token.getAccessToken());
+        assertEquals("Bearer", token.getTokenType());
+        assertTrue(authentication.isPresent());
+        assertEquals(login, authentication.get().getName());
+        assertEquals(List.of(Role.ADMIN), List.copyOf(authentication.get().getAuthorities()));
+    }
+
+    @Test
+    void login_ShouldThrowException_IfPasswordIsWrong() {
+        String login = addTestUser();
+
+        assertThrows(
+                AuthenticationFailedException.class,
+                () -> authService.login(new LoginRequestDto(login, "wrongPassword"))
+        );
+    }
+
+    @Test
+    void login_ShouldThrowException_IfUserNotExists() {
+        assertThrows(
+                AuthenticationFailedException.class,
+                () -> authService.login(new LoginRequestDto(UUID.randomUUID().toString(), PASSWORD))
+        );
+    }
+
+    @Test
+    void login_ShouldNotQueryUser_IfUserIsCached() {
+        String login = addTestUser();
+        authService.login(new LoginRequestDto(login, PASSWORD));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        authService.login(new LoginRequestDto(login, PASSWORD));
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void deleteUser_ShouldEvictCachedUser() {
+        String login = addTestUser();
+        authService.login(new LoginRequestDto(login, PASSWORD));
+        assertNotNull(userDetailsCache.getUserFromCache(login));
+
+        userService.deleteUser(userRepository.getUserByLogin(login).get().getId());
+
+        assertNull(userDetailsCache.getUserFromCache(login));
+        assertThrows(
+                AuthenticationFailedException.class,
+                () -> authService.login(new LoginRequestDto(login, PASSWORD))
+        );
+    }
+
+    @Test
+    void parse_ShouldRejectToken_IfSignatureIsWrong() {
+        String token = accessTokenCodec.issue("testLogin", Set.of(Role.USER));
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertFalse(accessTokenCodec.parse(tampered).isPresent());
+        assertFalse(accessTokenCodec.parse("not-a-token").isPresent());
+    }
+
+    @Test
+    void parse_ShouldRejectToken_IfExpired() {
+        AccessTokenCodec expiringCodec = new AccessTokenCodec(objectMapper, "", -1);
+
+        String token = expiringCodec.issue("testLogin", Set.of(Role.USER));
+
+        assertFalse(expiringCodec.parse(token).isPresent());
+    }
+
+    @AfterEach
+    void tearDown() {
+        testUtil.clearBase();
+    }
+
+    private String addTestUser() {
+        String login = UUID.randomUUID().toString();
+        userRepository.save(new User(login, passwordEncoder.encode(PASSWORD), "testName", "testAccount", Set.of(Role.ADMIN)));
+        return login;
+    }
+}
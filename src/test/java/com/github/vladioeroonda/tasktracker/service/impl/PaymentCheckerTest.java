@@ -0,0 +1,182 @@
+package com.github.vladioeroonda.tasktracker.service.impl;
+
+import com.github.vladioeroonda.tasktracker.exception.PaymentServiceUnavailableException;
+import com.github.vladioeroonda.tasktracker.feign.PaymentClient;
+import com.github.vladioeroonda.tasktracker.util.CircuitBreaker;
+import com.github.vladioeroonda.tasktracker.util.Translator;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Проверка оплаты против локальной заглушки сервиса оплаты с настраиваемой задержкой ответа
+ */
+@ActiveProfiles(profiles = "test")
+@TestPropertySource(locations = "/application-test.properties")
+@SpringBootTest
+class PaymentCheckerTest {
+    private static final long READ_TIMEOUT_MILLIS = 1000;
+    private static final HttpServer stub = startStub();
+    private static final AtomicLong stubDelayMillis = new AtomicLong();
+    private static final AtomicInteger stubHits = new AtomicInteger();
+
+    @Autowired
+    private PaymentClient paymentClient;
+
+    private MeterRegistry meterRegistry;
+
+    @DynamicPropertySource
+    static void paymentServiceProperties(DynamicPropertyRegistry registry) {
+        registry.add("payment-service.api-url", () -> "localhost:" + stub.getAddress().getPort() + "/");
+        registry.add("payment-service.read-timeout-ms", () -> READ_TIMEOUT_MILLIS);
+    }
+
+    @BeforeEach
+    void setUp() {
+        stubDelayMillis.set(0);
+        stubHits.set(0);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.stop(0);
+    }
+
+    @Test
+    void isPaid_ShouldReturnResultAndRecordLatency() {
+        PaymentChecker paymentChecker = newPaymentChecker(10, 5);
+
+        assertTrue(paymentChecker.isPaid("customer", BigDecimal.TEN, "comment"));
+        assertEquals(1, meterRegistry.get("payment.check").tag("outcome", "paid").timer().count());
+    }
+
+    @Test
+    void isPaid_ShouldNotCallPaymentService_IfPaymentWasConfirmedRecently() {
+        PaymentChecker paymentChecker = newPaymentChecker(10, 5);
+        assertTrue(paymentChecker.isPaid("customer", new BigDecimal("10"), "comment"));
+
+        assertTrue(paymentChecker.isPaid("customer", new BigDecimal("10.00"), "comment"));
+
+        assertEquals(1, stubHits.get());
+        assertEquals(1, meterRegistry.get("payment.check").tag("outcome", "cached").timer().count());
+    }
+
+    @Test
+    void isPaid_ShouldFailAfterReadTimeout_IfPaymentServiceIsSlow() {
+        PaymentChecker paymentChecker = newPaymentChecker(10, 5);
+        stubDelayMillis.set(READ_TIMEOUT_MILLIS * 2);
+
+        long start = System.currentTimeMillis();
+        assertThrows(
+                PaymentServiceUnavailableException.class,
+                () -> paymentChecker.isPaid("customer", BigDecimal.TEN, "comment")
+        );
+
+        assertTrue(System.currentTimeMillis() - start < READ_TIMEOUT_MILLIS * 2);
+        assertEquals(1, meterRegistry.get("payment.check").tag("outcome", "unreachable").timer().count());
+    }
+
+    @Test
+    void isPaid_ShouldFailFastWithoutCall_IfCircuitIsOpen() {
+        PaymentChecker paymentChecker = newPaymentChecker(10, 2);
+        stubDelayMillis.set(READ_TIMEOUT_MILLIS * 2);
+        for (int i = 0; i < 2; i++) {
+            assertThrows(
+                    PaymentServiceUnavailableException.class,
+                    () -> paymentChecker.isPaid("customer", BigDecimal.TEN, "comment")
+            );
+        }
+        int hitsBeforeOpen = stubHits.get();
+
+        assertThrows(
+                PaymentServiceUnavailableException.class,
+                () -> paymentChecker.isPaid("customer", BigDecimal.TEN, "comment")
+        );
+
+        assertEquals(CircuitBreaker.State.OPEN, paymentChecker.getCircuitBreakerState());
+        assertEquals(hitsBeforeOpen, stubHits.get());
+        assertEquals(1, meterRegistry.get("payment.check").tag("outcome", "circuit-open").timer().count());
+    }
+
+    @Test
+    void isPaid_ShouldReject_IfBulkheadIsFull() {
+        PaymentChecker paymentChecker = newPaymentChecker(1, 5);
+        stubDelayMillis.set(READ_TIMEOUT_MILLIS / 2);
+        CompletableFuture<Boolean> slowCall =
+                CompletableFuture.supplyAsync(() -> paymentChecker.isPaid("customer", BigDecimal.TEN, "first"));
+        while (stubHits.get() == 0) {
+            Thread.onSpinWait();
+        }
+
+        PaymentServiceUnavailableException exception = assertThrows(
+                PaymentServiceUnavailableException.class,
+                () -> paymentChecker.isPaid("customer", BigDecimal.TEN, "second")
+        );
+
+        assertEquals(0, exception.getStackTrace().length);
+        assertEquals(Translator.toLocale("exception.payment-service.unavailable"), exception.getMessage());
+        assertTrue(slowCall.join());
+        assertEquals(1, meterRegistry.get("payment.check").tag("outcome", "bulkhead-full").timer().count());
+    }
+
+    private PaymentChecker newPaymentChecker(int maxConcurrentCalls, int failureThreshold) {
+        return new PaymentChecker(
+                paymentClient, meterRegistry, "developer", maxConcurrentCalls, 0, failureThreshold, 60_000, 100, 60
+        );
+    }
+
+    private static HttpServer startStub() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.setExecutor(Executors.newCachedThreadPool());
+            server.createContext("/api/payment/v1/check", exchange -> {
+                stubHits.incrementAndGet();
+                try {
+                    Thread.sleep(stubDelayMillis.get());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                byte[] body = "true".getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                try {
+                    exchange.sendResponseHeaders(200, body.length);
+                    try (OutputStream out = exchange.getResponseBody()) {
+                        out.write(body);
+                    }
+                } catch (IOException e) {
+                    // клиент уже отключился по таймауту
+                }
+                exchange.close();
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
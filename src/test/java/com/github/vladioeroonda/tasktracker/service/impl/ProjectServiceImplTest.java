@@ -3,30 +3,46 @@ package com.github.vladioeroonda.tasktracker.service.impl;
 import com.github.vladioeroonda.tasktracker.Util.TestUtil;
 import com.github.vladioeroonda.tasktracker.dto.request.ProjectRequestDto;
 import com.github.vladioeroonda.tasktracker.dto.request.UserRequestDto;
+import com.github.vladioeroonda.tasktracker.dto.response.PageResponseDto;
+import com.github.vladioeroonda.tasktracker.dto.response.ProjectBulkItemResponseDto;
 import com.github.vladioeroonda.tasktracker.dto.response.ProjectResponseDto;
 import com.github.vladioeroonda.tasktracker.exception.ProjectBadDataException;
 import com.github.vladioeroonda.tasktracker.exception.ProjectNotFoundException;
 import com.github.vladioeroonda.tasktracker.feign.PaymentClient;
 import com.github.vladioeroonda.tasktracker.model.Project;
+import com.github.vladioeroonda.tasktracker.model.ProjectBulkItemStatus;
 import com.github.vladioeroonda.tasktracker.model.ProjectStatus;
 import com.github.vladioeroonda.tasktracker.model.Role;
 import com.github.vladioeroonda.tasktracker.model.User;
 import com.github.vladioeroonda.tasktracker.repository.ProjectRepository;
 import com.github.vladioeroonda.tasktracker.repository.UserRepository;
 import com.github.vladioeroonda.tasktracker.service.ProjectService;
+import com.github.vladioeroonda.tasktracker.util.Translator;
+import com.zaxxer.hikari.HikariDataSource;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.TestPropertySource;
 
+import javax.sql.DataSource;
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -45,10 +61,113 @@ class ProjectServiceImplTest {
     @Autowired
     private UserRepository userRepository;
     @Autowired
+    private DataSource dataSource;
+    @Autowired
     private TestUtil testUtil;
     @MockBean
     private PaymentClient paymentClient;
 
+    @Test
+    void addProject_ShouldNotHoldConnections_WhilePaymentServiceIsSlow() throws Exception {
+        HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+        int callers = pool.getMaximumPoolSize() + 2;
+        long customerId = returnSavedUserId("anyId");
+        // все проверки оплаты одновременно "висят" в сервисе оплаты - в этот момент соединения не заняты
+        CyclicBarrier allPaymentsInFlight = new CyclicBarrier(callers);
+        AtomicInteger maxActiveConnections = new AtomicInteger();
+        Mockito.when(paymentClient.getPaymentCheckResult(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenAnswer(invocation -> {
+                    allPaymentsInFlight.await(30, TimeUnit.SECONDS);
+                    maxActiveConnections.accumulateAndGet(pool.getHikariPoolMXBean().getActiveConnections(), Math::max);
+                    Thread.sleep(200);
+                    return true;
+                });
+
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        List<CompletableFuture<ProjectResponseDto>> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            ProjectRequestDto request = new ProjectRequestDto(
+                    null,
+                    "TestProject" + i,
+                    ProjectStatus.IN_PROGRESS,
+                    new UserRequestDto(customerId, null, null, null, null, null),
+                    new BigDecimal("111.11")
+            );
+            results.add(CompletableFuture.supplyAsync(() -> projectService.addProject(request, null), executor));
+        }
+        results.forEach(CompletableFuture::join);
+        executor.shutdown();
+
+        assertEquals(0, maxActiveConnections.get());
+        assertEquals(callers, projectRepository.count());
+    }
+
+    @Test
+    void addProjects_ShouldReturnOutcomePerProject() {
+        long paidCustomerId = returnSavedUserId("anyId");
+        long customerWithoutAccountId = returnSavedUserId(null);
+        Mockito.when(paymentClient.getPaymentCheckResult(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenAnswer(invocation -> {
+                    String comment = invocation.getArgument(3);
+                    if (comment.startsWith("Failing")) {
+                        throw new IllegalStateException("payment service is down");
+                    }
+                    return !comment.startsWith("Unpaid");
+                });
+        List<ProjectRequestDto> requests = List.of(
+                newProjectRequest("PaidProject", paidCustomerId),
+                newProjectRequest("UnpaidProject", paidCustomerId),
+                newProjectRequest("NoAccountProject", customerWithoutAccountId),
+                newProjectRequest("NoCustomerProject", (long) UNREACHABLE_ID),
+                newProjectRequest("FailingProject", paidCustomerId),
+                newProjectRequest("SecondPaidProject", paidCustomerId)
+        );
+
+        List<ProjectBulkItemResponseDto> results = projectService.addProjects(requests);
+
+        assertEquals(
+                List.of(
+                        ProjectBulkItemStatus.CREATED,
+                        ProjectBulkItemStatus.REJECTED,
+                        ProjectBulkItemStatus.REJECTED,
+                        ProjectBulkItemStatus.REJECTED,
+                        ProjectBulkItemStatus.FAILED,
+                        ProjectBulkItemStatus.CREATED
+                ),
+                results.stream().map(ProjectBulkItemResponseDto::getStatus).collect(Collectors.toList())
+        );
+        assertEquals("PaidProject", results.get(0).getProject().getName());
+        assertEquals(paidCustomerId, results.get(5).getProject().getCustomer().getId());
+        assertTrue(projectRepository.existsById(results.get(5).getProject().getId()));
+    }
+
+    @Test
+    void addProjects_ShouldReportFailures_InRequestLocale() {
+        long paidCustomerId = returnSavedUserId("anyId");
+        Mockito.when(paymentClient.getPaymentCheckResult(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenThrow(new IllegalStateException("payment service is down"));
+        LocaleContextHolder.setLocale(new Locale("eng"));
+        try {
+            List<ProjectBulkItemResponseDto> results =
+                    projectService.addProjects(List.of(newProjectRequest("FailingProject", paidCustomerId)));
+
+            assertEquals(ProjectBulkItemStatus.FAILED, results.get(0).getStatus());
+            assertEquals(Translator.toLocale("exception.payment-service.unavailable"), results.get(0).getMessage());
+        } finally {
+            LocaleContextHolder.resetLocaleContext();
+        }
+    }
+
+    @Test
+    void addProjects_ShouldThrowException_IfBatchIsTooLarge() {
+        List<ProjectRequestDto> requests = new ArrayList<>();
+        for (int i = 0; i <= 500; i++) {
+            requests.add(newProjectRequest("TestProject" + i, (long) UNREACHABLE_ID));
+        }
+
+        assertThrows(ProjectBadDataException.class, () -> projectService.addProjects(requests));
+    }
+
     @Test
     void addProject_ShouldBeSuccessful() {
         long expectedUserId = returnSavedUserId("anyId");
@@ -66,7 +185,7 @@ class ProjectServiceImplTest {
         Mockito.when(paymentClient.getPaymentCheckResult(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any()))
                 .thenReturn(true);
 
-        ProjectResponseDto actual = projectService.addProject(expected);
+        ProjectResponseDto actual = projectService.addProject(expected, null);
 
         assertEquals(expected.getName(), actual.getName());
         assertEquals(expected.getStatus(), actual.getStatus());
@@ -91,7 +210,7 @@ class ProjectServiceImplTest {
                 .thenReturn(true);
 
         assertThrows(ProjectBadDataException.class, () -> {
-            projectService.addProject(expected);
+            projectService.addProject(expected, null);
         });
     }
 
@@ -113,7 +232,7 @@ class ProjectServiceImplTest {
                 .thenReturn(true);
 
         assertThrows(ProjectBadDataException.class, () -> {
-            projectService.addProject(expected);
+            projectService.addProject(expected, null);
         });
     }
 
@@ -135,10 +254,39 @@ class ProjectServiceImplTest {
                 .thenReturn(false);
 
         assertThrows(ProjectBadDataException.class, () -> {
-            projectService.addProject(expected);
+            projectService.addProject(expected, null);
         });
     }
 
+    @Test
+    void addProject_ShouldReturnAddedProject_IfIdempotencyKeyIsRepeated() {
+        long customerId = returnSavedUserId("anyId");
+        ProjectRequestDto request = newProjectRequest("TestProject", customerId);
+        Mockito.when(paymentClient.getPaymentCheckResult(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenReturn(true);
+
+        ProjectResponseDto first = projectService.addProject(request, "key-1");
+        ProjectResponseDto retried = projectService.addProject(request, "key-1");
+
+        assertEquals(first.getId(), retried.getId());
+        assertEquals(1, projectRepository.count());
+        Mockito.verify(paymentClient, Mockito.times(1))
+                .getPaymentCheckResult(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void addProject_ShouldThrowException_IfIdempotencyKeyWasUsedForAnotherProject() {
+        long customerId = returnSavedUserId("anyId");
+        Mockito.when(paymentClient.getPaymentCheckResult(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenReturn(true);
+        projectService.addProject(newProjectRequest("TestProject", customerId), "key-1");
+
+        assertThrows(ProjectBadDataException.class, () -> {
+            projectService.addProject(newProjectRequest("AnotherProject", customerId), "key-1");
+        });
+        assertEquals(1, projectRepository.count());
+    }
+
     @Test
     void getProjectByIdAndReturnResponseDto() {
         long expectedId = returnAddedProject().getId();
@@ -253,9 +401,9 @@ class ProjectServiceImplTest {
         long expectedIdProject1 = returnAddedProject().getId();
         long expectedIdProject2 = returnAddedProject().getId();
 
-        List<ProjectResponseDto> actual = projectService.getAllProjects();
+        PageResponseDto<ProjectResponseDto> actual = projectService.getAllProjects(null, null);
 
-        assertTrue(actual.size() >= 2);
+        assertTrue(actual.getItems().size() >= 2);
     }
 
     @AfterEach
@@ -282,6 +430,16 @@ class ProjectServiceImplTest {
         return projectRepository.save(project);
     }
 
+    private ProjectRequestDto newProjectRequest(String name, Long customerId) {
+        return new ProjectRequestDto(
+                null,
+                name,
+                ProjectStatus.IN_PROGRESS,
+                new UserRequestDto(customerId, null, null, null, null, null),
+                new BigDecimal("111.11")
+        );
+    }
+
     private long returnSavedUserId(String bankAccountId) {
         User userForTest = new User(
                 UUID.randomUUID().toString(),
@@ -2,6 +2,7 @@ package com.github.vladioeroonda.tasktracker.service.impl;
 
 import com.github.vladioeroonda.tasktracker.Util.TestUtil;
 import com.github.vladioeroonda.tasktracker.dto.request.ReleaseClosingRequestDto;
+import com.github.vladioeroonda.tasktracker.dto.response.ReleaseClosingJobResponseDto;
 import com.github.vladioeroonda.tasktracker.dto.response.ReleaseResponseDto;
 import com.github.vladioeroonda.tasktracker.exception.ReleaseClosingException;
 import com.github.vladioeroonda.tasktracker.exception.ReleaseNotFoundException;
@@ -9,6 +10,7 @@ import com.github.vladioeroonda.tasktracker.exception.TaskNotFoundException;
 import com.github.vladioeroonda.tasktracker.model.Project;
 import com.github.vladioeroonda.tasktracker.model.ProjectStatus;
 import com.github.vladioeroonda.tasktracker.model.Release;
+import com.github.vladioeroonda.tasktracker.model.ReleaseClosingJobStatus;
 import com.github.vladioeroonda.tasktracker.model.Role;
 import com.github.vladioeroonda.tasktracker.model.Task;
 import com.github.vladioeroonda.tasktracker.model.TaskStatus;
@@ -17,13 +19,23 @@ import com.github.vladioeroonda.tasktracker.repository.ProjectRepository;
 import com.github.vladioeroonda.tasktracker.repository.ReleaseRepository;
 import com.github.vladioeroonda.tasktracker.repository.TaskRepository;
 import com.github.vladioeroonda.tasktracker.repository.UserRepository;
+import com.github.vladioeroonda.tasktracker.service.ReleaseClosingService;
 import com.github.vladioeroonda.tasktracker.service.ReleaseManagementService;
+import com.github.vladioeroonda.tasktracker.service.TaskService;
+import com.github.vladioeroonda.tasktracker.util.Translator;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -32,10 +44,18 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @ActiveProfiles(profiles = "test")
 @TestPropertySource(locations = "/application-test.properties")
@@ -53,7 +73,17 @@ class ReleaseManagementServiceImplTest {
     @Autowired
     private ProjectRepository projectRepository;
     @Autowired
+    private ReleaseClosingService releaseClosingService;
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
     private TestUtil testUtil;
+    @SpyBean
+    private ReleaseCloser releaseCloser;
 
     @Test
     void countUnfinishedTasksByReleaseId() {
@@ -74,6 +104,22 @@ class ReleaseManagementServiceImplTest {
         });
     }
 
+    @Test
+    void countUnfinishedTasksByReleaseId_ShouldNotCheckReleaseTwice() {
+        List<Task> expectedTasks = addTwoNotFinishedTasks();
+        long releaseId = expectedTasks.get(0).getRelease().getId();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        releaseManagementService.countUnfinishedTasksByReleaseId(releaseId);
+
+        statistics.clear();
+        transactionTemplate.executeWithoutResult(status -> taskService.countUnfinishedTasksByReleaseId(releaseId));
+        long expected = statistics.getPrepareStatementCount();
+        statistics.clear();
+        releaseManagementService.countUnfinishedTasksByReleaseId(releaseId);
+
+        assertEquals(expected, statistics.getPrepareStatementCount());
+    }
+
     @Test
     void closeRelease_ShouldCloseRelease_AndChangeAllUnclosedTasksStatusToCancelled() {
         List<Task> expectedTasks = addTwoNotFinishedTasks();
@@ -111,11 +157,109 @@ class ReleaseManagementServiceImplTest {
         });
     }
 
+    @Test
+    void startClosing_ShouldCancelUnfinishedTasksInChunks_InBackground() throws InterruptedException {
+        List<Task> expectedTasks = addTwoNotFinishedTasks();
+        Task firstTask = expectedTasks.get(0);
+        long releaseId = firstTask.getRelease().getId();
+        Task thirdTask = taskRepository.save(new Task(
+                "TestName4", "description", TaskStatus.IN_PROGRESS, firstTask.getProject(), firstTask.getRelease(), firstTask.getAuthor()
+        ));
+        Task doneTask = taskRepository.save(new Task(
+                "TestName5", "description", TaskStatus.DONE, firstTask.getProject(), firstTask.getRelease(), firstTask.getAuthor()
+        ));
+        testUtil.recountReleaseTasks();
+
+        ReleaseClosingJobResponseDto started = releaseClosingService.startClosing(
+                new ReleaseClosingRequestDto(releaseId, LocalDateTime.now().plusHours(3))
+        );
+        ReleaseClosingJobResponseDto finished = waitForClosing(releaseId);
+
+        assertEquals(releaseId, started.getReleaseId());
+        assertEquals(ReleaseClosingJobStatus.DONE, finished.getStatus());
+        assertEquals(3, finished.getTasksCancelled());
+        assertEquals(2, finished.getChunks());
+        assertEquals(TaskStatus.CANCELLED, getTaskStatusById(firstTask.getId()));
+        assertEquals(TaskStatus.CANCELLED, getTaskStatusById(thirdTask.getId()));
+        assertEquals(TaskStatus.DONE, getTaskStatusById(doneTask.getId()));
+        assertEquals(0, releaseManagementService.countUnfinishedTasksByReleaseId(releaseId));
+        assertNotNull(releaseRepository.findById(releaseId).orElseThrow().getFinishTime());
+        assertFalse(releaseRepository.isClosing(releaseId));
+    }
+
+    @Test
+    void startClosing_ShouldThrowException_WhenReleaseAlreadyClosed() throws InterruptedException {
+        long releaseId = addOnlyRelease();
+        ReleaseClosingRequestDto requestDto = new ReleaseClosingRequestDto(releaseId, LocalDateTime.now().plusHours(3));
+        releaseClosingService.startClosing(requestDto);
+        waitForClosing(releaseId);
+
+        assertThrows(ReleaseClosingException.class, () -> {
+            releaseClosingService.startClosing(requestDto);
+        });
+    }
+
+    @Test
+    void startClosing_ShouldNotExposeErrorDetails_WhenClosingFails() throws InterruptedException {
+        long releaseId = addOnlyRelease();
+        Mockito.doThrow(new IllegalStateException("ERROR: relation \"task\" does not exist"))
+                .when(releaseCloser).cancelTasks(Mockito.eq(releaseId), Mockito.any());
+
+        releaseClosingService.startClosing(new ReleaseClosingRequestDto(releaseId, LocalDateTime.now().plusHours(3)));
+        ReleaseClosingJobResponseDto finished = waitForClosing(releaseId);
+
+        assertEquals(ReleaseClosingJobStatus.FAILED, finished.getStatus());
+        assertEquals(Translator.toLocale("exception.release-management.closing-failed", releaseId), finished.getMessage());
+    }
+
+    @Test
+    void closeRelease_ShouldThrowException_WhenBackgroundClosingCommitsAfterCheck() throws Exception {
+        long releaseId = addOnlyRelease();
+        CountDownLatch marked = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // фоновое закрытие пометило Релиз, но ещё не завершило транзакцию
+            Future<?> marking = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                releaseCloser.markClosing(releaseId, LocalDateTime.now().plusHours(3));
+                marked.countDown();
+                try {
+                    commit.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            assertTrue(marked.await(10, TimeUnit.SECONDS));
+
+            Future<ReleaseResponseDto> closing = executor.submit(() -> releaseManagementService.closeRelease(
+                    new ReleaseClosingRequestDto(releaseId, LocalDateTime.now().plusHours(3))
+            ));
+            Thread.sleep(300);
+            commit.countDown();
+            marking.get(10, TimeUnit.SECONDS);
+
+            ExecutionException exception = assertThrows(ExecutionException.class, () -> closing.get(10, TimeUnit.SECONDS));
+            assertTrue(exception.getCause() instanceof ReleaseClosingException);
+        } finally {
+            commit.countDown();
+            executor.shutdown();
+        }
+    }
+
     @AfterEach
     public void cleanUp() {
         testUtil.clearBase();
     }
 
+    private ReleaseClosingJobResponseDto waitForClosing(long releaseId) throws InterruptedException {
+        ReleaseClosingJobResponseDto job = releaseClosingService.getClosing(releaseId);
+        for (int attempt = 0; attempt < 100 && job.getFinishTime() == null; attempt++) {
+            Thread.sleep(100);
+            job = releaseClosingService.getClosing(releaseId);
+        }
+        return job;
+    }
+
     private long addOnlyRelease() {
         Release release = new Release("testVersion", LocalDateTime.now(), null);
         return releaseRepository.save(release).getId();
@@ -152,6 +296,7 @@ class ReleaseManagementServiceImplTest {
         List<Task> tasks = new ArrayList<>();
         tasks.add(taskRepository.save(taskForSave1));
         tasks.add(taskRepository.save(taskForSave2));
+        testUtil.recountReleaseTasks();
         return tasks;
     }
 
@@ -2,6 +2,7 @@ package com.github.vladioeroonda.tasktracker.service.impl;
 
 import com.github.vladioeroonda.tasktracker.Util.TestUtil;
 import com.github.vladioeroonda.tasktracker.dto.request.ReleaseRequestDto;
+import com.github.vladioeroonda.tasktracker.dto.response.PageResponseDto;
 import com.github.vladioeroonda.tasktracker.dto.response.ReleaseResponseDto;
 import com.github.vladioeroonda.tasktracker.exception.ProjectNotFoundException;
 import com.github.vladioeroonda.tasktracker.exception.ReleaseBadDataException;
@@ -18,12 +19,17 @@ import com.github.vladioeroonda.tasktracker.repository.ReleaseRepository;
 import com.github.vladioeroonda.tasktracker.repository.TaskRepository;
 import com.github.vladioeroonda.tasktracker.repository.UserRepository;
 import com.github.vladioeroonda.tasktracker.service.ReleaseService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -34,6 +40,7 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -53,6 +60,10 @@ class ReleaseServiceImplTest {
     @Autowired
     private TaskRepository taskRepository;
     @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
     private TestUtil testUtil;
 
     @Test
@@ -60,9 +71,9 @@ class ReleaseServiceImplTest {
         long expectedId = returnAddedReleaseId();
         long expectedId2 = returnAddedReleaseId();
 
-        List<ReleaseResponseDto> allReleases = releaseService.getAllReleases();
+        PageResponseDto<ReleaseResponseDto> allReleases = releaseService.getAllReleases(null, null);
 
-        assertTrue(allReleases.size() >= 2);
+        assertTrue(allReleases.getItems().size() >= 2);
     }
 
     @Test
@@ -216,6 +227,22 @@ class ReleaseServiceImplTest {
         });
     }
 
+    @Test
+    void getAllNotClosedReleasesByProjectId_ShouldNotQueryAgain_WithinOneTransaction() {
+        List<Task> expectedTasks = addTestTasksFromOneProjectAndTwoReleases();
+        long expectedProjectId = expectedTasks.get(0).getProject().getId();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Release> first = releaseService.getAllNotClosedReleasesByProjectId(expectedProjectId);
+            statistics.clear();
+            List<Release> second = releaseService.getAllNotClosedReleasesByProjectId(expectedProjectId);
+
+            assertSame(first, second);
+            assertEquals(0, statistics.getPrepareStatementCount());
+        });
+    }
+
     @AfterEach
     public void cleanUp() {
         testUtil.clearBase();
@@ -0,0 +1,249 @@
+package com.github.vladioeroonda.tasktracker.service.impl;
+
+import com.github.vladioeroonda.tasktracker.Util.TestUtil;
+import com.github.vladioeroonda.tasktracker.dto.response.CsvImportJobResponseDto;
+import com.github.vladioeroonda.tasktracker.exception.CSVParsingException;
+import com.github.vladioeroonda.tasktracker.exception.CsvImportJobNotFoundException;
+import com.github.vladioeroonda.tasktracker.exception.WrongFileTypeException;
+import com.github.vladioeroonda.tasktracker.model.CsvImportJobStatus;
+import com.github.vladioeroonda.tasktracker.model.Project;
+import com.github.vladioeroonda.tasktracker.model.ProjectStatus;
+import com.github.vladioeroonda.tasktracker.model.Release;
+import com.github.vladioeroonda.tasktracker.model.Role;
+import com.github.vladioeroonda.tasktracker.model.User;
+import com.github.vladioeroonda.tasktracker.repository.ProjectRepository;
+import com.github.vladioeroonda.tasktracker.repository.ReleaseRepository;
+import com.github.vladioeroonda.tasktracker.repository.TaskRepository;
+import com.github.vladioeroonda.tasktracker.repository.UserRepository;
+import com.github.vladioeroonda.tasktracker.service.TaskCsvImportService;
+import com.github.vladioeroonda.tasktracker.util.Translator;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+@ActiveProfiles(profiles = "test")
+@TestPropertySource(locations = "/application-test.properties")
+@SpringBootTest
+class TaskCsvImportServiceImplTest {
+    private static final int UNREACHABLE_ID = 100_000;
+    private static final String CSV_HEADER = "Name,Description,ProjectId,ReleaseId,AuthorId,ExecutorId\n";
+
+    @Autowired
+    private TaskCsvImportService taskCsvImportService;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private ProjectRepository projectRepository;
+    @Autowired
+    private ReleaseRepository releaseRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TestUtil testUtil;
+
+    @Test
+    void startImport_ShouldAddAllRows_InSeveralChunks() {
+        Project project = returnNewProject();
+        Release release = returnNewRelease();
+        StringBuilder csv = new StringBuilder(CSV_HEADER);
+        for (int i = 0; i < 7; i++) {
+            csv.append(returnCsvRow(project.getId(), release.getId(), project.getCustomer().getId()));
+        }
+
+        CsvImportJobResponseDto actual = awaitFinished(
+                taskCsvImportService.startImport(returnCsvFile(csv.toString(), "text/csv")).getId()
+        );
+
+        assertEquals(CsvImportJobStatus.DONE, actual.getStatus());
+        assertEquals(7, actual.getRowsDone());
+        assertEquals(0, actual.getRowsFailed());
+        assertEquals(7, taskRepository.count());
+    }
+
+    @Test
+    void startImport_ShouldSkipBadRows_AndReportThemInErrorReport() throws IOException {
+        Project project = returnNewProject();
+        Release release = returnNewRelease();
+        long userId = project.getCustomer().getId();
+        String csv = CSV_HEADER
+                + returnCsvRow(project.getId(), release.getId(), userId)
+                + returnCsvRow(project.getId() + UNREACHABLE_ID, release.getId(), userId)
+                + returnCsvRow(project.getId(), release.getId(), userId)
+                + "csvTaskName,csvTaskDescription,notANumber," + release.getId() + "," + userId + ",\n"
+                + returnCsvRow(project.getId(), release.getId(), userId);
+
+        CsvImportJobResponseDto actual = awaitFinished(
+                taskCsvImportService.startImport(returnCsvFile(csv, "text/csv")).getId()
+        );
+
+        assertEquals(CsvImportJobStatus.DONE, actual.getStatus());
+        assertEquals(3, actual.getRowsDone());
+        assertEquals(2, actual.getRowsFailed());
+        assertEquals(3, taskRepository.count());
+
+        try (Reader reader = new InputStreamReader(
+                taskCsvImportService.getErrorReport(actual.getId()).getInputStream(), StandardCharsets.UTF_8)) {
+            List<CSVRecord> errors = CSVFormat.DEFAULT.withFirstRecordAsHeader().parse(reader).getRecords();
+            assertEquals(2, errors.size());
+            assertEquals("3", errors.get(0).get("Line"));
+            assertEquals(String.valueOf(project.getId() + UNREACHABLE_ID), errors.get(0).get("ProjectId"));
+            assertTrue(errors.get(0).get("Error").length() > 0);
+            assertEquals("5", errors.get(1).get("Line"));
+        }
+    }
+
+    @Test
+    void startImport_ShouldReportErrors_InRequestLocale() throws IOException {
+        Project project = returnNewProject();
+        Release release = returnNewRelease();
+        long missingProjectId = project.getId() + UNREACHABLE_ID;
+        String csv = CSV_HEADER + returnCsvRow(missingProjectId, release.getId(), project.getCustomer().getId());
+        LocaleContextHolder.setLocale(new Locale("eng"));
+        try {
+            CsvImportJobResponseDto actual = awaitFinished(
+                    taskCsvImportService.startImport(returnCsvFile(csv, "text/csv")).getId()
+            );
+
+            try (Reader reader = new InputStreamReader(
+                    taskCsvImportService.getErrorReport(actual.getId()).getInputStream(), StandardCharsets.UTF_8)) {
+                List<CSVRecord> errors = CSVFormat.DEFAULT.withFirstRecordAsHeader().parse(reader).getRecords();
+                assertEquals(
+                        Translator.toLocale("exception.project.not-found-by-id", missingProjectId),
+                        errors.get(0).get("Error")
+                );
+            }
+        } finally {
+            LocaleContextHolder.resetLocaleContext();
+        }
+    }
+
+    @Test
+    void startImport_ShouldThrowException_WhenFileIsNotCsv() {
+        assertThrows(WrongFileTypeException.class, () -> {
+            taskCsvImportService.startImport(returnCsvFile(CSV_HEADER, "text/plain"));
+        });
+    }
+
+    @Test
+    void startImport_ShouldDeleteTempFile_WhenUploadCannotBeSaved() throws IOException {
+        MultipartFile file = new MockMultipartFile("file", "tasks.csv", "text/csv", CSV_HEADER.getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public void transferTo(Path dest) throws IOException {
+                throw new IOException("disk is full");
+            }
+        };
+        List<Path> before = listImportTempFiles();
+
+        assertThrows(CSVParsingException.class, () -> {
+            taskCsvImportService.startImport(file);
+        });
+        assertEquals(before, listImportTempFiles());
+    }
+
+    @Test
+    void getJob_ShouldThrowException_WhenJobNotExists() {
+        assertThrows(CsvImportJobNotFoundException.class, () -> {
+            taskCsvImportService.getJob(UUID.randomUUID().toString());
+        });
+    }
+
+    @Test
+    void getErrorReport_ShouldThrowException_WhenThereWereNoErrors() {
+        Project project = returnNewProject();
+        Release release = returnNewRelease();
+        String csv = CSV_HEADER + returnCsvRow(project.getId(), release.getId(), project.getCustomer().getId());
+
+        CsvImportJobResponseDto actual = awaitFinished(
+                taskCsvImportService.startImport(returnCsvFile(csv, "text/csv")).getId()
+        );
+
+        assertThrows(CsvImportJobNotFoundException.class, () -> {
+            taskCsvImportService.getErrorReport(actual.getId());
+        });
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        testUtil.clearBase();
+    }
+
+    private CsvImportJobResponseDto awaitFinished(String jobId) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            CsvImportJobResponseDto job = taskCsvImportService.getJob(jobId);
+            if (job.getStatus() == CsvImportJobStatus.DONE || job.getStatus() == CsvImportJobStatus.FAILED) {
+                return job;
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+            }
+        }
+        return fail("Загрузка CSV-файла не завершилась");
+    }
+
+    private String returnCsvRow(long projectId, long releaseId, long userId) {
+        return String.format("csvTaskName,csvTaskDescription,%d,%d,%d,%d%n", projectId, releaseId, userId, userId);
+    }
+
+    private List<Path> listImportTempFiles() throws IOException {
+        try (Stream<Path> files = Files.list(Paths.get(System.getProperty("java.io.tmpdir")))) {
+            return files
+                    .filter(path -> path.getFileName().toString().startsWith("task-import-"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private MultipartFile returnCsvFile(String content, String contentType) {
+        return new MockMultipartFile("file", "tasks.csv", contentType, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Project returnNewProject() {
+        User user = userRepository.save(new User(
+                UUID.randomUUID().toString(),
+                "testPassword",
+                "TestName",
+                "testBankAccountId",
+                Set.of(Role.USER)
+        ));
+        return projectRepository.save(
+                new Project(UUID.randomUUID().toString(), ProjectStatus.IN_PROGRESS, user, new BigDecimal("3000"))
+        );
+    }
+
+    private Release returnNewRelease() {
+        return releaseRepository.save(new Release(UUID.randomUUID().toString(), LocalDateTime.now(), null));
+    }
+}
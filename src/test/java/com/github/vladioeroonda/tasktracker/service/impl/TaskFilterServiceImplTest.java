@@ -1,12 +1,21 @@
 package com.github.vladioeroonda.tasktracker.service.impl;
 
 import com.github.vladioeroonda.tasktracker.Util.TestUtil;
+import com.github.vladioeroonda.tasktracker.dto.request.ProjectRequestDto;
+import com.github.vladioeroonda.tasktracker.dto.request.ReleaseRequestDto;
+import com.github.vladioeroonda.tasktracker.dto.request.TaskFilterRequestDto;
+import com.github.vladioeroonda.tasktracker.dto.request.TaskRequestDto;
+import com.github.vladioeroonda.tasktracker.dto.request.UserRequestDto;
+import com.github.vladioeroonda.tasktracker.dto.response.CursorPageResponseDto;
+import com.github.vladioeroonda.tasktracker.dto.response.TaskFacetsResponseDto;
 import com.github.vladioeroonda.tasktracker.dto.response.TaskResponseDto;
+import com.github.vladioeroonda.tasktracker.exception.TaskBadDataException;
 import com.github.vladioeroonda.tasktracker.model.Project;
 import com.github.vladioeroonda.tasktracker.model.ProjectStatus;
 import com.github.vladioeroonda.tasktracker.model.Release;
 import com.github.vladioeroonda.tasktracker.model.Role;
 import com.github.vladioeroonda.tasktracker.model.Task;
+import com.github.vladioeroonda.tasktracker.model.TaskFilterSort;
 import com.github.vladioeroonda.tasktracker.model.TaskStatus;
 import com.github.vladioeroonda.tasktracker.model.User;
 import com.github.vladioeroonda.tasktracker.repository.ProjectRepository;
@@ -14,6 +23,8 @@ import com.github.vladioeroonda.tasktracker.repository.ReleaseRepository;
 import com.github.vladioeroonda.tasktracker.repository.TaskRepository;
 import com.github.vladioeroonda.tasktracker.repository.UserRepository;
 import com.github.vladioeroonda.tasktracker.service.TaskFilterService;
+import com.github.vladioeroonda.tasktracker.service.TaskService;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -29,6 +40,8 @@ import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @ActiveProfiles(profiles = "test")
@@ -46,6 +59,10 @@ class TaskFilterServiceImplTest {
     @Autowired
     private UserRepository userRepository;
     @Autowired
+    private TaskService taskService;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
     private TestUtil testUtil;
 
     @Test
@@ -53,13 +70,18 @@ class TaskFilterServiceImplTest {
         List<Task> expectedTasks = addThreeTasksWithSameDescription();
 
         List<TaskResponseDto> actualTasks = taskFilterService.getFilteredTasks(
-                null,
-                expectedTasks.get(0).getDescription(),
-                null,
+                new TaskFilterRequestDto(
+                        null,
+                        expectedTasks.get(0).getDescription(),
+                        null,
+                        null,
+                        null,
+                        null,
+                        null),
+                TaskFilterSort.NAME,
                 null,
                 null,
-                null,
-                null);
+                false).getItems();
 
         assertEquals(expectedTasks.size(), actualTasks.size());
     }
@@ -69,13 +91,18 @@ class TaskFilterServiceImplTest {
         List<Task> expectedTasks = addThreeTasksWithSameDescription();
 
         List<TaskResponseDto> actualTasks = taskFilterService.getFilteredTasks(
+                new TaskFilterRequestDto(
+                        null,
+                        null,
+                        TaskStatus.IN_PROGRESS,
+                        null,
+                        null,
+                        null,
+                        null),
+                TaskFilterSort.NAME,
                 null,
                 null,
-                TaskStatus.IN_PROGRESS,
-                null,
-                null,
-                null,
-                null);
+                false).getItems();
 
         assertTrue(actualTasks.size() >= 2);
     }
@@ -88,13 +115,18 @@ class TaskFilterServiceImplTest {
         TaskStatus statusForSearch = expectedTasks.get(0).getStatus();
 
         List<TaskResponseDto> actualTasks = taskFilterService.getFilteredTasks(
-                nameForSearch,
-                descriptionForSearch,
-                statusForSearch,
+                new TaskFilterRequestDto(
+                        nameForSearch,
+                        descriptionForSearch,
+                        statusForSearch,
+                        null,
+                        null,
+                        null,
+                        null),
+                TaskFilterSort.NAME,
                 null,
                 null,
-                null,
-                null);
+                false).getItems();
 
         assertEquals(nameForSearch, actualTasks.get(0).getName());
         assertEquals(descriptionForSearch, actualTasks.get(0).getDescription());
@@ -116,24 +148,187 @@ class TaskFilterServiceImplTest {
         }
 
         List<TaskResponseDto> actualTasks = taskFilterService.getFilteredTasks(
-                nameForSearch,
-                descriptionForSearch,
-                statusForSearch,
-                projectNameForSearch,
-                releaseVersionForSearch,
-                authorNameForSearch,
-                executorNameForSearch);
+                new TaskFilterRequestDto(
+                        nameForSearch,
+                        descriptionForSearch,
+                        statusForSearch,
+                        projectNameForSearch,
+                        releaseVersionForSearch,
+                        authorNameForSearch,
+                        executorNameForSearch),
+                TaskFilterSort.NAME,
+                null,
+                null,
+                false).getItems();
 
         assertEquals(nameForSearch, actualTasks.get(0).getName());
         assertEquals(descriptionForSearch, actualTasks.get(0).getDescription());
         assertEquals(statusForSearch, expectedTasks.get(0).getStatus());
     }
 
+    @Test
+    void streamFilteredTasks_ShouldPassAllMatchingTasksToConsumer() {
+        List<Task> expectedTasks = addThreeTasksWithSameDescription();
+        List<TaskResponseDto> actualTasks = new ArrayList<>();
+
+        taskFilterService.streamFilteredTasks(
+                new TaskFilterRequestDto(
+                        null,
+                        expectedTasks.get(0).getDescription(),
+                        null,
+                        null,
+                        null,
+                        null,
+                        null),
+                TaskFilterSort.NAME,
+                actualTasks::add);
+
+        assertEquals(expectedTasks.size(), actualTasks.size());
+        assertEquals(expectedTasks.get(0).getName(), actualTasks.get(0).getName());
+    }
+
+    @Test
+    void getFilteredTasks_ShouldOrderByRelevance_WhenRanked() {
+        List<Task> expectedTasks = addThreeTasksWithSameDescription();
+        Task closestTask = expectedTasks.get(2);
+        closestTask.setName("Name3");
+        taskRepository.save(closestTask);
+
+        List<TaskResponseDto> actualTasks = taskFilterService.getFilteredTasks(
+                new TaskFilterRequestDto(
+                        "Name3",
+                        expectedTasks.get(0).getDescription(),
+                        null,
+                        null,
+                        null,
+                        null,
+                        null),
+                TaskFilterSort.RELEVANCE,
+                null,
+                null,
+                false).getItems();
+
+        assertEquals(closestTask.getId(), actualTasks.get(0).getId());
+    }
+
+    @Test
+    void getFilteredTasks_ShouldPageThroughAllTasks_WithCursorAndTotal() {
+        List<Task> expectedTasks = addThreeTasksWithSameDescription();
+        TaskFilterRequestDto filter =
+                new TaskFilterRequestDto(null, expectedTasks.get(0).getDescription(), null, null, null, null, null);
+
+        CursorPageResponseDto<TaskResponseDto> firstPage =
+                taskFilterService.getFilteredTasks(filter, TaskFilterSort.NAME_DESC, null, 2, true);
+        CursorPageResponseDto<TaskResponseDto> secondPage =
+                taskFilterService.getFilteredTasks(filter, TaskFilterSort.NAME_DESC, firstPage.getNext(), 2, false);
+
+        assertEquals(Long.valueOf(expectedTasks.size()), firstPage.getTotal());
+        assertEquals("TestName3", firstPage.getItems().get(0).getName());
+        assertEquals("TestName2", firstPage.getItems().get(1).getName());
+        assertEquals(1, secondPage.getItems().size());
+        assertEquals("TestName1", secondPage.getItems().get(0).getName());
+        assertNull(secondPage.getNext());
+        assertNull(secondPage.getTotal());
+    }
+
+    @Test
+    void getFilteredTasks_ShouldPageByRelevance() {
+        List<Task> expectedTasks = addThreeTasksWithSameDescription();
+        TaskFilterRequestDto filter =
+                new TaskFilterRequestDto("TestName", expectedTasks.get(0).getDescription(), null, null, null, null, null);
+
+        CursorPageResponseDto<TaskResponseDto> firstPage =
+                taskFilterService.getFilteredTasks(filter, TaskFilterSort.RELEVANCE, null, 2, false);
+        CursorPageResponseDto<TaskResponseDto> secondPage =
+                taskFilterService.getFilteredTasks(filter, TaskFilterSort.RELEVANCE, firstPage.getNext(), 2, false);
+
+        assertEquals(2, firstPage.getItems().size());
+        assertEquals(1, secondPage.getItems().size());
+        assertEquals("TestName3", secondPage.getItems().get(0).getName());
+    }
+
+    @Test
+    void getFilteredTasks_ShouldThrowException_WhenCursorFromOtherSort() {
+        List<Task> expectedTasks = addThreeTasksWithSameDescription();
+        TaskFilterRequestDto filter =
+                new TaskFilterRequestDto(null, expectedTasks.get(0).getDescription(), null, null, null, null, null);
+        String next = taskFilterService.getFilteredTasks(filter, TaskFilterSort.NAME, null, 1, false).getNext();
+
+        assertThrows(TaskBadDataException.class, () -> {
+            taskFilterService.getFilteredTasks(filter, TaskFilterSort.ID, next, 1, false);
+        });
+        assertThrows(TaskBadDataException.class, () -> {
+            taskFilterService.getFilteredTasks(filter, TaskFilterSort.ID, "not a cursor", 1, false);
+        });
+    }
+
+    @Test
+    void getFacets_ShouldCountFilteredTasksByStatusProjectReleaseAndExecutor() {
+        List<Task> expectedTasks = addThreeTasksWithSameDescription();
+        Task task = expectedTasks.get(0);
+
+        TaskFacetsResponseDto actual = taskFilterService.getFacets(
+                new TaskFilterRequestDto(null, task.getDescription(), null, null, null, null, null)
+        );
+
+        assertEquals(2, actual.getStatuses().size());
+        assertEquals(TaskStatus.IN_PROGRESS.name(), actual.getStatuses().get(0).getValue());
+        assertEquals(2, actual.getStatuses().get(0).getCount());
+        assertEquals(1, actual.getProjects().size());
+        assertEquals(task.getProject().getId(), actual.getProjects().get(0).getId());
+        assertEquals(3, actual.getProjects().get(0).getCount());
+        assertEquals(task.getRelease().getVersion(), actual.getReleases().get(0).getValue());
+        assertEquals(2, actual.getExecutors().size());
+        assertNull(actual.getExecutors().get(0).getId());
+        assertEquals(2, actual.getExecutors().get(0).getCount());
+        assertEquals(task.getExecutor().getId(), actual.getExecutors().get(1).getId());
+    }
+
+    @Test
+    void getFilteredTasks_ShouldServeRepeatedFilterFromCache_UntilTaskIsAdded() {
+        List<Task> expectedTasks = addThreeTasksWithSameDescription();
+        Task task = expectedTasks.get(0);
+        TaskFilterRequestDto filter =
+                new TaskFilterRequestDto(null, task.getDescription(), null, null, null, null, null);
+        TaskFilterRequestDto sameFilterWithSpaces =
+                new TaskFilterRequestDto("  ", " " + task.getDescription() + " ", null, "", null, null, null);
+        double hitsBefore = cacheHits();
+
+        taskFilterService.getFilteredTasks(filter, TaskFilterSort.NAME, null, null, false);
+        taskFilterService.getFilteredTasks(sameFilterWithSpaces, TaskFilterSort.NAME, null, null, false);
+
+        assertEquals(hitsBefore + 1, cacheHits());
+
+        UserRequestDto author = new UserRequestDto(task.getAuthor().getId());
+        taskService.addTask(new TaskRequestDto(
+                null,
+                "TestName4Added",
+                task.getDescription(),
+                TaskStatus.BACKLOG,
+                new ProjectRequestDto(task.getProject().getId()),
+                new ReleaseRequestDto(task.getRelease().getId()),
+                author,
+                null
+        ));
+
+        List<TaskResponseDto> actualTasks =
+                taskFilterService.getFilteredTasks(filter, TaskFilterSort.NAME, null, null, false).getItems();
+        assertEquals(expectedTasks.size() + 1, actualTasks.size());
+    }
+
     @AfterEach
     public void cleanUp() {
         testUtil.clearBase();
     }
 
+    private double cacheHits() {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", "task-filter.pages")
+                .tag("result", "hit")
+                .functionCounter()
+                .count();
+    }
+
     private List<Task> addThreeTasksWithSameDescription() {
         User user = new User(
                 UUID.randomUUID().toString(),
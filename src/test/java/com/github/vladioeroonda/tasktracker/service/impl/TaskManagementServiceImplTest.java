@@ -5,6 +5,7 @@ import com.github.vladioeroonda.tasktracker.dto.request.ProjectRequestDto;
 import com.github.vladioeroonda.tasktracker.dto.request.ReleaseRequestDto;
 import com.github.vladioeroonda.tasktracker.dto.request.TaskRequestDto;
 import com.github.vladioeroonda.tasktracker.dto.request.UserRequestDto;
+import com.github.vladioeroonda.tasktracker.dto.response.FacetCountResponseDto;
 import com.github.vladioeroonda.tasktracker.dto.response.TaskResponseDto;
 import com.github.vladioeroonda.tasktracker.exception.ProjectNotFoundException;
 import com.github.vladioeroonda.tasktracker.exception.ReleaseNotFoundException;
@@ -22,6 +23,7 @@ import com.github.vladioeroonda.tasktracker.repository.ProjectRepository;
 import com.github.vladioeroonda.tasktracker.repository.ReleaseRepository;
 import com.github.vladioeroonda.tasktracker.repository.TaskRepository;
 import com.github.vladioeroonda.tasktracker.repository.UserRepository;
+import com.github.vladioeroonda.tasktracker.service.ReleaseManagementService;
 import com.github.vladioeroonda.tasktracker.service.TaskManagementService;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
@@ -32,12 +34,22 @@ import org.springframework.test.context.TestPropertySource;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @ActiveProfiles(profiles = "test")
 @TestPropertySource(locations = "/application-test.properties")
@@ -55,6 +67,10 @@ class TaskManagementServiceImplTest {
     @Autowired
     private UserRepository userRepository;
     @Autowired
+    private ReleaseManagementService releaseManagementService;
+    @Autowired
+    private ReleaseTaskCounter releaseTaskCounter;
+    @Autowired
     private TestUtil testUtil;
 
     @Test
@@ -230,6 +246,120 @@ class TaskManagementServiceImplTest {
         });
     }
 
+    @Test
+    void updateTask_ShouldReportAllMissingReferences() {
+        Task existingTask = returnFormedTask();
+        TaskRequestDto expectedTask = new TaskRequestDto(
+                existingTask.getId(),
+                existingTask.getName(),
+                existingTask.getDescription(),
+                TaskStatus.BACKLOG,
+                new ProjectRequestDto(existingTask.getProject().getId() + UNREACHABLE_ID),
+                new ReleaseRequestDto(existingTask.getRelease().getId()),
+                new UserRequestDto(existingTask.getAuthor().getId() + UNREACHABLE_ID),
+                null
+        );
+
+        ProjectNotFoundException exception = assertThrows(ProjectNotFoundException.class, () -> {
+            taskManagementService.updateTask(expectedTask);
+        });
+        assertEquals(1, exception.getSuppressed().length);
+        assertTrue(exception.getSuppressed()[0] instanceof UserNotFoundException);
+        assertTrue(exception.getMessage().contains("#" + expectedTask.getProject().getId()));
+        assertTrue(exception.getMessage().contains("#" + expectedTask.getAuthor().getId()));
+    }
+
+    @Test
+    void updateTask_ShouldThrowException_WhenMovedToClosedRelease() {
+        Task existingTask = returnFormedTask();
+        Release closedRelease = releaseRepository.save(
+                new Release(UUID.randomUUID().toString(), LocalDateTime.now(), LocalDateTime.now())
+        );
+        TaskRequestDto expectedTask = new TaskRequestDto(
+                existingTask.getId(),
+                existingTask.getName(),
+                existingTask.getDescription(),
+                TaskStatus.BACKLOG,
+                new ProjectRequestDto(existingTask.getProject().getId()),
+                new ReleaseRequestDto(closedRelease.getId()),
+                new UserRequestDto(existingTask.getAuthor().getId()),
+                null
+        );
+
+        assertThrows(TaskBadDataException.class, () -> {
+            taskManagementService.updateTask(expectedTask);
+        });
+    }
+
+    @Test
+    void updateTask_ShouldMoveTaskCountToNewReleaseAndStatus() {
+        Task existingTask = returnFormedTask();
+        testUtil.recountReleaseTasks();
+        Release newRelease = releaseRepository.save(new Release(UUID.randomUUID().toString(), LocalDateTime.now(), null));
+        TaskRequestDto expectedTask = new TaskRequestDto(
+                existingTask.getId(),
+                "testTaskNameUpdated",
+                "testDescription",
+                TaskStatus.DONE,
+                new ProjectRequestDto(existingTask.getProject().getId()),
+                new ReleaseRequestDto(newRelease.getId()),
+                new UserRequestDto(existingTask.getAuthor().getId()),
+                new UserRequestDto(existingTask.getAuthor().getId())
+        );
+
+        taskManagementService.updateTask(expectedTask);
+
+        assertEquals(0, releaseManagementService.countUnfinishedTasksByReleaseId(existingTask.getRelease().getId()));
+        assertEquals(0, releaseManagementService.countUnfinishedTasksByReleaseId(newRelease.getId()));
+        assertEquals(1, releaseManagementService.getTaskCountsByReleaseId(newRelease.getId()).stream()
+                .filter(count -> TaskStatus.DONE.name().equals(count.getValue()))
+                .mapToLong(FacetCountResponseDto::getCount)
+                .sum());
+    }
+
+    @Test
+    void updateTask_ShouldKeepTaskCountsConsistent_IfTaskIsUpdatedConcurrently() throws Exception {
+        Task existingTask = returnFormedTask();
+        testUtil.recountReleaseTasks();
+        Release otherRelease = releaseRepository.save(new Release(UUID.randomUUID().toString(), LocalDateTime.now(), null));
+        List<Long> releaseIds = List.of(existingTask.getRelease().getId(), otherRelease.getId());
+        TaskStatus[] statuses = {TaskStatus.BACKLOG, TaskStatus.IN_PROGRESS, TaskStatus.DONE, TaskStatus.CANCELLED};
+        int callers = 8;
+        CyclicBarrier start = new CyclicBarrier(callers);
+
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        List<CompletableFuture<Void>> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            int caller = i;
+            results.add(CompletableFuture.runAsync(() -> {
+                for (int round = 0; round < 5; round++) {
+                    try {
+                        start.await(30, TimeUnit.SECONDS);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                    taskManagementService.updateTask(new TaskRequestDto(
+                            existingTask.getId(),
+                            "testTaskNameUpdated",
+                            "testDescription",
+                            statuses[(caller + round) % statuses.length],
+                            new ProjectRequestDto(existingTask.getProject().getId()),
+                            new ReleaseRequestDto(releaseIds.get((caller + round) % releaseIds.size())),
+                            new UserRequestDto(existingTask.getAuthor().getId()),
+                            new UserRequestDto(existingTask.getAuthor().getId())
+                    ));
+                }
+            }, executor));
+        }
+        results.forEach(CompletableFuture::join);
+        executor.shutdown();
+        Map<Long, Map<TaskStatus, Long>> maintained = new HashMap<>();
+        releaseIds.forEach(releaseId -> maintained.put(releaseId, releaseTaskCounter.getCounts(releaseId)));
+
+        assertEquals(0, releaseTaskCounter.reconcile());
+        releaseIds.forEach(releaseId -> assertEquals(maintained.get(releaseId), releaseTaskCounter.getCounts(releaseId)));
+    }
+
     @AfterEach
     public void cleanUp() {
         testUtil.clearBase();
@@ -1,10 +1,12 @@
 package com.github.vladioeroonda.tasktracker.service.impl;
 
 import com.github.vladioeroonda.tasktracker.Util.TestUtil;
+import com.github.vladioeroonda.tasktracker.dto.request.ProjectClosingRequestDto;
 import com.github.vladioeroonda.tasktracker.dto.request.ProjectRequestDto;
 import com.github.vladioeroonda.tasktracker.dto.request.ReleaseRequestDto;
 import com.github.vladioeroonda.tasktracker.dto.request.TaskRequestDto;
 import com.github.vladioeroonda.tasktracker.dto.request.UserRequestDto;
+import com.github.vladioeroonda.tasktracker.dto.response.PageResponseDto;
 import com.github.vladioeroonda.tasktracker.dto.response.TaskResponseDto;
 import com.github.vladioeroonda.tasktracker.exception.ReleaseNotFoundException;
 import com.github.vladioeroonda.tasktracker.exception.TaskBadDataException;
@@ -21,6 +23,7 @@ import com.github.vladioeroonda.tasktracker.repository.ProjectRepository;
 import com.github.vladioeroonda.tasktracker.repository.ReleaseRepository;
 import com.github.vladioeroonda.tasktracker.repository.TaskRepository;
 import com.github.vladioeroonda.tasktracker.repository.UserRepository;
+import com.github.vladioeroonda.tasktracker.service.ProjectManagementService;
 import com.github.vladioeroonda.tasktracker.service.TaskService;
 import org.apache.commons.io.IOUtils;
 import org.junit.jupiter.api.AfterEach;
@@ -37,6 +40,7 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -45,6 +49,7 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -56,6 +61,8 @@ class TaskServiceImplTest {
     @Autowired
     private TaskService taskService;
     @Autowired
+    private ProjectManagementService projectManagementService;
+    @Autowired
     private TaskRepository taskRepository;
     @Autowired
     private ProjectRepository projectRepository;
@@ -73,9 +80,36 @@ class TaskServiceImplTest {
         Task expectedTask2 = returnNewTask(TaskStatus.IN_PROGRESS, ProjectStatus.IN_PROGRESS, null);
         long expectedTaskId2 = expectedTask2.getId();
 
-        List<TaskResponseDto> actual = taskService.getAllTasks();
+        PageResponseDto<TaskResponseDto> actual = taskService.getAllTasks(null, null);
+
+        assertTrue(actual.getItems().size() >= 2);
+    }
+
+    @Test
+    void getAllTasks_ShouldReturnNextCursor_WhenPageIsFull() {
+        Task expectedTask1 = returnNewTask(TaskStatus.IN_PROGRESS, ProjectStatus.IN_PROGRESS, null);
+        Task expectedTask2 = returnNewTask(TaskStatus.IN_PROGRESS, ProjectStatus.IN_PROGRESS, null);
+
+        PageResponseDto<TaskResponseDto> firstPage = taskService.getAllTasks(expectedTask1.getId() - 1, 1);
+        PageResponseDto<TaskResponseDto> secondPage = taskService.getAllTasks(firstPage.getNext(), 1);
+
+        assertEquals(1, firstPage.getItems().size());
+        assertEquals(expectedTask1.getId(), firstPage.getNext());
+        assertEquals(expectedTask2.getId(), secondPage.getItems().get(0).getId());
+        assertNull(secondPage.getNext());
+    }
+
+    @Test
+    void streamAllTasks_ShouldPassTasksToConsumerInIdOrder() {
+        Task expectedTask1 = returnNewTask(TaskStatus.IN_PROGRESS, ProjectStatus.IN_PROGRESS, null);
+        Task expectedTask2 = returnNewTask(TaskStatus.IN_PROGRESS, ProjectStatus.IN_PROGRESS, null);
+        List<TaskResponseDto> actual = new ArrayList<>();
+
+        taskService.streamAllTasks(actual::add);
 
         assertTrue(actual.size() >= 2);
+        assertEquals(expectedTask1.getId(), actual.get(actual.size() - 2).getId());
+        assertEquals(expectedTask2.getId(), actual.get(actual.size() - 1).getId());
     }
 
     @Test
@@ -216,6 +250,31 @@ class TaskServiceImplTest {
         });
     }
 
+    @Test
+    void addTask_ShouldThrowException_IfProjectFinishedAfterStatusWasCached() {
+        Task existingTask = returnNewTask(TaskStatus.IN_PROGRESS, ProjectStatus.IN_PROGRESS, null);
+
+        UserRequestDto expectedUser = new UserRequestDto(existingTask.getAuthor().getId());
+        ProjectRequestDto expectedProject = returnFormedProjectDto(existingTask.getProject().getId(), expectedUser);
+        ReleaseRequestDto expectedRelease = new ReleaseRequestDto(existingTask.getRelease().getId());
+        TaskRequestDto expectedTask =
+                returnFormedTaskDto("testTaskName", "testDescription", expectedProject, expectedRelease, expectedUser, null);
+
+        taskService.addTask(expectedTask);
+        Release closedRelease =
+                releaseRepository.save(new Release(UUID.randomUUID().toString(), LocalDateTime.now(), LocalDateTime.now()));
+        List<Task> projectTasks = taskRepository.findAll();
+        projectTasks.forEach(task -> task.setRelease(closedRelease));
+        taskRepository.saveAll(projectTasks);
+        projectManagementService.closeProject(
+                new ProjectClosingRequestDto(existingTask.getProject().getId(), ProjectStatus.FINISHED)
+        );
+
+        assertThrows(TaskBadDataException.class, () -> {
+            taskService.addTask(expectedTask);
+        });
+    }
+
     @Test
     void deleteTask() {
         Task expectedTask = returnNewTask(TaskStatus.IN_PROGRESS, ProjectStatus.IN_PROGRESS, null);
@@ -253,6 +312,47 @@ class TaskServiceImplTest {
         assertEquals(0, actual);
     }
 
+    @Test
+    void getTaskCountsByReleaseId_ShouldFollowAddDeleteAndCancel() {
+        Task existingTask = returnNewTask(TaskStatus.IN_PROGRESS, ProjectStatus.IN_PROGRESS, null);
+        long releaseId = existingTask.getRelease().getId();
+
+        UserRequestDto expectedUser = new UserRequestDto(existingTask.getAuthor().getId());
+        ProjectRequestDto expectedProject = returnFormedProjectDto(existingTask.getProject().getId(), expectedUser);
+        ReleaseRequestDto expectedRelease = new ReleaseRequestDto(releaseId);
+        TaskResponseDto addedTask = taskService.addTask(
+                returnFormedTaskDto("testTaskName", "testDescription", expectedProject, expectedRelease, expectedUser, null)
+        );
+
+        assertEquals(1L, getTaskCount(releaseId, TaskStatus.BACKLOG));
+        assertEquals(1L, getTaskCount(releaseId, TaskStatus.IN_PROGRESS));
+        assertEquals(2, taskService.countUnfinishedTasksByReleaseId(releaseId));
+
+        taskService.deleteTask(addedTask.getId());
+        assertEquals(0L, getTaskCount(releaseId, TaskStatus.BACKLOG));
+
+        taskService.setAllTasksCancelled(releaseId);
+        assertEquals(0L, getTaskCount(releaseId, TaskStatus.IN_PROGRESS));
+        assertEquals(1L, getTaskCount(releaseId, TaskStatus.CANCELLED));
+        assertEquals(0, taskService.countUnfinishedTasksByReleaseId(releaseId));
+    }
+
+    @Test
+    void countUnfinishedTasksByReleaseId_ShouldIncludeTasksSavedDirectly_AfterReconciliation() {
+        Task existingTask = returnNewTask(TaskStatus.IN_PROGRESS, ProjectStatus.IN_PROGRESS, null);
+        long releaseId = existingTask.getRelease().getId();
+        taskRepository.save(new Task(
+                "testTaskName", "testDescription", TaskStatus.BACKLOG,
+                existingTask.getProject(), existingTask.getRelease(), existingTask.getAuthor()
+        ));
+
+        assertEquals(1, taskService.countUnfinishedTasksByReleaseId(releaseId));
+
+        testUtil.recountReleaseTasks();
+
+        assertEquals(2, taskService.countUnfinishedTasksByReleaseId(releaseId));
+    }
+
     @Test
     void setAllTasksCancelled() {
         Task expectedTask = returnNewTask(TaskStatus.IN_PROGRESS, ProjectStatus.IN_PROGRESS, null);
@@ -326,7 +426,17 @@ class TaskServiceImplTest {
         releaseRepository.save(release);
         Task taskForSave = new Task("testTaskName", "testDescription", taskStatus, project, release, user);
 
-        return taskRepository.save(taskForSave);
+        Task savedTask = taskRepository.save(taskForSave);
+        testUtil.recountReleaseTasks();
+        return savedTask;
+    }
+
+    private long getTaskCount(long releaseId, TaskStatus status) {
+        return taskService.getTaskCountsByReleaseId(releaseId).stream()
+                .filter(count -> status.name().equals(count.getValue()))
+                .findFirst()
+                .orElseThrow()
+                .getCount();
     }
 
     private TaskStatus getTaskStatusById(long taskId) {
@@ -0,0 +1,178 @@
+package com.github.vladioeroonda.tasktracker.service.impl;
+
+import com.github.vladioeroonda.tasktracker.Util.TestUtil;
+import com.github.vladioeroonda.tasktracker.dto.request.ProjectRequestDto;
+import com.github.vladioeroonda.tasktracker.dto.request.ReleaseRequestDto;
+import com.github.vladioeroonda.tasktracker.dto.request.TaskFilterRequestDto;
+import com.github.vladioeroonda.tasktracker.dto.request.TaskRequestDto;
+import com.github.vladioeroonda.tasktracker.dto.request.UserRequestDto;
+import com.github.vladioeroonda.tasktracker.model.Project;
+import com.github.vladioeroonda.tasktracker.model.ProjectStatus;
+import com.github.vladioeroonda.tasktracker.model.Release;
+import com.github.vladioeroonda.tasktracker.model.Role;
+import com.github.vladioeroonda.tasktracker.model.Task;
+import com.github.vladioeroonda.tasktracker.model.TaskFilterSort;
+import com.github.vladioeroonda.tasktracker.model.TaskStatus;
+import com.github.vladioeroonda.tasktracker.model.User;
+import com.github.vladioeroonda.tasktracker.repository.ProjectRepository;
+import com.github.vladioeroonda.tasktracker.repository.ReleaseRepository;
+import com.github.vladioeroonda.tasktracker.repository.TaskRepository;
+import com.github.vladioeroonda.tasktracker.repository.UserRepository;
+import com.github.vladioeroonda.tasktracker.service.TaskFilterService;
+import com.github.vladioeroonda.tasktracker.service.TaskManagementService;
+import com.github.vladioeroonda.tasktracker.service.TaskService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Количество SQL-запросов на чтение Задач не должно зависеть от количества строк,
+ * а обновление Задачи не должно загружать её связи
+ */
+@ActiveProfiles(profiles = "test")
+@TestPropertySource(locations = "/application-test.properties")
+@SpringBootTest
+class TaskStatementCountTest {
+    private static final String DESCRIPTION = "statementCountDescription";
+
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private TaskFilterService taskFilterService;
+    @Autowired
+    private TaskManagementService taskManagementService;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private ProjectRepository projectRepository;
+    @Autowired
+    private ReleaseRepository releaseRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TaskFilterCache taskFilterCache;
+    @Autowired
+    private TestUtil testUtil;
+
+    @Test
+    void getAllTasks_ShouldIssueSameStatementCount_WhenRowCountGrows() {
+        addTasks(2);
+        long expected = countStatements(() -> taskService.getAllTasks(null, null));
+
+        addTasks(10);
+        long actual = countStatements(() -> taskService.getAllTasks(null, null));
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void getFilteredTasks_ShouldIssueSameStatementCount_WhenRowCountGrows() {
+        addTasks(2);
+        long expected = countStatements(() -> taskFilterService.getFilteredTasks(
+                new TaskFilterRequestDto(null, DESCRIPTION, null, null, null, null, null),
+                TaskFilterSort.NAME, null, null, false));
+
+        addTasks(10);
+        long actual = countStatements(() -> taskFilterService.getFilteredTasks(
+                new TaskFilterRequestDto(null, DESCRIPTION, null, null, null, null, null),
+                TaskFilterSort.NAME, null, null, false));
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void getTaskById_ShouldIssueSameStatementCount_WhenRowCountGrows() {
+        Task task = addTasks(1);
+        long expectedResponse = countStatements(() -> taskService.getTaskByIdAndReturnResponseDto(task.getId()));
+        long expectedEntity = countStatements(() -> taskService.getTaskByIdAndReturnEntity(task.getId()));
+
+        Task otherTask = addTasks(10);
+        long actualResponse = countStatements(() -> taskService.getTaskByIdAndReturnResponseDto(otherTask.getId()));
+        long actualEntity = countStatements(() -> taskService.getTaskByIdAndReturnEntity(otherTask.getId()));
+
+        assertEquals(expectedResponse, actualResponse);
+        assertEquals(expectedEntity, actualEntity);
+    }
+
+    @Test
+    void updateTask_ShouldIssueOneValidationQueryAndOneUpdate() {
+        Task task = addTasks(1);
+        TaskRequestDto requestDto = new TaskRequestDto(
+                task.getId(),
+                "updatedTaskName",
+                DESCRIPTION,
+                TaskStatus.DONE,
+                new ProjectRequestDto(task.getProject().getId()),
+                new ReleaseRequestDto(task.getRelease().getId()),
+                new UserRequestDto(task.getAuthor().getId()),
+                new UserRequestDto(task.getExecutor().getId())
+        );
+
+        long actual = countStatements(() -> taskManagementService.updateTask(requestDto));
+
+        // проверка ссылок, UPDATE, затем ответ: проекция Задачи и роли пользователей
+        assertEquals(4, actual);
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        testUtil.clearBase();
+    }
+
+    private long countStatements(Runnable read) {
+        // задачи добавляются в обход сервисов, поэтому кэш фильтра сбрасывается явно
+        taskFilterCache.invalidateAll();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        read.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * Добавление Задач, у каждой из которых свои автор, исполнитель, проект и релиз
+     *
+     * @return последняя добавленная Задача
+     */
+    private Task addTasks(int count) {
+        Task task = null;
+        for (int i = 0; i < count; i++) {
+            User author = userRepository.save(returnNewUser());
+            User executor = userRepository.save(returnNewUser());
+            Project project = projectRepository.save(
+                    new Project(UUID.randomUUID().toString(), ProjectStatus.IN_PROGRESS, author, new BigDecimal("3000"))
+            );
+            Release release = releaseRepository.save(
+                    new Release(UUID.randomUUID().toString(), LocalDateTime.now(), null)
+            );
+            task = new Task("testTaskName", DESCRIPTION, TaskStatus.IN_PROGRESS, project, release, author);
+            task.setExecutor(executor);
+            task = taskRepository.save(task);
+        }
+        return task;
+    }
+
+    private User returnNewUser() {
+        return new User(
+                UUID.randomUUID().toString(),
+                "testPassword",
+                "TestName",
+                "testBankAccountId",
+                Set.of(Role.USER)
+        );
+    }
+}
@@ -2,6 +2,7 @@ package com.github.vladioeroonda.tasktracker.service.impl;
 
 import com.github.vladioeroonda.tasktracker.Util.TestUtil;
 import com.github.vladioeroonda.tasktracker.dto.request.UserRequestDto;
+import com.github.vladioeroonda.tasktracker.dto.response.PageResponseDto;
 import com.github.vladioeroonda.tasktracker.dto.response.UserResponseDto;
 import com.github.vladioeroonda.tasktracker.exception.UserBadDataException;
 import com.github.vladioeroonda.tasktracker.exception.UserNotFoundException;
@@ -16,7 +17,6 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.TestPropertySource;
 
-import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -42,9 +42,9 @@ class UserServiceImplTest {
     void getAllUsers() {
         long expectedUserId = addTestUser();
 
-        List<UserResponseDto> actualUsers = userService.getAllUsers();
+        PageResponseDto<UserResponseDto> actualUsers = userService.getAllUsers(null, null);
 
-        assertTrue(actualUsers.size() > 0);
+        assertTrue(actualUsers.getItems().size() > 0);
     }
 
     @Test
@@ -0,0 +1,91 @@
+package com.github.vladioeroonda.tasktracker.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MessageCatalogTest {
+    private static final Locale ENG = new Locale("eng");
+    private static final Pattern MESSAGE_CODE_USAGE = Pattern.compile("Translator\\.(?:toLocale|deferred)\\(\\s*\"([^\"]+)\"");
+    private static final Pattern CONVERSION = Pattern.compile("%([sd%n])");
+
+    private final MessageCatalog catalog = new MessageCatalog("messages", List.of("eng"));
+
+    @Test
+    void catalog_ShouldContainEveryCodeUsedInSources() throws IOException {
+        Set<String> usedCodes = new TreeSet<>();
+        try (Stream<Path> sources = Files.walk(Path.of("src/main/java"))) {
+            for (Path source : sources.filter(path -> path.toString().endsWith(".java")).collect(Collectors.toList())) {
+                Matcher matcher = MESSAGE_CODE_USAGE.matcher(Files.readString(source));
+                while (matcher.find()) {
+                    usedCodes.add(matcher.group(1));
+                }
+            }
+        }
+
+        usedCodes.removeAll(catalog.getCodes());
+        assertTrue(usedCodes.isEmpty(), "Нет сообщений: " + usedCodes);
+    }
+
+    @Test
+    void constructor_ShouldFail_IfTranslationDoesNotMatchDefaultMessages() {
+        IllegalStateException exception = assertThrows(
+                IllegalStateException.class,
+                () -> new MessageCatalog("catalog/broken", List.of("eng"))
+        );
+
+        assertTrue(exception.getMessage().contains("нет ключа farewell"));
+        assertTrue(exception.getMessage().contains("лишний ключ unknown"));
+    }
+
+    @Test
+    void get_ShouldFail_IfCodeIsUnknown() {
+        assertThrows(IllegalArgumentException.class, () -> catalog.get("exception.unknown", ENG));
+    }
+
+    @Test
+    void format_ShouldMatchStringFormat_ForEveryMessage() {
+        for (Locale locale : List.of(Locale.ROOT, ENG)) {
+            for (String code : catalog.getCodes()) {
+                MessageTemplate template = catalog.get(code, locale);
+                Object[] args = sampleArgs(template.getText());
+
+                assertEquals(String.format(template.getText(), args), template.format(args), code);
+            }
+        }
+    }
+
+    @Test
+    void get_ShouldResolveTranslationByLanguage() {
+        assertEquals("Customer not set", catalog.get("exception.project.bad-data.customer-is-empty", ENG).getText());
+        assertEquals("Не указан заказчик", catalog.get("exception.project.bad-data.customer-is-empty", Locale.GERMAN).getText());
+    }
+
+    private static Object[] sampleArgs(String text) {
+        List<Object> args = new ArrayList<>();
+        Matcher matcher = CONVERSION.matcher(text);
+        while (matcher.find()) {
+            if ("d".equals(matcher.group(1))) {
+                args.add(42L);
+            } else if ("s".equals(matcher.group(1))) {
+                args.add("value");
+            }
+        }
+        return args.toArray();
+    }
+}